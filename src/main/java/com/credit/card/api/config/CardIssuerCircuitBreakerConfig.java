@@ -0,0 +1,75 @@
+package com.credit.card.api.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Configuration class for the circuit breaker of the card issuer
+ */
+@Slf4j
+@Configuration
+public class CardIssuerCircuitBreakerConfig {
+
+    public static final String CARD_ISSUER = "cardIssuer";
+
+    /**
+     * Method to create the circuit breaker of the card issuer.
+     * The state of the circuit breaker and the number of calls are published as {@code resilience4j.circuitbreaker.*} metrics
+     * and every state transition increments {@code card.issuer.circuit.breaker.transitions}.
+     *
+     * @param creditCardApiProperties configurable properties of the API
+     * @param meterRegistry           registry the metrics are published to
+     * @return circuit breaker bean
+     */
+    @Bean
+    public CircuitBreaker cardIssuerCircuitBreaker(CreditCardApiProperties creditCardApiProperties, MeterRegistry meterRegistry) {
+        CreditCardApiProperties.CircuitBreaker properties = creditCardApiProperties.getCardRequest().getCircuitBreaker();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(createCircuitBreakerConfig(properties));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(CARD_ISSUER);
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Card issuer circuit breaker changed from {} to {}.",
+                    event.getStateTransition().getFromState(), event.getStateTransition().getToState());
+            meterRegistry.counter("card.issuer.circuit.breaker.transitions",
+                    "from", event.getStateTransition().getFromState().name(),
+                    "to", event.getStateTransition().getToState().name()).increment();
+        });
+
+        if (!properties.isEnabled()) {
+            circuitBreaker.transitionToDisabledState();
+        }
+
+        return circuitBreaker;
+    }
+
+    /**
+     * Method to create the configuration of the circuit breaker of the card issuer from the given properties.
+     * Client errors do not count as failures, since they mean that the card issuer is up and rejected the card request.
+     *
+     * @param properties properties of the circuit breaker
+     * @return configuration of the circuit breaker
+     */
+    public static CircuitBreakerConfig createCircuitBreakerConfig(CreditCardApiProperties.CircuitBreaker properties) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDurationThreshold())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedNumberOfCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+    }
+}
@@ -0,0 +1,447 @@
+package com.credit.card.api.config;
+
+import com.credit.card.api.entity.Status;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configurable properties of the Credit Card API, bound from the {@code credit-card-api} prefix
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "credit-card-api")
+public class CreditCardApiProperties {
+
+    private Pagination pagination = new Pagination();
+
+    private Export export = new Export();
+
+    private Bulk bulk = new Bulk();
+
+    private Cache cache = new Cache();
+
+    private Validation validation = new Validation();
+
+    private Index index = new Index();
+
+    private CardRequest cardRequest = new CardRequest();
+
+    private Outbox outbox = new Outbox();
+
+    private Token token = new Token();
+
+    private Archive archive = new Archive();
+
+    private Search search = new Search();
+
+    private Events events = new Events();
+
+    /**
+     * Properties used when listing credit card applications page by page
+     */
+    @Getter
+    @Setter
+    public static class Pagination {
+
+        /**
+         * Page size used when the client does not ask for one
+         */
+        private int defaultPageSize = 50;
+
+        /**
+         * Largest page size a client is allowed to ask for
+         */
+        private int maxPageSize = 500;
+
+    }
+
+    /**
+     * Properties used when exporting all credit card applications
+     */
+    @Getter
+    @Setter
+    public static class Export {
+
+        /**
+         * Number of rows fetched from the database in a single round trip
+         */
+        private int fetchSize = 500;
+
+    }
+
+    /**
+     * Properties used by bulk operations on credit card applications
+     */
+    @Getter
+    @Setter
+    public static class Bulk {
+
+        /**
+         * Largest number of items accepted in a single bulk request
+         */
+        private int maxItems = 10000;
+
+        /**
+         * Number of rows written to the database in a single JDBC batch
+         */
+        private int chunkSize = 500;
+
+    }
+
+    /**
+     * Properties of the cache of credit card applications looked up by the applicant's ID
+     */
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * Whether lookups by the applicant's ID are cached
+         */
+        private boolean enabled = true;
+
+        /**
+         * Largest number of cached credit card applications
+         */
+        private long maximumSize = 10000;
+
+        /**
+         * Time after which a cached credit card application is read from the database again
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+    }
+
+    /**
+     * Properties used when validating requests
+     */
+    @Getter
+    @Setter
+    public static class Validation {
+
+        /**
+         * Whether the ISO 7064 MOD 11,10 check digit of personal IDs is verified
+         */
+        private boolean verifyCheckDigit = true;
+
+    }
+
+    /**
+     * Properties of the in-memory index of applicant IDs
+     */
+    @Getter
+    @Setter
+    public static class Index {
+
+        /**
+         * Whether existence and status checks are answered from the in-memory index instead of the database
+         */
+        private boolean enabled = true;
+
+    }
+
+    /**
+     * Properties of the client which sends card requests to the card issuer
+     */
+    @Getter
+    @Setter
+    public static class CardRequest {
+
+        /**
+         * Whether card requests are sent from a separate thread pool, so that request threads are not blocked
+         */
+        private boolean async = true;
+
+        /**
+         * Largest number of card requests sent to the card issuer at the same time
+         */
+        private int maxInFlight = 64;
+
+        /**
+         * Largest number of open connections to the card issuer, which is the only route of the client
+         */
+        private int maxConnectionsPerRoute = 64;
+
+        /**
+         * Time allowed for establishing a connection to the card issuer
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Time allowed between two packets of the card issuer's response
+         */
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Time a card request waits for a free connection when all connections are in use
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Time after which an unused connection is closed
+         */
+        private Duration idleTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Time after which a connection is closed instead of being reused, so that DNS changes are picked up
+         */
+        private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+        /**
+         * Whether the card issuer is called over HTTP/2 using the JDK HTTP client, which multiplexes
+         * card requests over a single connection, instead of the pooled HTTP/1.1 client
+         */
+        private boolean http2 = false;
+
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    }
+
+    /**
+     * Properties of the circuit breaker which stops card requests from being sent while the card issuer is failing
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        /**
+         * Whether the circuit breaker is enabled
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of the most recent card requests the failure and slow call rates are calculated from
+         */
+        private int slidingWindowSize = 50;
+
+        /**
+         * Number of card requests needed in the window before the rates are calculated
+         */
+        private int minimumNumberOfCalls = 20;
+
+        /**
+         * Percentage of failed card requests at which the circuit opens
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Percentage of slow card requests at which the circuit opens
+         */
+        private float slowCallRateThreshold = 80;
+
+        /**
+         * Duration after which a card request is counted as slow
+         */
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+
+        /**
+         * Time the circuit stays open before trial card requests are let through
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+        /**
+         * Number of trial card requests let through while the circuit is half-open
+         */
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+
+    }
+
+    /**
+     * Properties of the outbox card requests are sent to the card issuer from
+     */
+    @Getter
+    @Setter
+    public static class Outbox {
+
+        /**
+         * Whether card requests are sent from the outbox by this instance
+         */
+        private boolean dispatchEnabled = true;
+
+        /**
+         * Time between two checks of the outbox for card requests which are due
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Largest number of card requests claimed from the outbox at once
+         */
+        private int batchSize = 50;
+
+        /**
+         * Largest number of card requests of a batch sent at the same time
+         */
+        private int concurrency = 8;
+
+        /**
+         * Number of attempts after which a card request is no longer retried
+         */
+        private int maxAttempts = 10;
+
+        /**
+         * Time before the first retry of a card request, doubled with every further attempt
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Longest time between two attempts of a card request
+         */
+        private Duration maxBackoff = Duration.ofMinutes(5);
+
+        /**
+         * Time since a card request was added after which it is no longer retried, however many attempts it has left
+         */
+        private Duration maxAge = Duration.ofHours(1);
+
+        /**
+         * Time after which a card request which was claimed but never completed is sent again,
+         * longer than the connection request, connect and read timeouts of a card request together
+         */
+        private Duration lease = Duration.ofMinutes(2);
+
+    }
+
+    /**
+     * Properties of the bearer tokens which are issued in exchange for the username and password
+     */
+    @Getter
+    @Setter
+    public static class Token {
+
+        /**
+         * Base64 encoded key of at least 256 bits the tokens are signed with, shared by all instances;
+         * when it is not set, a random key is generated on startup
+         */
+        private String secret;
+
+        /**
+         * Time after which a token is no longer accepted
+         */
+        private Duration timeToLive = Duration.ofMinutes(15);
+
+    }
+
+    /**
+     * Properties of the job which moves old credit card applications in a terminal status to the archive
+     */
+    @Getter
+    @Setter
+    public static class Archive {
+
+        /**
+         * Whether old credit card applications are archived by this instance
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time between the end of one archival run and the start of the next
+         */
+        private Duration interval = Duration.ofHours(1);
+
+        /**
+         * Statuses in which a credit card application no longer changes and can be archived
+         */
+        private List<Status> statuses = List.of(Status.REJECTED, Status.CANCELLED, Status.EXPIRED);
+
+        /**
+         * Time since the last change after which a credit card application in one of the statuses is archived
+         */
+        private Duration minAge = Duration.ofDays(90);
+
+        /**
+         * Number of credit card applications moved to the archive in a single transaction
+         */
+        private int chunkSize = 200;
+
+        /**
+         * Pause between two chunks, which leaves room for the requests served in the meantime
+         */
+        private Duration pause = Duration.ofMillis(100);
+
+    }
+
+    /**
+     * Properties of the search of credit card applications by the applicant's name and surname
+     */
+    @Getter
+    @Setter
+    public static class Search {
+
+        /**
+         * Whether searches are answered from the in-memory name index, which also tolerates typos, instead of the database
+         */
+        private boolean indexEnabled = true;
+
+        /**
+         * Number of credit card applications returned when no limit is requested
+         */
+        private int defaultLimit = 20;
+
+        /**
+         * Largest number of credit card applications which can be requested
+         */
+        private int maxLimit = 100;
+
+    }
+
+    /**
+     * Properties of the Server-Sent Events feed of changes of the credit card applications
+     */
+    @Getter
+    @Setter
+    public static class Events {
+
+        /**
+         * Largest number of subscribers connected to this instance at the same time
+         */
+        private int maxSubscribers = 100;
+
+        /**
+         * Number of events waiting to be sent to a single subscriber, after which the overflow policy applies
+         */
+        private int bufferSize = 256;
+
+        /**
+         * What happens to a subscriber whose buffer is full
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DISCONNECT;
+
+        /**
+         * Number of recent events kept for subscribers which reconnect with the ID of the last event they received
+         */
+        private int replaySize = 10000;
+
+        /**
+         * Time after which a subscription is closed, so that the client reconnects
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * Time between two heartbeats sent to idle subscribers, which detect closed connections
+         */
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+    }
+
+    /**
+     * What happens to a subscriber which does not keep up with the events
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The subscription is closed, and the client reconnects and continues from the last event it received
+         */
+        DISCONNECT,
+
+        /**
+         * The oldest waiting events are dropped, and the subscriber is told to reload the credit card applications
+         */
+        DROP_OLDEST
+
+    }
+
+}
@@ -2,6 +2,8 @@ package com.credit.card.api.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 
 import javax.sql.DataSource;
@@ -19,7 +21,23 @@ public class JdbcClientConfig {
      * @return JdbcClient bean
      */
     @Bean
+    @Primary
     public JdbcClient jdbcClient(DataSource dataSource) {
         return JdbcClient.create(dataSource);
     }
+
+    /**
+     * Method to create a JdbcClient bean used for streaming large result sets,
+     * which fetches rows from the database in batches of the configured fetch size
+     *
+     * @param dataSource              data source
+     * @param creditCardApiProperties configurable properties of the API
+     * @return streaming JdbcClient bean
+     */
+    @Bean
+    public JdbcClient streamingJdbcClient(DataSource dataSource, CreditCardApiProperties creditCardApiProperties) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(creditCardApiProperties.getExport().getFetchSize());
+        return JdbcClient.create(jdbcTemplate);
+    }
 }
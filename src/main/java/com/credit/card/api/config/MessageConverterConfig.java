@@ -0,0 +1,69 @@
+package com.credit.card.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration class for the binary formats the API reads and writes besides JSON.
+ * A client asks for them with {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile},
+ * while JSON stays the format of requests which accept anything.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    /**
+     * Method to create the converter of CBOR requests and responses.
+     * Its object mapper is built with the builder customized by Spring Boot, so it writes dates like the JSON one.
+     *
+     * @param objectMapperBuilder object mapper builder customized by Spring Boot
+     * @return MappingJackson2CborHttpMessageConverter bean
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(createCborObjectMapper(objectMapperBuilder));
+    }
+
+    /**
+     * Method to create the converter of Smile requests and responses.
+     * Its object mapper is built with the builder customized by Spring Boot, so it writes dates like the JSON one.
+     *
+     * @param objectMapperBuilder object mapper builder customized by Spring Boot
+     * @return MappingJackson2SmileHttpMessageConverter bean
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(createSmileObjectMapper(objectMapperBuilder));
+    }
+
+    /**
+     * Method to create an object mapper writing CBOR
+     *
+     * @param objectMapperBuilder object mapper builder
+     * @return object mapper
+     */
+    public static ObjectMapper createCborObjectMapper(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return objectMapperBuilder.factory(new CBORFactory()).build();
+    }
+
+    /**
+     * Method to create an object mapper writing Smile.
+     * Besides the property names, which Smile writes only once per response by default, repeated short string values
+     * such as the statuses are written once as well and referred back to afterwards.
+     *
+     * @param objectMapperBuilder object mapper builder
+     * @return object mapper
+     */
+    public static ObjectMapper createSmileObjectMapper(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return objectMapperBuilder.factory(smileFactory).build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.credit.card.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the metrics which are not recorded by Spring Boot itself
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String REPOSITORY_TIMER = "credit.card.repository";
+    public static final String ERROR_COUNTER = "credit.card.api.errors";
+
+    /**
+     * Method to create the aspect which records the public methods of beans annotated with
+     * {@link io.micrometer.core.annotation.Timed} as timers tagged with the class, method and exception
+     *
+     * @param meterRegistry registry the timers are published to
+     * @return repository timer aspect bean
+     */
+    @Bean
+    public RepositoryTimerAspect repositoryTimerAspect(MeterRegistry meterRegistry) {
+        return new RepositoryTimerAspect(meterRegistry);
+    }
+}
@@ -1,17 +1,97 @@
 package com.credit.card.api.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+
 /**
  * Class to configure the RestTemplate
  */
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * Method to create the factory of the connections to the card issuer
+     *
+     * @param creditCardApiProperties configurable properties of the API
+     * @return ClientHttpRequestFactory bean
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public ClientHttpRequestFactory cardIssuerRequestFactory(CreditCardApiProperties creditCardApiProperties) {
+        return createRequestFactory(creditCardApiProperties.getCardRequest());
+    }
+
+    /**
+     * Method to create a RestTemplate bean.
+     * It is built with the {@link RestTemplateBuilder} of Spring Boot, so that every call to the card issuer is recorded
+     * in the {@code http.client.requests} timer tagged with the method, URI and status.
+     *
+     * @param restTemplateBuilder      builder customized by Spring Boot
+     * @param cardIssuerRequestFactory factory of the connections to the card issuer
+     * @return RestTemplate bean
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, ClientHttpRequestFactory cardIssuerRequestFactory) {
+        return restTemplateBuilder.requestFactory(() -> cardIssuerRequestFactory).build();
+    }
+
+    /**
+     * Method to create a factory of connections with the given settings.
+     * Over HTTP/1.1 connections are kept alive in a pool and reused, so that a card request usually
+     * does not pay for a TCP and TLS handshake. Over HTTP/2 card requests are multiplexed over a single
+     * connection by the JDK HTTP client, which manages its connections itself, so only the
+     * connect and read timeouts apply.
+     *
+     * @param cardRequest settings of the connections to the card issuer
+     * @return factory of connections
+     */
+    public static ClientHttpRequestFactory createRequestFactory(CreditCardApiProperties.CardRequest cardRequest) {
+        if (cardRequest.isHttp2()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(cardRequest.getConnectTimeout())
+                    .build();
+
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+            requestFactory.setReadTimeout(cardRequest.getReadTimeout());
+            return requestFactory;
+        }
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(cardRequest.getMaxConnectionsPerRoute())
+                .setMaxConnTotal(cardRequest.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(cardRequest.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(cardRequest.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(cardRequest.getConnectionTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(cardRequest.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(cardRequest.getReadTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.of(cardRequest.getIdleTimeout()))
+                .evictExpiredConnections()
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
     }
 }
@@ -1,5 +1,8 @@
 package com.credit.card.api.config;
 
+import com.credit.card.api.security.AccessTokenService;
+import com.credit.card.api.security.BearerTokenAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,6 +15,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -26,17 +30,24 @@ import static org.springframework.security.config.Customizer.withDefaults;
 public class SecurityConfig {
 
     /**
-     * Security Filter Chain definition
+     * Security Filter Chain definition.
+     * Requests are authenticated with a bearer token from {@code POST /credit/card/auth/token}, which is checked
+     * before HTTP Basic so that only the request for the token pays for the BCrypt comparison of the password.
      *
-     * @param http HTTP security configuration
+     * @param http               HTTP security configuration
+     * @param accessTokenService service for verifying bearer tokens
      * @return defined security filter chain
      * @throws Exception exception thrown if an error occurs while building the security filter chain
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AccessTokenService accessTokenService) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
                 .cors(withDefaults())
-                .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
+                .authorizeHttpRequests(auth -> auth
+                        // the request was authenticated when it started, the async dispatch only completes a stream of events
+                        .dispatcherTypeMatchers(DispatcherType.ERROR, DispatcherType.ASYNC).permitAll()
+                        .anyRequest().authenticated())
+                .addFilterBefore(new BearerTokenAuthenticationFilter(accessTokenService), BasicAuthenticationFilter.class)
                 .httpBasic(withDefaults())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
@@ -0,0 +1,50 @@
+package com.credit.card.api.controller;
+
+import com.credit.card.api.entity.AccessToken;
+import com.credit.card.api.security.AccessTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Access Token Controller
+ */
+@Slf4j
+@RestController
+@RequestMapping("/credit/card/auth")
+public class AccessTokenController {
+
+    private final AccessTokenService accessTokenService;
+
+    /**
+     * Constructor for AccessTokenController
+     *
+     * @param accessTokenService service for issuing tokens
+     */
+    public AccessTokenController(AccessTokenService accessTokenService) {
+        this.accessTokenService = accessTokenService;
+    }
+
+    /**
+     * Method used to exchange the username and password for a bearer token.
+     * A token cannot be used to get a new token, so a token is never valid for longer than its time to live.
+     *
+     * @param authentication authentication of the user
+     * @return response entity with the access token
+     */
+    @PostMapping("/token")
+    public ResponseEntity<AccessToken> createAccessToken(Authentication authentication) {
+        if (authentication instanceof PreAuthenticatedAuthenticationToken) {
+            log.error("Access token was requested with a bearer token.");
+            throw new AccessDeniedException("Access token must be requested with the username and password.");
+        }
+
+        log.info("Issuing access token for user {}.", authentication.getName());
+        return ResponseEntity.ok(accessTokenService.createAccessToken(authentication));
+    }
+}
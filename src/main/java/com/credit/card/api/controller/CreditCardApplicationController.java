@@ -1,22 +1,42 @@
 package com.credit.card.api.controller;
 
+import com.credit.card.api.entity.BulkItemResult;
+import com.credit.card.api.entity.BulkStatusUpdateRequest;
+import com.credit.card.api.entity.BulkStatusUpdateResult;
+import com.credit.card.api.entity.CacheStatistics;
+import com.credit.card.api.entity.CardRequest;
 import com.credit.card.api.entity.CreditCardApplication;
-import com.credit.card.api.mapper.CreditCardApplicationMapper;
-import com.credit.card.api.service.CardRequestService;
+import com.credit.card.api.entity.CreditCardApplicationPage;
+import com.credit.card.api.entity.CreditCardApplicationPatch;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.entity.UpsertResult;
+import com.credit.card.api.exception.PreconditionFailedException;
+import com.credit.card.api.service.CardRequestOutboxService;
 import com.credit.card.api.service.CreditCardApplicationService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -30,39 +50,122 @@ import java.util.List;
 public class CreditCardApplicationController {
 
     private final CreditCardApplicationService creditCardApplicationService;
-    private final CardRequestService cardRequestService;
-    private final CreditCardApplicationMapper creditCardApplicationMapper;
+    private final CardRequestOutboxService cardRequestOutboxService;
 
     /**
      * Constructor for CreditCardController
      *
      * @param creditCardApplicationService service for handling credit cards
-     * @param cardRequestService           service for handling card requests
-     * @param creditCardApplicationMapper  mapper for credit card applications
+     * @param cardRequestOutboxService     service for handling card requests
      */
     public CreditCardApplicationController(
             CreditCardApplicationService creditCardApplicationService,
-            CardRequestService cardRequestService,
-            CreditCardApplicationMapper creditCardApplicationMapper
+            CardRequestOutboxService cardRequestOutboxService
     ) {
         this.creditCardApplicationService = creditCardApplicationService;
-        this.cardRequestService = cardRequestService;
-        this.creditCardApplicationMapper = creditCardApplicationMapper;
+        this.cardRequestOutboxService = cardRequestOutboxService;
     }
 
     /**
-     * Method used to get the list containing all credit card applications
+     * Method used to get a page of credit card applications.
+     * The ETag of every page is the revision of all credit card applications, so it changes with any change.
+     * The page is written as JSON, CBOR or Smile depending on the {@code Accept} header.
      *
-     * @return list of credit card applications
+     * @param limit        maximum number of credit card applications on the page
+     * @param cursor       cursor returned with the previous page
+     * @param status       statuses the credit card applications must have, all statuses if not given
+     * @param includeTotal whether the total number of credit card applications should be returned
+     * @param webRequest   request, checked for a matching {@code If-None-Match} header
+     * @return page of credit card applications, {@code null} if the client's copy is not modified
      */
     @GetMapping
-    public ResponseEntity<List<CreditCardApplication>> getCreditCardApplications() {
-        log.info("Fetching all credit card applications.");
-        return ResponseEntity.ok(creditCardApplicationService.getCreditCardApplications());
+    public ResponseEntity<CreditCardApplicationPage> getCreditCardApplications(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest webRequest
+    ) {
+        log.info("Fetching credit card applications page with limit: {}, cursor: {}, status: {}.", limit, cursor, status);
+        // the revision is read before the page, so a change in between can only make the ETag older than the page;
+        // it is weak, as the page is written in several formats and compressed, and it is only compared with If-None-Match
+        String eTag = "W/" + toETag(creditCardApplicationService.getCreditCardApplicationsRevision());
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(creditCardApplicationService.getCreditCardApplications(limit, cursor, status, includeTotal));
     }
 
     /**
-     * Method used to get a credit card application by the applicant's ID
+     * Method used to export all credit card applications as newline-delimited JSON
+     *
+     * @return response entity streaming the credit card applications
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCreditCardApplications() {
+        log.info("Exporting all credit card applications.");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(creditCardApplicationService::exportCreditCardApplications);
+    }
+
+    /**
+     * Method used to subscribe to the created, updated and deleted credit card applications as Server-Sent Events.
+     * A client reconnecting with the {@code Last-Event-ID} header gets the events it missed, or a {@code RESET} event
+     * after which it should reload the credit card applications.
+     *
+     * @param status      statuses of the credit card applications to send events for, all statuses if not given
+     * @param lastEventId ID of the last event the client received
+     * @param request     request, whose dispatch type tells a new subscription from the error dispatch of a closed one
+     * @return emitter sending the events, {@code null} for the error dispatch
+     */
+    @GetMapping("/events")
+    public SseEmitter subscribeToCreditCardApplicationEvents(
+            @RequestParam(required = false) List<String> status,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            HttpServletRequest request
+    ) {
+        // the container dispatches a subscription whose client went away to its own URI again, which must not subscribe anew
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return null;
+        }
+        log.info("Subscribing to credit card application events with status: {}, last event ID: {}.", status, lastEventId);
+        return creditCardApplicationService.subscribeToCreditCardApplicationEvents(status, lastEventId);
+    }
+
+    /**
+     * Method used to search credit card applications by the applicant's name or surname
+     *
+     * @param q     text the applicant's name or surname starts with, small typos are tolerated
+     * @param limit maximum number of credit card applications
+     * @return matching credit card applications, best matches first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CreditCardApplication>> searchCreditCardApplications(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        log.info("Searching credit card applications with query: {}, limit: {}.", q, limit);
+        return ResponseEntity.ok(creditCardApplicationService.searchCreditCardApplications(q, limit));
+    }
+
+    /**
+     * Method used to get the statistics of the credit card application cache
+     *
+     * @return cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatistics> getCacheStatistics() {
+        return ResponseEntity.ok(creditCardApplicationService.getCacheStatistics());
+    }
+
+    /**
+     * Method used to get a credit card application by the applicant's ID, with its version as a strong ETag
+     * for the format it is written in, see {@link CreditCardApplicationETagAdvice}
      *
      * @param id applicant's ID
      * @return credit card application
@@ -70,7 +173,23 @@ public class CreditCardApplicationController {
     @GetMapping("/{id}")
     public ResponseEntity<CreditCardApplication> getCreditCardApplicationByPersonalId(@PathVariable String id) {
         log.info("Fetching credit card application by person id: {}", id);
-        return ResponseEntity.ok(creditCardApplicationService.getCreditCardApplicationByPersonalId(id));
+        CreditCardApplication creditCardApplication = creditCardApplicationService.getCreditCardApplicationByPersonalId(id);
+        // the ETag depends on the negotiated format, so it is set and checked against If-None-Match by the advice
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(creditCardApplication);
+    }
+
+    /**
+     * Method used to get the status of a credit card application by the applicant's ID
+     *
+     * @param id applicant's ID
+     * @return status of the credit card application
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<Status> getCreditCardApplicationStatusByPersonalId(@PathVariable String id) {
+        log.info("Fetching credit card application status by person id: {}", id);
+        return ResponseEntity.ok(creditCardApplicationService.getCreditCardApplicationStatusByPersonalId(id));
     }
 
     /**
@@ -82,24 +201,111 @@ public class CreditCardApplicationController {
     @PostMapping
     public ResponseEntity<CreditCardApplication> addCreditCardApplication(@Valid @RequestBody CreditCardApplication creditCardApplication) {
         log.info("Adding credit card application: {}", creditCardApplication);
+        CreditCardApplication addedCreditCardApplication = creditCardApplicationService.addCreditCardApplication(creditCardApplication);
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(creditCardApplicationService.addCreditCardApplication(creditCardApplication));
+                .body(addedCreditCardApplication);
+    }
+
+    /**
+     * Method used to add a list of credit card applications
+     *
+     * @param creditCardApplications credit card applications
+     * @return result for each credit card application
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> addCreditCardApplications(
+            @RequestBody List<CreditCardApplication> creditCardApplications
+    ) {
+        log.info("Adding {} credit card applications.", creditCardApplications.size());
+        return ResponseEntity.ok(creditCardApplicationService.addCreditCardApplications(creditCardApplications));
+    }
+
+    /**
+     * Method used to create a credit card application or update it if it already exists
+     *
+     * @param creditCardApplication credit card application
+     * @return credit card application, with the status {@code 201 Created} if it was created and {@code 200 OK} if it was updated
+     */
+    @PostMapping("/upsert")
+    public ResponseEntity<CreditCardApplication> upsertCreditCardApplication(
+            @Valid @RequestBody CreditCardApplication creditCardApplication
+    ) {
+        log.info("Upserting credit card application: {}", creditCardApplication);
+        UpsertResult upsertResult = creditCardApplicationService.upsertCreditCardApplication(creditCardApplication);
+        return ResponseEntity.status(upsertResult.isCreated() ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(upsertResult.getCreditCardApplication());
     }
 
     /**
-     * Method used to update a credit card application
+     * Method used to create a list of credit card applications or update those which already exist
+     *
+     * @param creditCardApplications list of credit card applications
+     * @return result for each credit card application, in the order of the request
+     */
+    @PostMapping("/bulk/upsert")
+    public ResponseEntity<List<BulkItemResult>> upsertCreditCardApplications(
+            @RequestBody List<CreditCardApplication> creditCardApplications
+    ) {
+        log.info("Upserting {} credit card applications.", creditCardApplications.size());
+        return ResponseEntity.ok(creditCardApplicationService.upsertCreditCardApplications(creditCardApplications));
+    }
+
+    /**
+     * Method used to update a credit card application.
+     * With an {@code If-Match} header the update is only made if the credit card application still has that ETag.
      *
      * @param id                    applicant id
      * @param creditCardApplication credit card application
+     * @param ifMatch               ETag of the credit card application the update is based on
      * @return credit card application
      */
     @PutMapping("/{id}")
     public ResponseEntity<CreditCardApplication> updateCreditCardApplicationByPersonalId(
             @PathVariable String id,
-            @Valid @RequestBody CreditCardApplication creditCardApplication
+            @Valid @RequestBody CreditCardApplication creditCardApplication,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         log.info("Updating credit card application: {}", creditCardApplication);
-        return ResponseEntity.ok(creditCardApplicationService.updateCreditCardApplicationByPersonalId(id, creditCardApplication));
+        CreditCardApplication updatedCreditCardApplication = creditCardApplicationService
+                .updateCreditCardApplicationByPersonalId(id, creditCardApplication, toVersion(ifMatch));
+        return ResponseEntity.ok()
+                .body(updatedCreditCardApplication);
+    }
+
+    /**
+     * Method used to change only the given fields of a credit card application.
+     * With an {@code If-Match} header the change is only made if the credit card application still has that ETag.
+     *
+     * @param id      applicant id
+     * @param patch   fields of the credit card application to change
+     * @param ifMatch ETag of the credit card application the change is based on
+     * @return credit card application
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<CreditCardApplication> patchCreditCardApplicationByPersonalId(
+            @PathVariable String id,
+            @RequestBody CreditCardApplicationPatch patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        log.info("Patching credit card application {}: {}", id, patch);
+        CreditCardApplication patchedCreditCardApplication = creditCardApplicationService
+                .patchCreditCardApplicationByPersonalId(id, patch, toVersion(ifMatch));
+        return ResponseEntity.ok()
+                .body(patchedCreditCardApplication);
+    }
+
+    /**
+     * Method used to move a set of credit card applications to a new status
+     *
+     * @param bulkStatusUpdateRequest request describing which applications to move and the new status
+     * @return number of credit card applications whose status was changed
+     */
+    @PutMapping("/bulk/status")
+    public ResponseEntity<BulkStatusUpdateResult> updateCreditCardApplicationStatuses(
+            @Valid @RequestBody BulkStatusUpdateRequest bulkStatusUpdateRequest
+    ) {
+        log.info("Updating credit card application statuses: {}", bulkStatusUpdateRequest);
+        return ResponseEntity.ok(creditCardApplicationService.updateCreditCardApplicationStatuses(bulkStatusUpdateRequest));
     }
 
     /**
@@ -116,17 +322,71 @@ public class CreditCardApplicationController {
     }
 
     /**
-     * Method used to send a card request for a person
+     * Method used to send a card request for a person.
+     * The card request is recorded and sent to the card issuer in the background,
+     * its status can be followed at the returned location.
      *
      * @param id applicant's ID
-     * @return response entity
+     * @return response entity with the recorded card request
      */
     @PostMapping("/send-card-request/{id}")
-    public ResponseEntity<String> findByPersonalIdAndSendCardRequest(@PathVariable String id) {
+    public ResponseEntity<CardRequest> findByPersonalIdAndSendCardRequest(@PathVariable String id) {
         log.info("Sending card request for person with id: {}", id);
-        CreditCardApplication creditCardApplication =
-                creditCardApplicationService.getCreditCardApplicationByPersonalId(id);
-        return cardRequestService.sendCardRequest(creditCardApplicationMapper.toNewCardRequest(creditCardApplication));
+        CardRequest cardRequest = cardRequestOutboxService.addCardRequest(id);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().build().toUri())
+                .body(cardRequest);
+    }
+
+    /**
+     * Method used to get the status of the most recent card request for a person
+     *
+     * @param id applicant's ID
+     * @return response entity with the card request
+     */
+    @GetMapping("/send-card-request/{id}")
+    public ResponseEntity<CardRequest> getCardRequestByPersonalId(@PathVariable String id) {
+        log.info("Fetching card request for person with id: {}", id);
+        return ResponseEntity.ok(cardRequestOutboxService.getCardRequestByPersonalId(id));
     }
 
+    /**
+     * Method used to create an ETag from the revision of all credit card applications
+     *
+     * @param revision revision of all credit card applications
+     * @return ETag
+     */
+    private static String toETag(String revision) {
+        return "\"" + revision + "\"";
+    }
+
+    /**
+     * Method used to read the version from an {@code If-Match} header, which has to hold a single strong ETag
+     * of the credit card application in any format.
+     * A weak ETag is well-formed but never matches, as {@code If-Match} compares ETags strongly.
+     *
+     * @param ifMatch value of the {@code If-Match} header
+     * @return version, {@code null} if the header is not given or matches any version
+     * @throws PreconditionFailedException if the header holds a weak ETag
+     */
+    private static Long toVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/")) {
+            log.error("If-Match header {} holds a weak ETag.", ifMatch);
+            throw new PreconditionFailedException("A weak ETag never matches the credit card application.");
+        }
+        try {
+            if (eTag.length() < 3 || eTag.charAt(0) != '"' || eTag.charAt(eTag.length() - 1) != '"') {
+                throw new NumberFormatException(eTag);
+            }
+            return CreditCardApplicationETagAdvice.toVersion(eTag.substring(1, eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            log.error("If-Match header {} is invalid.", ifMatch);
+            throw new IllegalArgumentException("If-Match header must hold a single strong ETag of the credit card application.");
+        }
+    }
 }
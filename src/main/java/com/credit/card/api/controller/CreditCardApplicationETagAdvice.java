@@ -0,0 +1,92 @@
+package com.credit.card.api.controller;
+
+import com.credit.card.api.entity.CreditCardApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Map;
+
+/**
+ * Advice which gives every response with a single credit card application its version as a strong ETag.
+ * <p>
+ * JSON, CBOR and Smile bodies of the same version are different bytes, so each format has its own ETag:
+ * {@code "5"} for JSON, {@code "5-cbor"} for CBOR and {@code "5-smile"} for Smile. The ETag is set here, once the format
+ * is negotiated, and a {@code GET} with a matching {@code If-None-Match} header is answered with 304 before the body is written.
+ */
+@ControllerAdvice(assignableTypes = CreditCardApplicationController.class)
+public class CreditCardApplicationETagAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Map<String, String> FORMATS = Map.of(
+            "application/cbor", "cbor",
+            "application/x-jackson-smile", "smile"
+    );
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return CreditCardApplication.class.isAssignableFrom(returnType.nested().getNestedParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (!(body instanceof CreditCardApplication creditCardApplication) || creditCardApplication.getVersion() == null) {
+            return body;
+        }
+
+        String eTag = toETag(creditCardApplication.getVersion(), selectedContentType);
+        boolean safe = HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod());
+        if (safe && request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse) {
+            // sets the ETag header itself, and the status 304 if the ETag matches the If-None-Match header
+            boolean notModified = new ServletWebRequest(servletRequest.getServletRequest(), servletResponse.getServletResponse())
+                    .checkNotModified(eTag);
+            return notModified ? null : body;
+        }
+
+        response.getHeaders().setETag(eTag);
+        return body;
+    }
+
+    /**
+     * Method used to create the strong ETag of a credit card application written in the given format
+     *
+     * @param version     version of the credit card application
+     * @param contentType format the credit card application is written in
+     * @return ETag
+     */
+    static String toETag(long version, MediaType contentType) {
+        String format = contentType == null ? null : FORMATS.get(contentType.getType() + "/" + contentType.getSubtype());
+        return "\"" + version + (format == null ? "" : "-" + format) + "\"";
+    }
+
+    /**
+     * Method used to read the version from the value of a strong ETag written by {@link #toETag(long, MediaType)}
+     *
+     * @param value value of the ETag without the quotes
+     * @return version
+     * @throws NumberFormatException if the value is not a version, optionally followed by a known format
+     */
+    static long toVersion(String value) {
+        int separator = value.indexOf('-');
+        if (separator >= 0 && !FORMATS.containsValue(value.substring(separator + 1))) {
+            throw new NumberFormatException(value);
+        }
+        return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+    }
+
+}
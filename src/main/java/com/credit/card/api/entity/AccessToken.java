@@ -0,0 +1,21 @@
+package com.credit.card.api.entity;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Access Token - short-lived bearer token issued in exchange for the username and password
+ */
+@Builder
+@Getter
+@ToString(exclude = "accessToken")
+public class AccessToken {
+
+    private String accessToken;
+
+    private String tokenType;
+
+    private long expiresIn;
+
+}
@@ -0,0 +1,19 @@
+package com.credit.card.api.entity;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Archive Checkpoint - status and applicant's ID after which an interrupted archival continues
+ */
+@Builder
+@Getter
+@ToString
+public class ArchiveCheckpoint {
+
+    private Status status;
+
+    private String creditCardApplicantId;
+
+}
@@ -0,0 +1,26 @@
+package com.credit.card.api.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Bulk Item Result - outcome of a single item of a bulk operation,
+ * identified by the item's position in the request
+ */
+@Builder
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    private int index;
+
+    private String creditCardApplicantId;
+
+    private BulkItemStatus status;
+
+    private String message;
+
+}
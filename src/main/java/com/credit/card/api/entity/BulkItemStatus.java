@@ -0,0 +1,11 @@
+package com.credit.card.api.entity;
+
+/**
+ * Enum for the outcome of a single item of a bulk operation
+ */
+public enum BulkItemStatus {
+    CREATED,
+    DUPLICATE,
+    UPDATED,
+    INVALID
+}
@@ -0,0 +1,26 @@
+package com.credit.card.api.entity;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Bulk Status Update Request - moves either the listed credit card applications
+ * or all credit card applications in one of the current statuses to a new status
+ */
+@Builder
+@Getter
+@ToString
+public class BulkStatusUpdateRequest {
+
+    @NotNull(message = "Application status is required")
+    private Status status;
+
+    private List<String> creditCardApplicantIds;
+
+    private List<Status> currentStatuses;
+
+}
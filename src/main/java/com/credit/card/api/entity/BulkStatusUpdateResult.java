@@ -0,0 +1,19 @@
+package com.credit.card.api.entity;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Bulk Status Update Result - number of credit card applications whose status was changed
+ */
+@Builder
+@Getter
+@ToString
+public class BulkStatusUpdateResult {
+
+    private Status status;
+
+    private int updatedCount;
+
+}
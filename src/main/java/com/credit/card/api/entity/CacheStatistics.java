@@ -0,0 +1,27 @@
+package com.credit.card.api.entity;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Cache Statistics - hit and miss counts of the credit card application cache
+ */
+@Builder
+@Getter
+@ToString
+public class CacheStatistics {
+
+    private boolean enabled;
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private long evictionCount;
+
+}
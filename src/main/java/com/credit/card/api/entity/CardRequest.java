@@ -0,0 +1,45 @@
+package com.credit.card.api.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card Request - a card request recorded in the outbox, together with the state of its delivery to the card issuer
+ */
+@Builder(toBuilder = true)
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CardRequest {
+
+    private Long cardRequestId;
+
+    private String creditCardApplicantId;
+
+    private String idempotencyKey;
+
+    @JsonIgnore
+    private NewCardRequest newCardRequest;
+
+    private CardRequestStatus status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private Integer lastResponseStatus;
+
+    private String lastError;
+
+    private String cardIssuerResponse;
+
+}
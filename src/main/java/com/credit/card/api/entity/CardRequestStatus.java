@@ -0,0 +1,11 @@
+package com.credit.card.api.entity;
+
+/**
+ * Enum for the delivery status of a card request to the card issuer
+ */
+public enum CardRequestStatus {
+    PENDING,
+    IN_PROGRESS,
+    SENT,
+    FAILED
+}
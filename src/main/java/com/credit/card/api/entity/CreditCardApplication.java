@@ -1,10 +1,13 @@
 package com.credit.card.api.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
 
+import java.time.LocalDateTime;
+
 /**
  * Credit Card Application Entity
  */
@@ -25,4 +28,14 @@ public class CreditCardApplication {
     @NotNull(message = "Application status is required")
     private Status creditCardApplicationStatus;
 
+    /**
+     * Version of this application, increased by one with every change of it,
+     * published as its ETag instead of in the body
+     */
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+
 }
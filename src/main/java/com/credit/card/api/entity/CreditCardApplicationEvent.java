@@ -0,0 +1,38 @@
+package com.credit.card.api.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Credit Card Application Event - change of the credit card applications pushed to subscribers.
+ * Created and updated credit card applications are sent whole, while status changes of many credit card applications
+ * carry only the applicant's ID and the new status. A {@code STATUS_REPLACED} event stands for all credit card applications
+ * which were in one of the previous statuses, and a {@code RESET} event tells the subscriber that it missed events
+ * and should reload the credit card applications.
+ */
+@Builder
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CreditCardApplicationEvent {
+
+    private CreditCardApplicationEventType type;
+
+    private String creditCardApplicantId;
+
+    private Status creditCardApplicationStatus;
+
+    private Collection<Status> previousStatuses;
+
+    private CreditCardApplication creditCardApplication;
+
+    private Long version;
+
+    private LocalDateTime occurredAt;
+
+}
@@ -0,0 +1,12 @@
+package com.credit.card.api.entity;
+
+/**
+ * Enum for the kind of change published to the subscribers of the credit card application events
+ */
+public enum CreditCardApplicationEventType {
+    CREATED,
+    UPDATED,
+    STATUS_REPLACED,
+    DELETED,
+    RESET
+}
@@ -0,0 +1,26 @@
+package com.credit.card.api.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Credit Card Application Page - a single page of credit card applications
+ * together with the cursor pointing to the next page
+ */
+@Builder
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CreditCardApplicationPage {
+
+    private List<CreditCardApplication> content;
+
+    private String nextCursor;
+
+    private Long totalCount;
+
+}
@@ -0,0 +1,33 @@
+package com.credit.card.api.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Credit Card Application Patch - the fields of a credit card application to change,
+ * fields which are not given are left as they are
+ */
+@Builder
+@Getter
+@ToString
+public class CreditCardApplicationPatch {
+
+    private String creditCardApplicantName;
+
+    private String creditCardApplicantSurname;
+
+    private Status creditCardApplicationStatus;
+
+    /**
+     * Method used to check whether the patch changes nothing
+     *
+     * @return true if no field is given
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return creditCardApplicantName == null && creditCardApplicantSurname == null && creditCardApplicationStatus == null;
+    }
+
+}
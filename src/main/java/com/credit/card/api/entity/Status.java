@@ -3,31 +3,72 @@ package com.credit.card.api.entity;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
- * Enum for credit card application status
+ * Enum for credit card application status.
+ * Every status has a value, which is used in JSON, and a code, which is stored in the database.
+ * Codes are stable: a code must never be reused or changed, only new codes added.
  */
 public enum Status {
-    PENDING("Pending"),
-    REJECTED("Rejected"),
-    APPROVED("Approved"),
-    UNDER_REVIEW("Under Review"),
-    ON_HOLD("On Hold"),
-    CANCELLED("Cancelled"),
-    APPROVED_PENDING_ACTIVATION("Approved Pending Activation"),
-    EXPIRED("Expired"),
-    REQUIRES_FOLLOW_UP("Requires Follow Up");
+    PENDING(1, "Pending"),
+    REJECTED(2, "Rejected"),
+    APPROVED(3, "Approved"),
+    UNDER_REVIEW(4, "Under Review"),
+    ON_HOLD(5, "On Hold"),
+    CANCELLED(6, "Cancelled"),
+    APPROVED_PENDING_ACTIVATION(7, "Approved Pending Activation"),
+    EXPIRED(8, "Expired"),
+    REQUIRES_FOLLOW_UP(9, "Requires Follow Up");
+
+    private static final Status[] BY_CODE;
+    private static final Map<String, Status> BY_VALUE;
+
+    static {
+        Status[] statuses = values();
 
+        int maxCode = 0;
+        for (Status status : statuses) {
+            maxCode = Math.max(maxCode, status.code);
+        }
+
+        BY_CODE = new Status[maxCode + 1];
+        BY_VALUE = new HashMap<>(statuses.length * 4);
+        for (Status status : statuses) {
+            if (BY_CODE[status.code] != null) {
+                throw new ExceptionInInitializerError("Duplicate status code: " + status.code);
+            }
+            BY_CODE[status.code] = status;
+            BY_VALUE.put(status.value, status);
+            BY_VALUE.put(status.value.toLowerCase(Locale.ROOT), status);
+        }
+    }
+
+    private final short code;
     private final String value;
 
     /**
      * Constructor for Status
      *
+     * @param code  status code
      * @param value status value
      */
-    Status(String value) {
+    Status(int code, String value) {
+        this.code = (short) code;
         this.value = value;
     }
 
+    /**
+     * Method to get the code of the status, which is stored in the database
+     *
+     * @return status code
+     */
+    public short getCode() {
+        return code;
+    }
+
     /**
      * Method to get the value of the status
      *
@@ -39,15 +80,32 @@ public enum Status {
     }
 
     /**
-     * Method to get the status from the value
+     * Method to get the status from the code
+     *
+     * @param code status code
+     * @return status
+     */
+    public static Status fromCode(int code) {
+        if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalArgumentException("Unknown enum code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Method to get the status from the value, ignoring case
      *
      * @param value status value
      * @return status
      */
     @JsonCreator
     public static Status fromValue(String value) {
-        for (Status status : Status.values()) {
-            if (status.value.equalsIgnoreCase(value)) {
+        if (value != null) {
+            Status status = BY_VALUE.get(value);
+            if (status == null) {
+                status = BY_VALUE.get(value.toLowerCase(Locale.ROOT));
+            }
+            if (status != null) {
                 return status;
             }
         }
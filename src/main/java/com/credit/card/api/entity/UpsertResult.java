@@ -0,0 +1,20 @@
+package com.credit.card.api.entity;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Upsert Result - credit card application as it was written by an upsert,
+ * and whether it was inserted or an existing one was updated
+ */
+@Builder
+@Getter
+@ToString
+public class UpsertResult {
+
+    private CreditCardApplication creditCardApplication;
+
+    private boolean created;
+
+}
@@ -0,0 +1,33 @@
+package com.credit.card.api.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a card request was not sent to the card issuer because the API itself held it back,
+ * so the attempt does not count against the card request
+ */
+public class CardRequestNotSentException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructor for CardRequestNotSentException
+     *
+     * @param message    exception message
+     * @param retryAfter time to wait before the card request is sent again
+     */
+    public CardRequestNotSentException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Method to get the time to wait before the card request is sent again
+     *
+     * @return time to wait
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+}
@@ -1,10 +1,13 @@
 package com.credit.card.api.exception;
 
+import com.credit.card.api.config.MetricsConfig;
 import com.credit.card.api.entity.ApiErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -20,6 +23,17 @@ import java.util.List;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for GlobalExceptionHandler
+     *
+     * @param meterRegistry registry the error counters are published to
+     */
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Method to handle illegal argument exceptions
      *
@@ -35,6 +49,7 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 request.getDescription(false).replace("uri=", "")
         );
+        countError(ex, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(apiErrorResponse, HttpStatus.BAD_REQUEST);
     }
 
@@ -53,6 +68,7 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 request.getDescription(false).replace("uri=", "")
         );
+        countError(ex, HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(apiErrorResponse, HttpStatus.NOT_FOUND);
     }
 
@@ -71,9 +87,51 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 request.getDescription(false).replace("uri=", "")
         );
+        countError(ex, HttpStatus.CONFLICT);
         return new ResponseEntity<>(apiErrorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Method to handle precondition failed exceptions
+     *
+     * @param ex exception that occurred because the credit card application was changed concurrently
+     * @return response entity with the error message
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        ApiErrorResponse apiErrorResponse = new ApiErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                HttpStatus.PRECONDITION_FAILED.getReasonPhrase(),
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        countError(ex, HttpStatus.PRECONDITION_FAILED);
+        return new ResponseEntity<>(apiErrorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Method to handle service unavailable exceptions
+     *
+     * @param ex exception that occurred because the API cannot take on the request right now
+     * @return response entity with the error message
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        ApiErrorResponse apiErrorResponse = new ApiErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        // event stream clients only accept text/event-stream, the content type is set so that the error is still written
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiErrorResponse);
+    }
+
     /**
      * Method to handle validation exceptions
      *
@@ -91,7 +149,20 @@ public class GlobalExceptionHandler {
                 errors.toString(),
                 request.getDescription(false).replace("uri=", "")
         );
+        countError(ex, HttpStatus.UNPROCESSABLE_ENTITY);
         return new ResponseEntity<>(apiErrorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    /**
+     * Method to count an error by the type of the exception and the status of the response
+     *
+     * @param ex     exception that occurred
+     * @param status status of the response
+     */
+    private void countError(Exception ex, HttpStatus status) {
+        meterRegistry.counter(MetricsConfig.ERROR_COUNTER,
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
+
 }
@@ -0,0 +1,17 @@
+package com.credit.card.api.exception;
+
+/**
+ * Exception thrown when a credit card application was changed since the version the client based its change on
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructor for PreconditionFailedException
+     *
+     * @param message exception message
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
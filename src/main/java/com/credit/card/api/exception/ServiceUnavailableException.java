@@ -0,0 +1,17 @@
+package com.credit.card.api.exception;
+
+/**
+ * Exception thrown when the API cannot take on a request right now, but may be able to later
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor for ServiceUnavailableException
+     *
+     * @param message exception message
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,425 @@
+package com.credit.card.api.index;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.repository.CreditCardApplicationChangeListener;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import com.credit.card.api.validation.PersonalIdValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory index of all applicant IDs and the status of their credit card application.
+ * <p>
+ * A personal ID has 11 digits and therefore fits in a {@code long}, so the index is an open addressing
+ * hash table with linear probing over a primitive {@code long[]} of IDs and a {@code byte[]} of status ordinals.
+ * Lookups neither box nor allocate and usually do not take a lock at all.
+ * <p>
+ * The index is loaded from the database once all singletons are created, before the application
+ * starts serving requests, and is afterwards kept in sync by {@link CreditCardApplicationRepository},
+ * which notifies it of every committed change. It only reflects changes made through this application instance.
+ */
+@Slf4j
+@Component
+public class ApplicantIdIndex implements CreditCardApplicationChangeListener, SmartInitializingSingleton {
+
+    private static final long EMPTY = -1L;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Status[] STATUSES = Status.values();
+
+    private final CreditCardApplicationRepository creditCardApplicationRepository;
+    private final CreditCardApiProperties creditCardApiProperties;
+    private final StampedLock lock = new StampedLock();
+
+    private Table table = new Table(INITIAL_CAPACITY);
+    private int size;
+    private volatile boolean loaded;
+
+    /**
+     * Constructor for ApplicantIdIndex
+     *
+     * @param creditCardApplicationRepository repository the index is loaded from
+     * @param creditCardApiProperties         configurable properties of the API
+     */
+    public ApplicantIdIndex(
+            CreditCardApplicationRepository creditCardApplicationRepository,
+            CreditCardApiProperties creditCardApiProperties
+    ) {
+        this.creditCardApplicationRepository = creditCardApplicationRepository;
+        this.creditCardApiProperties = creditCardApiProperties;
+    }
+
+    /**
+     * Method used to load the index from the database.
+     * If loading fails the index stays unloaded and lookups fall back to the database.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!creditCardApiProperties.getIndex().isEnabled()) {
+            log.info("Applicant ID index is disabled.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            creditCardApplicationRepository.loadApplicantStatuses((id, status) -> put(toKey(id), status));
+            loaded = true;
+            log.info("Loaded {} applicant IDs into the index in {} ms.", size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (DataAccessException e) {
+            log.error("Failed to load the applicant ID index, lookups will go to the database.", e);
+            clear();
+        }
+    }
+
+    /**
+     * Method used to check whether the index is loaded and can be used instead of the database
+     *
+     * @return {@code true} if the index is loaded
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Method used to check whether a credit card application exists for the applicant's ID
+     *
+     * @param id applicant's ID
+     * @return {@code true} if the applicant's ID is in the index
+     */
+    public boolean contains(CharSequence id) {
+        return find(toKey(id)) >= 0;
+    }
+
+    /**
+     * Method used to get the status of the credit card application of the applicant
+     *
+     * @param id applicant's ID
+     * @return status, {@code null} if the applicant's ID is not in the index
+     */
+    public Status getStatus(CharSequence id) {
+        int ordinal = find(toKey(id));
+        return ordinal < 0 ? null : STATUSES[ordinal];
+    }
+
+    /**
+     * Method used to get the number of applicant IDs in the index
+     *
+     * @return number of applicant IDs
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void onSaved(CreditCardApplication creditCardApplication) {
+        if (loaded) {
+            put(toKey(creditCardApplication.getCreditCardApplicantId()), creditCardApplication.getCreditCardApplicationStatus());
+        }
+    }
+
+    @Override
+    public void onStatusChanged(Collection<String> ids, Status status) {
+        if (!loaded) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            for (String id : ids) {
+                int slot = slotOf(table, toKey(id));
+                if (slot >= 0) {
+                    table.values[slot] = (byte) status.ordinal();
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onStatusReplaced(Collection<Status> currentStatuses, Status status) {
+        if (!loaded) {
+            return;
+        }
+
+        boolean[] replaced = new boolean[STATUSES.length];
+        currentStatuses.forEach(currentStatus -> replaced[currentStatus.ordinal()] = true);
+
+        long stamp = lock.writeLock();
+        try {
+            long[] keys = table.keys;
+            byte[] values = table.values;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY && replaced[values[slot]]) {
+                    values[slot] = (byte) status.ordinal();
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onDeleted(String id) {
+        if (loaded) {
+            remove(toKey(id));
+        }
+    }
+
+    /**
+     * Method used to convert the applicant's ID to the key of the index, ignoring surrounding whitespace
+     *
+     * @param id applicant's ID
+     * @return key, {@link #EMPTY} if the ID does not consist of 11 digits
+     */
+    static long toKey(CharSequence id) {
+        if (id == null) {
+            return EMPTY;
+        }
+
+        int start = 0;
+        int end = id.length();
+        while (start < end && id.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && id.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        if (end - start != PersonalIdValidator.LENGTH) {
+            return EMPTY;
+        }
+
+        long key = 0;
+        for (int i = start; i < end; i++) {
+            int digit = id.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return EMPTY;
+            }
+            key = key * 10 + digit;
+        }
+
+        return key;
+    }
+
+    /**
+     * Method used to find the status ordinal stored for a key.
+     * The lookup is first done without a lock and repeated under the read lock only if a write interfered.
+     *
+     * @param key key
+     * @return status ordinal, {@code -1} if the key is not in the index
+     */
+    private int find(long key) {
+        if (key == EMPTY) {
+            return -1;
+        }
+
+        long stamp = lock.tryOptimisticRead();
+        Table current = table;
+        int slot = slotOf(current, key);
+        int ordinal = slot < 0 ? -1 : current.values[slot];
+        if (lock.validate(stamp)) {
+            return ordinal;
+        }
+
+        stamp = lock.readLock();
+        try {
+            slot = slotOf(table, key);
+            return slot < 0 ? -1 : table.values[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method used to add a key to the index or to update its status
+     *
+     * @param key    key
+     * @param status status
+     */
+    private void put(long key, Status status) {
+        if (key == EMPTY) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            // keeps the load factor below 2/3, so that probe sequences stay short
+            if ((size + 1) * 3L > table.keys.length * 2L) {
+                table = resize(table, table.keys.length * 2);
+            }
+
+            if (insert(table, key, (byte) status.ordinal())) {
+                size++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method used to remove a key from the index.
+     * Uses backward shift deletion, so the table never contains tombstones.
+     *
+     * @param key key
+     */
+    private void remove(long key) {
+        if (key == EMPTY) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            long[] keys = table.keys;
+            byte[] values = table.values;
+            int mask = keys.length - 1;
+
+            int hole = slotOf(table, key);
+            if (hole < 0) {
+                return;
+            }
+
+            keys[hole] = EMPTY;
+            size--;
+
+            for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = home(keys[next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    keys[next] = EMPTY;
+                    hole = next;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method used to remove all keys from the index
+     */
+    private void clear() {
+        long stamp = lock.writeLock();
+        try {
+            table = new Table(INITIAL_CAPACITY);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method used to find the slot holding a key
+     *
+     * @param table table to search
+     * @param key   key
+     * @return slot, {@code -1} if the key is not in the table
+     */
+    private static int slotOf(Table table, long key) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        int slot = home(key, mask);
+
+        // bounded by the capacity, so that an optimistic read racing with a write always terminates
+        for (int probes = 0; probes <= mask; probes++) {
+            long current = keys[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Method used to insert a key into a table which has at least one free slot
+     *
+     * @param table   table
+     * @param key     key
+     * @param ordinal status ordinal
+     * @return {@code true} if the key was not in the table before
+     */
+    private static boolean insert(Table table, long key, byte ordinal) {
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        int slot = home(key, mask);
+
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                table.values[slot] = ordinal;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        table.values[slot] = ordinal;
+        return true;
+    }
+
+    /**
+     * Method used to copy all keys into a new table of the given capacity
+     *
+     * @param table    current table
+     * @param capacity capacity of the new table, a power of two
+     * @return new table
+     */
+    private static Table resize(Table table, int capacity) {
+        Table resized = new Table(capacity);
+        for (int slot = 0; slot < table.keys.length; slot++) {
+            if (table.keys[slot] != EMPTY) {
+                insert(resized, table.keys[slot], table.values[slot]);
+            }
+        }
+        return resized;
+    }
+
+    /**
+     * Method used to get the slot where the probe sequence of a key starts
+     *
+     * @param key  key
+     * @param mask capacity of the table minus one
+     * @return slot
+     */
+    private static int home(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Keys and status ordinals of the index, replaced as a whole when the index grows,
+     * so that a reader always sees arrays of the same capacity
+     */
+    private static final class Table {
+
+        private final long[] keys;
+        private final byte[] values;
+
+        private Table(int capacity) {
+            keys = new long[capacity];
+            values = new byte[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+    }
+
+}
@@ -0,0 +1,901 @@
+package com.credit.card.api.index;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.repository.CreditCardApplicationChangeListener;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over the names and surnames of the applicants.
+ * <p>
+ * Every distinct normalized name or surname is a term, which holds the IDs of the applicants carrying it.
+ * Names repeat a lot, so there are far fewer terms than applicants and a search only looks at terms.
+ * Terms are kept in a sorted map under every word they contain, which answers prefix searches,
+ * and in a trigram index, whose shared trigrams select the candidates for typo-tolerant matches.
+ * Candidates are confirmed by their edit distance to the beginning of one of their words.
+ * <p>
+ * Matches are ranked as exact matches first, then prefix matches and finally typo-tolerant matches by their distance.
+ * <p>
+ * Like {@link ApplicantIdIndex}, the index is loaded from the database once all singletons are created
+ * and afterwards kept in sync by {@link CreditCardApplicationRepository}.
+ */
+@Slf4j
+@Component
+public class ApplicantNameIndex implements CreditCardApplicationChangeListener, SmartInitializingSingleton {
+
+    /**
+     * Longest query searched for, longer queries are cut
+     */
+    public static final int MAX_QUERY_LENGTH = 64;
+
+    /**
+     * Largest number of candidates whose edit distance is computed for a single search, bounding the time of a search
+     */
+    static final int MAX_VERIFIED_CANDIDATES = 500;
+
+    private static final int NO_TERM = -1;
+    // an edit changes at most three trigrams of the query and a transposition of two characters at most four
+    private static final int EDITED_TRIGRAMS = 4;
+    private static final int TRIGRAM_BITS = 6;
+    private static final int OTHER_CHARACTER = (1 << TRIGRAM_BITS) - 1;
+
+    private final CreditCardApplicationRepository creditCardApplicationRepository;
+    private final CreditCardApiProperties creditCardApiProperties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // search state sized to the terms, reused by the searches of a thread instead of being allocated for every search
+    private final ThreadLocal<Scratch> scratches = ThreadLocal.withInitial(Scratch::new);
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final NavigableMap<String, IntList> termsByWord = new TreeMap<>();
+    private final IntList[] termsByTrigram = new IntList[1 << (3 * TRIGRAM_BITS)];
+    private final IntList freeTermIds = new IntList();
+    private final ApplicantTerms applicantTerms = new ApplicantTerms();
+    private Term[] terms = new Term[1024];
+    private int termCount;
+    private volatile boolean loaded;
+
+    /**
+     * Constructor for ApplicantNameIndex
+     *
+     * @param creditCardApplicationRepository repository the index is loaded from
+     * @param creditCardApiProperties         configurable properties of the API
+     */
+    public ApplicantNameIndex(
+            CreditCardApplicationRepository creditCardApplicationRepository,
+            CreditCardApiProperties creditCardApiProperties
+    ) {
+        this.creditCardApplicationRepository = creditCardApplicationRepository;
+        this.creditCardApiProperties = creditCardApiProperties;
+    }
+
+    /**
+     * Method used to load the index from the database.
+     * If loading fails the index stays unloaded and searches fall back to the database.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!creditCardApiProperties.getSearch().isIndexEnabled()) {
+            log.info("Applicant name index is disabled.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            creditCardApplicationRepository.loadApplicantNames(this::put);
+            loaded = true;
+            log.info("Loaded {} applicants with {} distinct names into the name index in {} ms.", size(), termCount(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (DataAccessException e) {
+            log.error("Failed to load the applicant name index, searches will go to the database.", e);
+            clear();
+        }
+    }
+
+    /**
+     * Method used to check whether the index is loaded and can be used instead of the database
+     *
+     * @return {@code true} if the index is loaded
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Method used to find the applicants whose name or surname matches the query
+     *
+     * @param query text the name or surname starts with, possibly with typos
+     * @param limit maximum number of applicant IDs to return
+     * @return applicant IDs, best matches first
+     */
+    public List<String> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_QUERY_LENGTH);
+        }
+
+        Set<String> ids = new LinkedHashSet<>();
+        Scratch scratch = scratches.get();
+        lock.readLock().lock();
+        try {
+            scratch.ensureCapacity(termCount);
+            collectPrefixMatches(normalized, limit, scratch, ids);
+            if (ids.size() < limit) {
+                collectFuzzyMatches(normalized, limit, scratch, ids);
+            }
+        } finally {
+            lock.readLock().unlock();
+            scratch.clear();
+        }
+
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Method used to get the number of applicants in the index
+     *
+     * @return number of applicants
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return applicantTerms.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method used to get the number of distinct names and surnames in the index
+     *
+     * @return number of terms
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSaved(CreditCardApplication creditCardApplication) {
+        if (loaded) {
+            put(creditCardApplication);
+        }
+    }
+
+    @Override
+    public void onDeleted(String id) {
+        if (!loaded) {
+            return;
+        }
+
+        long key = ApplicantIdIndex.toKey(id);
+        if (key < 0) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            long previous = applicantTerms.remove(key);
+            if (previous != ApplicantTerms.MISSING) {
+                removeApplicant(key, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method used to normalize a name for indexing and searching.
+     * Letters are lower-cased and stripped of diacritics, and runs of whitespace are collapsed to a single space.
+     *
+     * @param text name
+     * @return normalized name, empty if the name is {@code null} or blank
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                space = !normalized.isEmpty();
+                continue;
+            }
+            if (space) {
+                normalized.append(' ');
+                space = false;
+            }
+            normalized.append(switch (c) {
+                case 'đ', 'Đ' -> 'd';
+                case 'ł', 'Ł' -> 'l';
+                case 'ø', 'Ø' -> 'o';
+                default -> Character.toLowerCase(c);
+            });
+        }
+
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Method used to get the largest number of typos a query may contain, which grows with its length
+     *
+     * @param length length of the normalized query
+     * @return largest edit distance of a match
+     */
+    static int maxEdits(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : 2;
+    }
+
+    /**
+     * Method used to compute the edit distance between the query and the closest prefix of the text starting at the given index.
+     * Insertions, deletions, substitutions and transpositions of adjacent characters count as one edit each.
+     *
+     * @param query    normalized query
+     * @param text     normalized text
+     * @param start    index of the first character of the text
+     * @param maxEdits largest distance of interest
+     * @param rows     three rows of at least the query's length plus one, reused between calls
+     * @return edit distance, or {@code maxEdits + 1} if it is larger than {@code maxEdits}
+     */
+    static int prefixDistance(String query, String text, int start, int maxEdits, int[][] rows) {
+        int n = query.length();
+        int[] beforePrevious = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+
+        int best = previous[n];
+        int end = Math.min(text.length(), start + n + maxEdits);
+        for (int i = start; i < end; i++) {
+            char t = text.charAt(i);
+            int row = i - start + 1;
+            // only the cells within maxEdits of the diagonal can stay within maxEdits, the others count as too far
+            int from = Math.max(1, row - maxEdits);
+            int to = Math.min(n, row + maxEdits);
+            current[from - 1] = from == 1 ? row : maxEdits + 1;
+            int rowMin = current[from - 1];
+            for (int j = from; j <= to; j++) {
+                char q = query.charAt(j - 1);
+                int distance = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + (q == t ? 0 : 1));
+                if (i > start && j > 1 && q == text.charAt(i - 1) && query.charAt(j - 2) == t) {
+                    distance = Math.min(distance, beforePrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (to < n) {
+                current[to + 1] = maxEdits + 1;
+            } else {
+                best = Math.min(best, current[n]);
+            }
+            if (rowMin > maxEdits) {
+                break;
+            }
+
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        return Math.min(best, maxEdits + 1);
+    }
+
+    /**
+     * Method used to add the applicants of the terms which have a word starting with the query,
+     * the term equal to the query first, then the terms with a word equal to it and then the other prefix matches
+     *
+     * @param query   normalized query
+     * @param limit   maximum number of applicant IDs
+     * @param scratch search state holding the terms whose applicants were already added
+     * @param ids     applicant IDs found so far
+     */
+    private void collectPrefixMatches(String query, int limit, Scratch scratch, Set<String> ids) {
+        Integer exactTerm = termIds.get(query);
+        if (exactTerm != null) {
+            addApplicants(exactTerm, limit, scratch, ids);
+        }
+
+        IntList exact = termsByWord.get(query);
+        if (exact != null) {
+            for (int i = 0; i < exact.size && ids.size() < limit; i++) {
+                addApplicants(exact.values[i], limit, scratch, ids);
+            }
+        }
+
+        for (IntList prefixTerms : termsByWord.subMap(query, false, query + Character.MAX_VALUE, false).values()) {
+            for (int i = 0; i < prefixTerms.size && ids.size() < limit; i++) {
+                addApplicants(prefixTerms.values[i], limit, scratch, ids);
+            }
+            if (ids.size() >= limit) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method used to add the applicants of the terms which have a word starting with the query with a few typos,
+     * closest matches first. Candidates must share enough trigrams with the query to be within the allowed number of typos
+     * and are verified by their edit distance, those sharing the most trigrams first. Verification stops once no remaining
+     * candidate can be closer than the matches found so far, or after {@link #MAX_VERIFIED_CANDIDATES} candidates.
+     *
+     * @param query   normalized query
+     * @param limit   maximum number of applicant IDs
+     * @param scratch search state holding the terms whose applicants were already added
+     * @param ids     applicant IDs found so far
+     */
+    private void collectFuzzyMatches(String query, int limit, Scratch scratch, Set<String> ids) {
+        int maxEdits = maxEdits(query.length());
+        if (maxEdits == 0) {
+            return;
+        }
+
+        int[] queryTrigrams = trigrams(query);
+        int minShared = Math.max(1, queryTrigrams.length - EDITED_TRIGRAMS * maxEdits);
+        byte[] shared = scratch.shared;
+        IntList sharing = scratch.sharing;
+        IntList[] candidatesByShared = new IntList[queryTrigrams.length + 1];
+        for (int trigram : queryTrigrams) {
+            IntList trigramTerms = termsByTrigram[trigram];
+            for (int i = 0; trigramTerms != null && i < trigramTerms.size; i++) {
+                if (shared[trigramTerms.values[i]]++ == 0) {
+                    sharing.add(trigramTerms.values[i]);
+                }
+            }
+        }
+        // only the terms sharing a trigram are walked, in the order of their IDs
+        Arrays.sort(sharing.values, 0, sharing.size);
+        for (int j = 0; j < sharing.size; j++) {
+            int termId = sharing.values[j];
+            if (shared[termId] >= minShared && !scratch.seen[termId]) {
+                if (candidatesByShared[shared[termId]] == null) {
+                    candidatesByShared[shared[termId]] = new IntList();
+                }
+                candidatesByShared[shared[termId]].add(termId);
+            }
+        }
+
+        int[][] rows = new int[3][query.length() + 1];
+        IntList[] byDistance = new IntList[maxEdits + 1];
+        int[] applicantsByDistance = new int[maxEdits + 1];
+        int needed = limit - ids.size();
+        int verified = 0;
+        for (int count = queryTrigrams.length; count >= minShared && verified < MAX_VERIFIED_CANDIDATES; count--) {
+            IntList candidates = candidatesByShared[count];
+            for (int i = 0; candidates != null && i < candidates.size && verified < MAX_VERIFIED_CANDIDATES; i++, verified++) {
+                Term term = terms[candidates.values[i]];
+                int distance = maxEdits + 1;
+                for (int wordStart : term.wordStarts) {
+                    distance = Math.min(distance, prefixDistance(query, term.text, wordStart, maxEdits, rows));
+                }
+                if (distance <= maxEdits) {
+                    if (byDistance[distance] == null) {
+                        byDistance[distance] = new IntList();
+                    }
+                    byDistance[distance].add(candidates.values[i]);
+                    applicantsByDistance[distance] += term.applicants.size;
+                }
+            }
+
+            // candidates sharing fewer trigrams are at least this far away
+            int minRemainingDistance = (queryTrigrams.length - count + EDITED_TRIGRAMS) / EDITED_TRIGRAMS;
+            int closer = 0;
+            for (int distance = 0; distance < Math.min(minRemainingDistance, maxEdits + 1); distance++) {
+                closer += applicantsByDistance[distance];
+            }
+            if (closer >= needed) {
+                break;
+            }
+        }
+
+        for (IntList matches : byDistance) {
+            for (int i = 0; matches != null && i < matches.size && ids.size() < limit; i++) {
+                addApplicants(matches.values[i], limit, scratch, ids);
+            }
+        }
+    }
+
+    /**
+     * Method used to add the applicants of a term, unless they were already added
+     *
+     * @param termId  term
+     * @param limit   maximum number of applicant IDs
+     * @param scratch search state holding the terms whose applicants were already added
+     * @param ids     applicant IDs found so far, an applicant whose name and surname both match is kept only once
+     */
+    private void addApplicants(int termId, int limit, Scratch scratch, Set<String> ids) {
+        if (scratch.seen[termId]) {
+            return;
+        }
+        scratch.seen[termId] = true;
+        scratch.seenTerms.add(termId);
+
+        LongList applicants = terms[termId].applicants;
+        for (int i = 0; i < applicants.size && ids.size() < limit; i++) {
+            ids.add(toId(applicants.values[i]));
+        }
+    }
+
+    /**
+     * Method used to add an applicant to the index or to update its name and surname
+     *
+     * @param creditCardApplication credit card application of the applicant
+     */
+    private void put(CreditCardApplication creditCardApplication) {
+        long key = ApplicantIdIndex.toKey(creditCardApplication.getCreditCardApplicantId());
+        if (key < 0) {
+            return;
+        }
+
+        String name = normalize(creditCardApplication.getCreditCardApplicantName());
+        String surname = normalize(creditCardApplication.getCreditCardApplicantSurname());
+
+        lock.writeLock().lock();
+        try {
+            long previous = applicantTerms.get(key);
+            if (previous != ApplicantTerms.MISSING
+                    && text(nameTerm(previous)).equals(name) && text(surnameTerm(previous)).equals(surname)) {
+                return;
+            }
+            if (previous != ApplicantTerms.MISSING) {
+                removeApplicant(key, previous);
+            }
+
+            int nameTerm = addApplicant(name, key);
+            int surnameTerm = surname.equals(name) ? nameTerm : addApplicant(surname, key);
+            applicantTerms.put(key, ((long) nameTerm << 32) | (surnameTerm & 0xFFFFFFFFL));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method used to add an applicant to the term of a name, creating the term if needed
+     *
+     * @param text normalized name
+     * @param key  applicant's key
+     * @return term, {@link #NO_TERM} if the name is empty
+     */
+    private int addApplicant(String text, long key) {
+        if (text.isEmpty()) {
+            return NO_TERM;
+        }
+
+        Integer termId = termIds.get(text);
+        if (termId == null) {
+            termId = createTerm(text);
+        }
+        terms[termId].applicants.add(key);
+        return termId;
+    }
+
+    /**
+     * Method used to remove an applicant from the terms of its name and surname, removing terms which are left without applicants
+     *
+     * @param key           applicant's key
+     * @param packedTermIds terms of the name and surname of the applicant
+     */
+    private void removeApplicant(long key, long packedTermIds) {
+        int nameTerm = nameTerm(packedTermIds);
+        int surnameTerm = surnameTerm(packedTermIds);
+        removeApplicant(nameTerm, key);
+        if (surnameTerm != nameTerm) {
+            removeApplicant(surnameTerm, key);
+        }
+    }
+
+    /**
+     * Method used to remove an applicant from a term, removing the term if it is left without applicants
+     *
+     * @param termId term
+     * @param key    applicant's key
+     */
+    private void removeApplicant(int termId, long key) {
+        if (termId == NO_TERM) {
+            return;
+        }
+
+        Term term = terms[termId];
+        term.applicants.remove(key);
+        if (term.applicants.size == 0) {
+            removeTerm(termId);
+        }
+    }
+
+    /**
+     * Method used to create a term and to add it to the word and trigram indexes
+     *
+     * @param text normalized name
+     * @return term
+     */
+    private int createTerm(String text) {
+        int termId;
+        if (freeTermIds.size > 0) {
+            termId = freeTermIds.values[--freeTermIds.size];
+        } else {
+            if (termCount == terms.length) {
+                terms = Arrays.copyOf(terms, terms.length * 2);
+            }
+            termId = termCount++;
+        }
+
+        Term term = new Term(text);
+        terms[termId] = term;
+        termIds.put(text, termId);
+        for (int wordStart : term.wordStarts) {
+            termsByWord.computeIfAbsent(text.substring(wordStart), word -> new IntList()).add(termId);
+        }
+        for (int trigram : trigrams(text)) {
+            if (termsByTrigram[trigram] == null) {
+                termsByTrigram[trigram] = new IntList();
+            }
+            termsByTrigram[trigram].add(termId);
+        }
+        return termId;
+    }
+
+    /**
+     * Method used to remove a term from the word and trigram indexes
+     *
+     * @param termId term
+     */
+    private void removeTerm(int termId) {
+        Term term = terms[termId];
+        termIds.remove(term.text);
+        for (int wordStart : term.wordStarts) {
+            String word = term.text.substring(wordStart);
+            IntList wordTerms = termsByWord.get(word);
+            wordTerms.remove(termId);
+            if (wordTerms.size == 0) {
+                termsByWord.remove(word);
+            }
+        }
+        for (int trigram : trigrams(term.text)) {
+            termsByTrigram[trigram].remove(termId);
+        }
+
+        terms[termId] = null;
+        freeTermIds.add(termId);
+    }
+
+    /**
+     * Method used to remove everything from the index
+     */
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            termsByWord.clear();
+            Arrays.fill(termsByTrigram, null);
+            freeTermIds.size = 0;
+            applicantTerms.clear();
+            terms = new Term[1024];
+            termCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method used to get the text of a term
+     *
+     * @param termId term
+     * @return normalized name, empty for {@link #NO_TERM}
+     */
+    private String text(int termId) {
+        return termId == NO_TERM ? "" : terms[termId].text;
+    }
+
+    /**
+     * Method used to get the distinct trigrams of a text, each word being preceded by a space,
+     * so that the trigrams at the start of a word are weighted like the others
+     *
+     * @param text normalized text
+     * @return trigrams encoded as integers
+     */
+    static int[] trigrams(String text) {
+        int[] trigrams = new int[text.length()];
+        int count = 0;
+        int previous = code(' ');
+        int current = code(text.charAt(0));
+        for (int i = 1; i <= text.length(); i++) {
+            int next = i < text.length() ? code(text.charAt(i)) : -1;
+            if (next < 0 && text.length() > 1) {
+                break;
+            }
+            int trigram = (previous << (2 * TRIGRAM_BITS)) | (current << TRIGRAM_BITS) | Math.max(next, 0);
+            boolean duplicate = false;
+            for (int j = 0; j < count && !duplicate; j++) {
+                duplicate = trigrams[j] == trigram;
+            }
+            if (!duplicate) {
+                trigrams[count++] = trigram;
+            }
+            previous = current;
+            current = next;
+        }
+
+        return Arrays.copyOf(trigrams, count);
+    }
+
+    /**
+     * Method used to encode a character of a normalized text in the bits of a trigram
+     *
+     * @param c character
+     * @return code of the character
+     */
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return switch (c) {
+            case ' ' -> 37;
+            case '-' -> 38;
+            case '\'' -> 39;
+            case '.' -> 40;
+            default -> OTHER_CHARACTER;
+        };
+    }
+
+    private static int nameTerm(long packedTermIds) {
+        return (int) (packedTermIds >> 32);
+    }
+
+    private static int surnameTerm(long packedTermIds) {
+        return (int) packedTermIds;
+    }
+
+    /**
+     * Method used to convert a key of the index back to the applicant's ID
+     *
+     * @param key key
+     * @return applicant's ID with leading zeros
+     */
+    private static String toId(long key) {
+        String digits = Long.toString(key);
+        return digits.length() >= 11 ? digits : "0".repeat(11 - digits.length()) + digits;
+    }
+
+    /**
+     * Distinct normalized name or surname and the applicants carrying it
+     */
+    private static final class Term {
+
+        private final String text;
+        private final int[] wordStarts;
+        private final LongList applicants = new LongList();
+
+        private Term(String text) {
+            this.text = text;
+            IntList starts = new IntList();
+            starts.add(0);
+            for (int i = 1; i < text.length(); i++) {
+                if (text.charAt(i - 1) == ' ' || text.charAt(i - 1) == '-') {
+                    starts.add(i);
+                }
+            }
+            this.wordStarts = Arrays.copyOf(starts.values, starts.size);
+        }
+
+    }
+
+    /**
+     * Per-term state of a search, cleared after every search by resetting only the terms it touched
+     */
+    private static final class Scratch {
+
+        private boolean[] seen = new boolean[0];
+        private byte[] shared = new byte[0];
+        private final IntList seenTerms = new IntList();
+        private final IntList sharing = new IntList();
+
+        private void ensureCapacity(int termCount) {
+            if (seen.length < termCount) {
+                int capacity = Math.max(termCount, seen.length * 2);
+                seen = new boolean[capacity];
+                shared = new byte[capacity];
+            }
+        }
+
+        private void clear() {
+            for (int i = 0; i < seenTerms.size; i++) {
+                seen[seenTerms.values[i]] = false;
+            }
+            for (int i = 0; i < sharing.size; i++) {
+                shared[sharing.values[i]] = 0;
+            }
+            seenTerms.size = 0;
+            sharing.size = 0;
+        }
+
+    }
+
+    /**
+     * Growable list of primitive {@code int} values, which are removed by moving the last value into their place
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Growable list of primitive {@code long} values, which are removed by moving the last value into their place
+     */
+    private static final class LongList {
+
+        private long[] values = new long[2];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void remove(long value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Terms of the name and surname of every applicant, packed into a single {@code long} per applicant
+     * and kept in an open addressing hash table with linear probing, like {@link ApplicantIdIndex}
+     */
+    private static final class ApplicantTerms {
+
+        private static final long EMPTY = -1L;
+        private static final long MISSING = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(1024);
+        private long[] values = new long[1024];
+        private int size;
+
+        private long get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = home(key, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return MISSING;
+        }
+
+        private void put(long key, long value) {
+            // keeps the load factor below 2/3, so that probe sequences stay short
+            if ((size + 1) * 3L > keys.length * 2L) {
+                long[] oldKeys = keys;
+                long[] oldValues = values;
+                keys = newKeys(oldKeys.length * 2);
+                values = new long[oldKeys.length * 2];
+                size = 0;
+                for (int slot = 0; slot < oldKeys.length; slot++) {
+                    if (oldKeys[slot] != EMPTY) {
+                        put(oldKeys[slot], oldValues[slot]);
+                    }
+                }
+            }
+
+            int mask = keys.length - 1;
+            int slot = home(key, mask);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        private long remove(long key) {
+            int mask = keys.length - 1;
+            int hole = home(key, mask);
+            while (keys[hole] != key) {
+                if (keys[hole] == EMPTY) {
+                    return MISSING;
+                }
+                hole = (hole + 1) & mask;
+            }
+
+            long removed = values[hole];
+            keys[hole] = EMPTY;
+            size--;
+
+            // backward shift deletion, so the table never contains tombstones
+            for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = home(keys[next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    keys[next] = EMPTY;
+                    hole = next;
+                }
+            }
+            return removed;
+        }
+
+        private void clear() {
+            keys = newKeys(1024);
+            values = new long[1024];
+            size = 0;
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int home(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+    }
+
+}
@@ -0,0 +1,254 @@
+package com.credit.card.api.repository;
+
+import com.credit.card.api.config.MetricsConfig;
+import com.credit.card.api.entity.CardRequest;
+import com.credit.card.api.entity.CardRequestStatus;
+import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.entity.Status;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the outbox of card requests which are sent to the card issuer in the background
+ */
+@Timed(MetricsConfig.REPOSITORY_TIMER)
+@Repository
+public class CardRequestOutboxRepository {
+
+    private static final String COLUMNS = "card_request_outbox_id, credit_card_applicant_id, idempotency_key,"
+            + " credit_card_applicant_name, credit_card_applicant_surname, credit_card_application_status, card_request_status,"
+            + " attempts, next_attempt_at, created_at, updated_at, last_response_status, last_error, card_issuer_response";
+
+    private final JdbcClient jdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final RowMapper<CardRequest> rowMapper = (rs, rowNum) -> CardRequest.builder()
+            .cardRequestId(rs.getLong("card_request_outbox_id"))
+            .creditCardApplicantId(rs.getString("credit_card_applicant_id"))
+            .idempotencyKey(rs.getString("idempotency_key"))
+            .newCardRequest(NewCardRequest.builder()
+                    .oib(rs.getString("credit_card_applicant_id"))
+                    .firstName(rs.getString("credit_card_applicant_name"))
+                    .lastName(rs.getString("credit_card_applicant_surname"))
+                    .status(Status.fromCode(rs.getShort("credit_card_application_status")))
+                    .build())
+            .status(CardRequestStatus.valueOf(rs.getString("card_request_status")))
+            .attempts(rs.getInt("attempts"))
+            .nextAttemptAt(rs.getObject("next_attempt_at", LocalDateTime.class))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .lastResponseStatus(rs.getObject("last_response_status", Integer.class))
+            .lastError(rs.getString("last_error"))
+            .cardIssuerResponse(rs.getString("card_issuer_response"))
+            .build();
+
+    /**
+     * Constructor for CardRequestOutboxRepository
+     *
+     * @param jdbcClient                 JDBC client
+     * @param namedParameterJdbcTemplate JDBC template used for batch statements
+     */
+    public CardRequestOutboxRepository(JdbcClient jdbcClient, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcClient = jdbcClient;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Method to add a card request to the outbox
+     *
+     * @param cardRequest card request to add
+     * @return added card request with its ID
+     * @throws org.springframework.dao.DuplicateKeyException if a card request with the same idempotency key already exists
+     */
+    public CardRequest addCardRequest(CardRequest cardRequest) {
+        String query = "INSERT INTO card_request_outbox (credit_card_applicant_id, idempotency_key, credit_card_applicant_name,"
+                + " credit_card_applicant_surname, credit_card_application_status, card_request_status, attempts,"
+                + " next_attempt_at, created_at, updated_at)"
+                + " VALUES (:id, :idempotencyKey, :name, :surname, :applicationStatus, :status, :attempts,"
+                + " :nextAttemptAt, :createdAt, :updatedAt) ";
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcClient.sql(query)
+                .param("id", cardRequest.getCreditCardApplicantId())
+                .param("idempotencyKey", cardRequest.getIdempotencyKey())
+                .param("name", cardRequest.getNewCardRequest().getFirstName())
+                .param("surname", cardRequest.getNewCardRequest().getLastName())
+                .param("applicationStatus", cardRequest.getNewCardRequest().getStatus().getCode())
+                .param("status", cardRequest.getStatus().name())
+                .param("attempts", cardRequest.getAttempts())
+                .param("nextAttemptAt", cardRequest.getNextAttemptAt())
+                .param("createdAt", cardRequest.getCreatedAt())
+                .param("updatedAt", cardRequest.getUpdatedAt())
+                .update(keyHolder, "card_request_outbox_id");
+
+        if (keyHolder.getKey() == null) {
+            return cardRequest;
+        }
+
+        return cardRequest.toBuilder().cardRequestId(keyHolder.getKey().longValue()).build();
+    }
+
+    /**
+     * Method to get the most recent card request of an applicant
+     *
+     * @param id applicant's ID
+     * @return most recent card request, empty if the applicant has no card requests
+     */
+    public Optional<CardRequest> getLatestCardRequestByPersonalId(String id) {
+        String query = "SELECT " + COLUMNS + " FROM card_request_outbox "
+                + " WHERE credit_card_applicant_id = :id ORDER BY card_request_outbox_id DESC LIMIT 1 ";
+
+        return jdbcClient.sql(query).param("id", id).query(rowMapper).optional();
+    }
+
+    /**
+     * Method to get the card request with the given idempotency key
+     *
+     * @param idempotencyKey idempotency key of the card request
+     * @return card request, empty if no card request has the idempotency key
+     */
+    public Optional<CardRequest> getCardRequestByIdempotencyKey(String idempotencyKey) {
+        String query = "SELECT " + COLUMNS + " FROM card_request_outbox WHERE idempotency_key = :idempotencyKey ";
+
+        return jdbcClient.sql(query).param("idempotencyKey", idempotencyKey).query(rowMapper).optional();
+    }
+
+    /**
+     * Method to queue a card request which failed again, as if it was just added, so that it gets a new time budget
+     *
+     * @param cardRequest failed card request
+     * @param now         current time
+     * @return number of updated records, zero if the card request is no longer failed
+     */
+    public int retryFailedCardRequest(CardRequest cardRequest, LocalDateTime now) {
+        String query = "UPDATE card_request_outbox SET card_request_status = 'PENDING', attempts = 0, next_attempt_at = :now,"
+                + " created_at = :now, updated_at = :now, last_response_status = NULL, last_error = NULL "
+                + " WHERE card_request_outbox_id = :cardRequestId AND card_request_status = 'FAILED' ";
+
+        return jdbcClient.sql(query)
+                .param("now", now)
+                .param("cardRequestId", cardRequest.getCardRequestId())
+                .update();
+    }
+
+    /**
+     * Method to get the card requests which are due to be sent, oldest first.
+     * Card requests which are in progress are due again once their lease has expired,
+     * so that card requests claimed by a dispatcher which stopped are not lost.
+     *
+     * @param now   current time
+     * @param limit maximum number of card requests to return
+     * @return list of card requests
+     */
+    public List<CardRequest> getDueCardRequests(LocalDateTime now, int limit) {
+        String query = "SELECT " + COLUMNS + " FROM card_request_outbox "
+                + " WHERE card_request_status IN ('PENDING', 'IN_PROGRESS') AND next_attempt_at <= :now "
+                + " ORDER BY next_attempt_at LIMIT :limit ";
+
+        return jdbcClient.sql(query).param("now", now).param("limit", limit).query(rowMapper).list();
+    }
+
+    /**
+     * Method to claim card requests for sending in a single JDBC batch.
+     * A card request is claimed only if nobody else attempted it since it was read, which is checked by its number of attempts,
+     * and is then leased until the given time.
+     *
+     * @param cardRequests card requests to claim
+     * @param leaseUntil   time until which the claimed card requests are not due again
+     * @param now          current time
+     * @return card requests which were claimed, with the number of attempts including the current one
+     */
+    public List<CardRequest> claimCardRequests(List<CardRequest> cardRequests, LocalDateTime leaseUntil, LocalDateTime now) {
+        String query = "UPDATE card_request_outbox SET card_request_status = 'IN_PROGRESS', attempts = attempts + 1,"
+                + " next_attempt_at = :leaseUntil, updated_at = :now "
+                + " WHERE card_request_outbox_id = :cardRequestId AND attempts = :attempts "
+                + " AND card_request_status IN ('PENDING', 'IN_PROGRESS') ";
+
+        SqlParameterSource[] batch = cardRequests.stream()
+                .map(cardRequest -> new MapSqlParameterSource()
+                        .addValue("leaseUntil", leaseUntil)
+                        .addValue("now", now)
+                        .addValue("cardRequestId", cardRequest.getCardRequestId())
+                        .addValue("attempts", cardRequest.getAttempts()))
+                .toArray(SqlParameterSource[]::new);
+
+        int[] numbersClaimed = namedParameterJdbcTemplate.batchUpdate(query, batch);
+
+        List<CardRequest> claimed = new ArrayList<>(cardRequests.size());
+        for (int i = 0; i < numbersClaimed.length; i++) {
+            if (numbersClaimed[i] > 0) {
+                CardRequest cardRequest = cardRequests.get(i);
+                claimed.add(cardRequest.toBuilder()
+                        .status(CardRequestStatus.IN_PROGRESS)
+                        .attempts(cardRequest.getAttempts() + 1)
+                        .nextAttemptAt(leaseUntil)
+                        .updatedAt(now)
+                        .build());
+            }
+        }
+
+        return claimed;
+    }
+
+    /**
+     * Method to put a claimed card request which was not sent back into the outbox, without counting the attempt.
+     * The card request is released only if it was not claimed again in the meantime.
+     *
+     * @param cardRequest   claimed card request
+     * @param nextAttemptAt time of the next attempt
+     * @param now           current time
+     * @return number of updated records
+     */
+    public int releaseCardRequest(CardRequest cardRequest, LocalDateTime nextAttemptAt, LocalDateTime now) {
+        String query = "UPDATE card_request_outbox SET card_request_status = 'PENDING', attempts = attempts - 1,"
+                + " next_attempt_at = :nextAttemptAt, updated_at = :now "
+                + " WHERE card_request_outbox_id = :cardRequestId AND attempts = :attempts "
+                + " AND card_request_status = 'IN_PROGRESS' ";
+
+        return jdbcClient.sql(query)
+                .param("nextAttemptAt", nextAttemptAt)
+                .param("now", now)
+                .param("cardRequestId", cardRequest.getCardRequestId())
+                .param("attempts", cardRequest.getAttempts())
+                .update();
+    }
+
+    /**
+     * Method to record the outcome of an attempt to send a card request.
+     * The outcome is recorded only if the card request was not claimed again in the meantime.
+     *
+     * @param cardRequest card request with its new status, time of the next attempt, last response status, last error
+     *                    and response of the card issuer
+     * @return number of updated records
+     */
+    public int updateCardRequestOutcome(CardRequest cardRequest) {
+        String query = "UPDATE card_request_outbox SET card_request_status = :status, next_attempt_at = :nextAttemptAt,"
+                + " updated_at = :updatedAt, last_response_status = :lastResponseStatus, last_error = :lastError,"
+                + " card_issuer_response = :cardIssuerResponse "
+                + " WHERE card_request_outbox_id = :cardRequestId AND attempts = :attempts ";
+
+        return jdbcClient.sql(query)
+                .param("status", cardRequest.getStatus().name())
+                .param("nextAttemptAt", cardRequest.getNextAttemptAt())
+                .param("updatedAt", cardRequest.getUpdatedAt())
+                .param("lastResponseStatus", cardRequest.getLastResponseStatus())
+                .param("lastError", cardRequest.getLastError())
+                .param("cardIssuerResponse", cardRequest.getCardIssuerResponse())
+                .param("cardRequestId", cardRequest.getCardRequestId())
+                .param("attempts", cardRequest.getAttempts())
+                .update();
+    }
+}
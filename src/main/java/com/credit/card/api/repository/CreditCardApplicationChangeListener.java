@@ -0,0 +1,61 @@
+package com.credit.card.api.repository;
+
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.Status;
+
+import java.util.Collection;
+
+/**
+ * Listener notified by {@link CreditCardApplicationRepository} about every change of the stored credit card applications.
+ * <p>
+ * Inside a transaction the listener is notified only after the transaction commits,
+ * so it never sees a change which is rolled back.
+ */
+public interface CreditCardApplicationChangeListener {
+
+    /**
+     * Called when a credit card application is added, by default like for any other saved credit card application
+     *
+     * @param creditCardApplication added credit card application
+     */
+    default void onAdded(CreditCardApplication creditCardApplication) {
+        onSaved(creditCardApplication);
+    }
+
+    /**
+     * Called when a credit card application is added or updated
+     *
+     * @param creditCardApplication added or updated credit card application
+     */
+    default void onSaved(CreditCardApplication creditCardApplication) {
+    }
+
+    /**
+     * Called when the credit card applications with the given applicant IDs are moved to a new status.
+     * Only the applicant IDs of credit card applications whose status was changed are given, never those which do not exist
+     * or already had the new status, so a listener can apply the new status to every one of them.
+     *
+     * @param ids    applicant IDs of the changed credit card applications
+     * @param status new status
+     */
+    default void onStatusChanged(Collection<String> ids, Status status) {
+    }
+
+    /**
+     * Called when all credit card applications in one of the current statuses are moved to a new status
+     *
+     * @param currentStatuses current statuses
+     * @param status          new status
+     */
+    default void onStatusReplaced(Collection<Status> currentStatuses, Status status) {
+    }
+
+    /**
+     * Called when a credit card application is deleted
+     *
+     * @param id applicant's ID
+     */
+    default void onDeleted(String id) {
+    }
+
+}
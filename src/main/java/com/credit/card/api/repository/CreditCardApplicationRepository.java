@@ -1,50 +1,251 @@
 package com.credit.card.api.repository;
 
+import com.credit.card.api.config.MetricsConfig;
+import com.credit.card.api.entity.ArchiveCheckpoint;
 import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.CreditCardApplicationPatch;
 import com.credit.card.api.entity.Status;
+import com.credit.card.api.entity.UpsertResult;
+import com.credit.card.api.util.TransactionUtils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Repository for credit card applications
  */
+@Timed(MetricsConfig.REPOSITORY_TIMER)
 @Repository
 public class CreditCardApplicationRepository {
 
+    private static final String COLUMNS = "credit_card_applicant_name, credit_card_applicant_surname,"
+            + " credit_card_applicant_id, credit_card_application_status, version, updated_at";
+
+    /**
+     * Version of a credit card application when it is added, increased by one with every change of it
+     */
+    private static final long INITIAL_VERSION = 1;
+
+    private static final int PATCH_NAME = 1;
+    private static final int PATCH_SURNAME = 1 << 1;
+    private static final int PATCH_STATUS = 1 << 2;
+    private static final int PATCH_EXPECTED_VERSION = 1 << 3;
+
+    /**
+     * Update statements of patches, indexed by the bitmask of the given columns and whether a version is expected
+     */
+    private static final String[] PATCH_QUERIES = createPatchQueries();
+
     private final JdbcClient jdbcClient;
+    private final JdbcClient streamingJdbcClient;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ObjectProvider<CreditCardApplicationChangeListener> changeListeners;
+
+    /**
+     * Prefix of the revisions of this instance, so a revision from before a restart is never taken for a current one
+     */
+    private final String revisionPrefix = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong revision = new AtomicLong();
 
     private final RowMapper<CreditCardApplication> rowMapper = (rs, rowNum) -> CreditCardApplication.builder()
             .creditCardApplicantName(rs.getString("credit_card_applicant_name"))
             .creditCardApplicantSurname(rs.getString("credit_card_applicant_surname"))
             .creditCardApplicantId(rs.getString("credit_card_applicant_id"))
-            .creditCardApplicationStatus(Status.fromValue(rs.getString("credit_card_application_status")))
+            .creditCardApplicationStatus(Status.fromCode(rs.getShort("credit_card_application_status")))
+            .version(rs.getLong("version"))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
             .build();
 
     /**
      * Constructor for CreditCardApplicationRepository
      *
-     * @param jdbcClient JDBC client
+     * @param jdbcClient                 JDBC client
+     * @param streamingJdbcClient         JDBC client used for streaming large result sets
+     * @param namedParameterJdbcTemplate JDBC template used for batch statements
+     * @param changeListeners            listeners notified about every change of the credit card applications
      */
-    public CreditCardApplicationRepository(JdbcClient jdbcClient) {
+    public CreditCardApplicationRepository(
+            JdbcClient jdbcClient,
+            @Qualifier("streamingJdbcClient") JdbcClient streamingJdbcClient,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            ObjectProvider<CreditCardApplicationChangeListener> changeListeners
+    ) {
         this.jdbcClient = jdbcClient;
+        this.streamingJdbcClient = streamingJdbcClient;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.changeListeners = changeListeners;
     }
 
     /**
-     * Method to get the list containing all credit card applications
+     * Method to get a page of credit card applications ordered by the applicant's ID.
+     * Uses keyset pagination, so the cost of fetching a page does not depend on how deep the page is.
+     * The status filter is served by the index on the status and the applicant's ID.
      *
+     * @param afterId  applicant's ID after which the page starts, {@code null} for the first page
+     * @param statuses statuses the credit card applications must have, {@code null} or empty for all statuses
+     * @param limit    maximum number of credit card applications to return
      * @return list of credit card applications
      */
-    public List<CreditCardApplication> getCreditCardApplications() {
-        String query = "SELECT credit_card_applicant_name, credit_card_applicant_surname,"
-                + " credit_card_applicant_id, credit_card_application_status FROM credit_card_application ";
+    public List<CreditCardApplication> getCreditCardApplications(String afterId, Collection<Status> statuses, int limit) {
+        boolean filterByStatus = statuses != null && !statuses.isEmpty();
+        List<String> conditions = new ArrayList<>(2);
+        if (filterByStatus) {
+            conditions.add("credit_card_application_status IN (:statuses)");
+        }
+        if (afterId != null) {
+            conditions.add("credit_card_applicant_id > :afterId");
+        }
+
+        String query = "SELECT " + COLUMNS + " FROM credit_card_application "
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions) + " ")
+                + " ORDER BY credit_card_applicant_id LIMIT :limit ";
+
+        JdbcClient.StatementSpec statementSpec = jdbcClient.sql(query).param("limit", limit);
+        if (filterByStatus) {
+            statementSpec = statementSpec.param("statuses", toCodes(statuses));
+        }
+        if (afterId != null) {
+            statementSpec = statementSpec.param("afterId", afterId);
+        }
+
+        return statementSpec.query(rowMapper).list();
+    }
+
+    /**
+     * Method to stream all credit card applications ordered by the applicant's ID.
+     * Rows are read from an open cursor, so the returned stream holds a database connection
+     * and has to be closed by the caller.
+     *
+     * @return stream of credit card applications
+     */
+    public Stream<CreditCardApplication> streamCreditCardApplications() {
+        String query = "SELECT " + COLUMNS + " FROM credit_card_application "
+                + " ORDER BY credit_card_applicant_id ";
+
+        return streamingJdbcClient.sql(query).query(rowMapper).stream();
+    }
+
+    /**
+     * Method to read the applicant's ID and status of all credit card applications
+     *
+     * @param consumer consumer called with the applicant's ID and status of each credit card application
+     */
+    public void loadApplicantStatuses(BiConsumer<String, Status> consumer) {
+        String query = "SELECT credit_card_applicant_id, credit_card_application_status FROM credit_card_application ";
+
+        streamingJdbcClient.sql(query).query((RowCallbackHandler) rs -> consumer.accept(
+                rs.getString("credit_card_applicant_id"),
+                Status.fromCode(rs.getShort("credit_card_application_status"))));
+    }
+
+    /**
+     * Method to read the applicant's ID, name and surname of all credit card applications
+     *
+     * @param consumer consumer called with a credit card application holding only the applicant's ID, name and surname
+     */
+    public void loadApplicantNames(Consumer<CreditCardApplication> consumer) {
+        String query = "SELECT credit_card_applicant_id, credit_card_applicant_name, credit_card_applicant_surname "
+                + " FROM credit_card_application ";
+
+        streamingJdbcClient.sql(query).query((RowCallbackHandler) rs -> consumer.accept(CreditCardApplication.builder()
+                .creditCardApplicantId(rs.getString("credit_card_applicant_id"))
+                .creditCardApplicantName(rs.getString("credit_card_applicant_name"))
+                .creditCardApplicantSurname(rs.getString("credit_card_applicant_surname"))
+                .build()));
+    }
+
+    /**
+     * Method to search credit card applications whose applicant's name or surname starts with the given text, ignoring case.
+     * Used when the in-memory name index is not available, so it matches neither later words of a name nor typos.
+     *
+     * @param prefix text the name or surname starts with
+     * @param limit  maximum number of credit card applications to return
+     * @return list of credit card applications ordered by the applicant's ID
+     */
+    public List<CreditCardApplication> searchCreditCardApplicationsByName(String prefix, int limit) {
+        String query = "SELECT " + COLUMNS + " FROM credit_card_application "
+                + " WHERE LOWER(credit_card_applicant_name) LIKE :pattern ESCAPE '\\' "
+                + " OR LOWER(credit_card_applicant_surname) LIKE :pattern ESCAPE '\\' "
+                + " ORDER BY credit_card_applicant_id LIMIT :limit ";
+
+        String pattern = prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+
+        return jdbcClient.sql(query).param("pattern", pattern).param("limit", limit).query(rowMapper).list();
+    }
+
+    /**
+     * Method to get the credit card applications of the given applicants
+     *
+     * @param ids applicant IDs
+     * @return list of credit card applications in no particular order, without the applicants which do not exist
+     */
+    public List<CreditCardApplication> getCreditCardApplicationsByPersonalIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String query = "SELECT " + COLUMNS + " FROM credit_card_application WHERE credit_card_applicant_id IN (:ids) ";
+
+        return jdbcClient.sql(query).param("ids", ids).query(rowMapper).list();
+    }
+
+    /**
+     * Method to count the credit card applications with one of the given statuses
+     *
+     * @param statuses statuses the credit card applications must have, {@code null} or empty for all statuses
+     * @return number of credit card applications
+     */
+    public long countCreditCardApplications(Collection<Status> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            String query = "SELECT COUNT(*) FROM credit_card_application ";
+
+            return jdbcClient.sql(query).query(Long.class).single();
+        }
 
-        return jdbcClient.sql(query).query(rowMapper).list();
+        String query = "SELECT COUNT(*) FROM credit_card_application WHERE credit_card_application_status IN (:statuses) ";
+
+        return jdbcClient.sql(query).param("statuses", toCodes(statuses)).query(Long.class).single();
+    }
+
+    /**
+     * Method to get the revision of the credit card applications, which is increased after every committed change.
+     * It is counted in memory rather than in a shared row, so concurrent writers do not wait for each other,
+     * and it is increased only after the commit, so a reader never sees a revision before the change it stands for.
+     *
+     * @return revision of the credit card applications
+     */
+    public String getRevision() {
+        return revisionPrefix + "-" + revision.get();
     }
 
     /**
@@ -54,8 +255,7 @@ public class CreditCardApplicationRepository {
      * @return credit card application
      */
     public CreditCardApplication getCreditCardApplicationByPersonalId(String id) {
-        String query = "SELECT credit_card_applicant_name, credit_card_applicant_surname,"
-                + " credit_card_applicant_id, credit_card_application_status FROM credit_card_application "
+        String query = "SELECT " + COLUMNS + " FROM credit_card_application "
                 + " WHERE credit_card_applicant_id = :id ";
 
         return jdbcClient.sql(query).param("id", id).query(rowMapper).single();
@@ -67,51 +267,284 @@ public class CreditCardApplicationRepository {
      * @param creditCardApplication credit card application to add
      * @return added credit card application
      */
+    @Transactional
     public CreditCardApplication addCreditCardApplication(CreditCardApplication creditCardApplication) {
         String query = "INSERT INTO credit_card_application (credit_card_applicant_name, credit_card_applicant_surname,"
-                + " credit_card_applicant_id, credit_card_application_status) VALUES (:name, :surname, :id, :status) ";
+                + " credit_card_applicant_id, credit_card_application_status, version, updated_at)"
+                + " VALUES (:name, :surname, :id, :status, :version, :updatedAt) ";
 
         KeyHolder keyHolder = new GeneratedKeyHolder();
+        LocalDateTime updatedAt = LocalDateTime.now();
 
         jdbcClient.sql(query)
                 .param("name", creditCardApplication.getCreditCardApplicantName())
                 .param("surname", creditCardApplication.getCreditCardApplicantSurname())
                 .param("id", creditCardApplication.getCreditCardApplicantId())
-                .param("status", creditCardApplication.getCreditCardApplicationStatus().getValue())
-                .update(keyHolder);
+                .param("status", creditCardApplication.getCreditCardApplicationStatus().getCode())
+                .param("version", INITIAL_VERSION)
+                .param("updatedAt", updatedAt)
+                .update(keyHolder, "credit_card_application_id");
+
+        CreditCardApplication addedCreditCardApplication = added(creditCardApplication, updatedAt);
+        notifyChangeListeners(listener -> listener.onAdded(addedCreditCardApplication));
 
         if (keyHolder.getKey() == null) {
             return null;
         }
 
-        Long creditCardApplicationId = keyHolder.getKey().longValue();
-        return CreditCardApplication.builder()
-                .creditCardApplicantName(creditCardApplication.getCreditCardApplicantName())
-                .creditCardApplicantSurname(creditCardApplication.getCreditCardApplicantSurname())
-                .creditCardApplicantId(creditCardApplication.getCreditCardApplicantId())
-                .creditCardApplicationStatus(creditCardApplication.getCreditCardApplicationStatus())
-                .build();
+        return addedCreditCardApplication;
+    }
+
+    /**
+     * Method to find which of the given applicant IDs already have a credit card application
+     *
+     * @param ids applicant IDs
+     * @return applicant IDs that already exist
+     */
+    public Set<String> findExistingPersonalIds(Collection<String> ids) {
+        String query = "SELECT credit_card_applicant_id FROM credit_card_application "
+                + " WHERE credit_card_applicant_id IN (:ids) ";
+
+        return new HashSet<>(jdbcClient.sql(query).param("ids", ids).query(String.class).list());
+    }
+
+    /**
+     * Method to add credit card applications in a single JDBC batch.
+     * The batch runs in one transaction, so either all applications are added or none are.
+     * The change listeners are notified of the applications as they were written, with their version and time of the change.
+     *
+     * @param creditCardApplications credit card applications to add
+     * @return number of added records per credit card application
+     */
+    @Transactional
+    public int[] addCreditCardApplications(List<CreditCardApplication> creditCardApplications) {
+        String query = "INSERT INTO credit_card_application (credit_card_applicant_name, credit_card_applicant_surname,"
+                + " credit_card_applicant_id, credit_card_application_status, version, updated_at)"
+                + " VALUES (:name, :surname, :id, :status, :version, :updatedAt) ";
+
+        LocalDateTime updatedAt = LocalDateTime.now();
+        SqlParameterSource[] batch = creditCardApplications.stream()
+                .map(creditCardApplication -> new MapSqlParameterSource()
+                        .addValue("name", creditCardApplication.getCreditCardApplicantName())
+                        .addValue("surname", creditCardApplication.getCreditCardApplicantSurname())
+                        .addValue("id", creditCardApplication.getCreditCardApplicantId())
+                        .addValue("status", creditCardApplication.getCreditCardApplicationStatus().getCode())
+                        .addValue("version", INITIAL_VERSION)
+                        .addValue("updatedAt", updatedAt))
+                .toArray(SqlParameterSource[]::new);
+
+        int[] numbersAdded = namedParameterJdbcTemplate.batchUpdate(query, batch);
+        List<CreditCardApplication> addedCreditCardApplications = creditCardApplications.stream()
+                .map(creditCardApplication -> added(creditCardApplication, updatedAt))
+                .toList();
+        notifyChangeListeners(listener -> addedCreditCardApplications.forEach(listener::onAdded));
+        return numbersAdded;
+    }
+
+    /**
+     * Method to insert the given credit card applications or update them if they already exist, in a single statement.
+     * The statement selects the rows as the merge wrote them, so their new versions are known without another query,
+     * and an application was inserted exactly when it has the initial version, as an update always increases it.
+     * The applicant IDs must be unique.
+     *
+     * @param creditCardApplications credit card applications to insert or update
+     * @return credit card applications as they were written, with their new version, in the given order
+     */
+    @Transactional
+    public List<UpsertResult> upsertCreditCardApplications(List<CreditCardApplication> creditCardApplications) {
+        if (creditCardApplications.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder query = new StringBuilder("SELECT " + COLUMNS + " FROM FINAL TABLE ("
+                + " MERGE INTO credit_card_application t USING (VALUES ");
+        Map<String, Object> params = new HashMap<>();
+        params.put("version", INITIAL_VERSION);
+        params.put("updatedAt", LocalDateTime.now());
+        for (int i = 0; i < creditCardApplications.size(); i++) {
+            CreditCardApplication creditCardApplication = creditCardApplications.get(i);
+            query.append(i == 0 ? "" : ", ")
+                    .append("(:name").append(i).append(", :surname").append(i).append(", :id").append(i)
+                    .append(", :status").append(i).append(")");
+            params.put("name" + i, creditCardApplication.getCreditCardApplicantName());
+            params.put("surname" + i, creditCardApplication.getCreditCardApplicantSurname());
+            params.put("id" + i, creditCardApplication.getCreditCardApplicantId());
+            params.put("status" + i, creditCardApplication.getCreditCardApplicationStatus().getCode());
+        }
+        query.append(") s (name, surname, id, status) ON t.credit_card_applicant_id = s.id"
+                + " WHEN MATCHED THEN UPDATE SET credit_card_applicant_name = s.name, credit_card_applicant_surname = s.surname,"
+                + " credit_card_application_status = s.status, version = t.version + 1, updated_at = :updatedAt"
+                + " WHEN NOT MATCHED THEN INSERT (credit_card_applicant_name, credit_card_applicant_surname,"
+                + " credit_card_applicant_id, credit_card_application_status, version, updated_at)"
+                + " VALUES (s.name, s.surname, s.id, s.status, :version, :updatedAt)) ");
+
+        Map<String, CreditCardApplication> written = new HashMap<>();
+        jdbcClient.sql(query.toString()).params(params).query(rowMapper).list()
+                .forEach(creditCardApplication -> written.put(creditCardApplication.getCreditCardApplicantId(), creditCardApplication));
+
+        List<UpsertResult> upsertResults = creditCardApplications.stream()
+                .map(creditCardApplication -> written.get(creditCardApplication.getCreditCardApplicantId()))
+                .map(creditCardApplication -> UpsertResult.builder()
+                        .creditCardApplication(creditCardApplication)
+                        .created(creditCardApplication.getVersion() == INITIAL_VERSION)
+                        .build())
+                .toList();
+        notifyChangeListeners(listener -> upsertResults.forEach(upsertResult -> {
+            if (upsertResult.isCreated()) {
+                listener.onAdded(upsertResult.getCreditCardApplication());
+            } else {
+                listener.onSaved(upsertResult.getCreditCardApplication());
+            }
+        }));
+        return upsertResults;
     }
 
     /**
      * Method to update a credit card application
      *
+     * When an expected version is given, the credit card application is only updated if it still has that version,
+     * which is checked by the update itself, so concurrent writers need neither a lock nor a prior read.
+     *
      * @param creditCardApplication credit card application to update
-     * @return updated credit card application
+     * @param expectedVersion       version the credit card application must have, {@code null} to update any version
+     * @return updated credit card application with its new version, {@code null} if it does not exist
+     * @throws OptimisticLockingFailureException if the credit card application exists but has another version
      */
-    public CreditCardApplication updateCreditCardApplicationByPersonalId(@Valid CreditCardApplication creditCardApplication) {
-        String query = "UPDATE credit_card_application SET credit_card_applicant_name = :name, "
-                + " credit_card_applicant_surname = :surname, credit_card_application_status = :status "
-                + " WHERE credit_card_applicant_id = :id ";
+    @Transactional
+    public CreditCardApplication updateCreditCardApplicationByPersonalId(
+            @Valid CreditCardApplication creditCardApplication,
+            Long expectedVersion
+    ) {
+        String query = "SELECT " + COLUMNS + " FROM FINAL TABLE (UPDATE credit_card_application "
+                + " SET credit_card_applicant_name = :name, credit_card_applicant_surname = :surname, "
+                + " credit_card_application_status = :status, version = version + 1, updated_at = :updatedAt "
+                + " WHERE credit_card_applicant_id = :id "
+                + (expectedVersion == null ? "" : " AND version = :expectedVersion ")
+                + ") ";
 
-        int numberUpdated = jdbcClient.sql(query)
+        JdbcClient.StatementSpec statementSpec = jdbcClient.sql(query)
                 .param("name", creditCardApplication.getCreditCardApplicantName())
                 .param("surname", creditCardApplication.getCreditCardApplicantSurname())
-                .param("status", creditCardApplication.getCreditCardApplicationStatus().getValue())
-                .param("id", creditCardApplication.getCreditCardApplicantId())
+                .param("status", creditCardApplication.getCreditCardApplicationStatus().getCode())
+                .param("updatedAt", LocalDateTime.now())
+                .param("id", creditCardApplication.getCreditCardApplicantId());
+        if (expectedVersion != null) {
+            statementSpec = statementSpec.param("expectedVersion", expectedVersion);
+        }
+
+        Optional<CreditCardApplication> updated = statementSpec.query(rowMapper).optional();
+
+        if (updated.isEmpty()) {
+            checkVersionMismatch(creditCardApplication.getCreditCardApplicantId(), expectedVersion);
+            return null;
+        }
+
+        CreditCardApplication updatedCreditCardApplication = updated.get();
+        notifyChangeListeners(listener -> listener.onSaved(updatedCreditCardApplication));
+        return updatedCreditCardApplication;
+    }
+
+    /**
+     * Method to change only the given fields of a credit card application.
+     * The update statement sets only the columns of the given fields, and is built once for every combination of them.
+     *
+     * @param id              applicant's ID
+     * @param patch           fields to change
+     * @param expectedVersion version the credit card application must have, {@code null} to update any version
+     * @return updated credit card application with its new version, {@code null} if it does not exist
+     * @throws OptimisticLockingFailureException if the credit card application exists but has another version
+     */
+    @Transactional
+    public CreditCardApplication patchCreditCardApplicationByPersonalId(
+            String id,
+            CreditCardApplicationPatch patch,
+            Long expectedVersion
+    ) {
+        int columns = (patch.getCreditCardApplicantName() == null ? 0 : PATCH_NAME)
+                | (patch.getCreditCardApplicantSurname() == null ? 0 : PATCH_SURNAME)
+                | (patch.getCreditCardApplicationStatus() == null ? 0 : PATCH_STATUS)
+                | (expectedVersion == null ? 0 : PATCH_EXPECTED_VERSION);
+
+        JdbcClient.StatementSpec statementSpec = jdbcClient.sql(PATCH_QUERIES[columns])
+                .param("updatedAt", LocalDateTime.now())
+                .param("id", id);
+        if ((columns & PATCH_NAME) != 0) {
+            statementSpec = statementSpec.param("name", patch.getCreditCardApplicantName());
+        }
+        if ((columns & PATCH_SURNAME) != 0) {
+            statementSpec = statementSpec.param("surname", patch.getCreditCardApplicantSurname());
+        }
+        if ((columns & PATCH_STATUS) != 0) {
+            statementSpec = statementSpec.param("status", patch.getCreditCardApplicationStatus().getCode());
+        }
+        if ((columns & PATCH_EXPECTED_VERSION) != 0) {
+            statementSpec = statementSpec.param("expectedVersion", expectedVersion);
+        }
+
+        // the untouched columns are selected from the updated row, so the result is the row as it was written
+        Optional<CreditCardApplication> patched = statementSpec.query(rowMapper).optional();
+
+        if (patched.isEmpty()) {
+            checkVersionMismatch(id, expectedVersion);
+            return null;
+        }
+
+        CreditCardApplication patchedCreditCardApplication = patched.get();
+        notifyChangeListeners(listener -> listener.onSaved(patchedCreditCardApplication));
+        return patchedCreditCardApplication;
+    }
+
+    /**
+     * Method to change the status of the credit card applications with the given applicant IDs.
+     * The applicant IDs are read back from the updated rows, so the listeners are notified only about
+     * credit card applications which exist and were not already in the new status.
+     *
+     * @param ids    applicant IDs
+     * @param status new status
+     * @return applicant IDs of the updated records, not including those already in the new status
+     */
+    @Transactional
+    public List<String> updateStatusByPersonalIds(Collection<String> ids, Status status) {
+        String query = "SELECT credit_card_applicant_id FROM FINAL TABLE (UPDATE credit_card_application "
+                + " SET credit_card_application_status = :status, version = version + 1, updated_at = :updatedAt "
+                + " WHERE credit_card_applicant_id IN (:ids) AND credit_card_application_status <> :status) ";
+
+        List<String> updatedIds = jdbcClient.sql(query)
+                .param("status", status.getCode())
+                .param("updatedAt", LocalDateTime.now())
+                .param("ids", ids)
+                .query(String.class)
+                .list();
+
+        if (!updatedIds.isEmpty()) {
+            notifyChangeListeners(listener -> listener.onStatusChanged(updatedIds, status));
+        }
+        return updatedIds;
+    }
+
+    /**
+     * Method to change the status of all credit card applications in one of the current statuses
+     *
+     * @param currentStatuses current statuses
+     * @param status          new status
+     * @return number of updated records, not counting those already in the new status
+     */
+    @Transactional
+    public int updateStatusByStatuses(Collection<Status> currentStatuses, Status status) {
+        String query = "UPDATE credit_card_application SET credit_card_application_status = :status, "
+                + " version = version + 1, updated_at = :updatedAt "
+                + " WHERE credit_card_application_status IN (:currentStatuses) AND credit_card_application_status <> :status ";
+
+        int numberUpdated = jdbcClient.sql(query)
+                .param("status", status.getCode())
+                .param("updatedAt", LocalDateTime.now())
+                .param("currentStatuses", toCodes(currentStatuses))
                 .update();
 
-        return numberUpdated == 1 ? creditCardApplication : null;
+        if (numberUpdated > 0) {
+            notifyChangeListeners(listener -> listener.onStatusReplaced(currentStatuses, status));
+        }
+        return numberUpdated;
     }
 
     /**
@@ -120,9 +553,219 @@ public class CreditCardApplicationRepository {
      * @param id applicant's ID
      * @return number of deleted records
      */
+    @Transactional
     public int deleteCreditCardApplicationByPersonalId(String id) {
         String query = "DELETE FROM credit_card_application WHERE credit_card_applicant_id = :id ";
 
-        return jdbcClient.sql(query).param("id", id).update();
+        int numberDeleted = jdbcClient.sql(query).param("id", id).update();
+
+        if (numberDeleted > 0) {
+            notifyChangeListeners(listener -> listener.onDeleted(id));
+        }
+        return numberDeleted;
+    }
+
+    /**
+     * Method to get the next chunk of applicant IDs whose credit card applications in the given status can be archived,
+     * ordered by the applicant's ID.
+     * A single status is served by a range of the index on the status and the time of the last change,
+     * so only credit card applications which can be archived are read.
+     *
+     * @param afterId       applicant's ID after which the chunk starts, {@code null} for the first chunk
+     * @param status        status in which credit card applications can be archived
+     * @param updatedBefore time before which the credit card applications must have been changed last
+     * @param limit         maximum number of applicant IDs to return
+     * @return applicant IDs
+     */
+    public List<String> getArchivableIds(String afterId, Status status, LocalDateTime updatedBefore, int limit) {
+        String query = "SELECT credit_card_applicant_id FROM credit_card_application "
+                + " WHERE credit_card_application_status = :status AND updated_at < :updatedBefore "
+                + (afterId == null ? "" : " AND credit_card_applicant_id > :afterId ")
+                + " ORDER BY credit_card_applicant_id LIMIT :limit ";
+
+        JdbcClient.StatementSpec statementSpec = jdbcClient.sql(query)
+                .param("status", status.getCode())
+                .param("updatedBefore", updatedBefore)
+                .param("limit", limit);
+        if (afterId != null) {
+            statementSpec = statementSpec.param("afterId", afterId);
+        }
+
+        return statementSpec.query(String.class).list();
+    }
+
+    /**
+     * Method to move credit card applications to the archive and to record the status and applicant's ID up to which
+     * the archival got, in a single transaction.
+     * The conditions are checked again by the delete, so a credit card application changed since it was found is left in place,
+     * and the archived rows are the rows the delete removed, so every credit card application is archived exactly once.
+     *
+     * @param ids           applicant IDs of the credit card applications to archive
+     * @param status        status in which credit card applications can be archived
+     * @param updatedBefore time before which the credit card applications must have been changed last
+     * @param archivedAt    time of the archival
+     * @param checkpoint    status and applicant's ID after which the archival continues
+     * @return applicant IDs of the archived credit card applications
+     */
+    @Transactional
+    public List<String> archiveCreditCardApplications(
+            Collection<String> ids,
+            Status status,
+            LocalDateTime updatedBefore,
+            LocalDateTime archivedAt,
+            ArchiveCheckpoint checkpoint
+    ) {
+        String deleteQuery = "SELECT " + COLUMNS + " FROM OLD TABLE (DELETE FROM credit_card_application "
+                + " WHERE credit_card_applicant_id IN (:ids) AND credit_card_application_status = :status"
+                + " AND updated_at < :updatedBefore) ";
+        String insertQuery = "INSERT INTO credit_card_application_archive (credit_card_applicant_id, credit_card_applicant_name,"
+                + " credit_card_applicant_surname, credit_card_application_status, version, updated_at, archived_at)"
+                + " VALUES (:id, :name, :surname, :status, :version, :updatedAt, :archivedAt) ";
+
+        List<CreditCardApplication> archived = jdbcClient.sql(deleteQuery)
+                .param("ids", ids)
+                .param("status", status.getCode())
+                .param("updatedBefore", updatedBefore)
+                .query(rowMapper)
+                .list();
+
+        if (!archived.isEmpty()) {
+            SqlParameterSource[] batch = archived.stream()
+                    .map(creditCardApplication -> new MapSqlParameterSource()
+                            .addValue("id", creditCardApplication.getCreditCardApplicantId())
+                            .addValue("name", creditCardApplication.getCreditCardApplicantName())
+                            .addValue("surname", creditCardApplication.getCreditCardApplicantSurname())
+                            .addValue("status", creditCardApplication.getCreditCardApplicationStatus().getCode())
+                            .addValue("version", creditCardApplication.getVersion())
+                            .addValue("updatedAt", creditCardApplication.getUpdatedAt())
+                            .addValue("archivedAt", archivedAt))
+                    .toArray(SqlParameterSource[]::new);
+            namedParameterJdbcTemplate.batchUpdate(insertQuery, batch);
+        }
+        saveArchiveCheckpoint(checkpoint);
+
+        List<String> archivedIds = archived.stream().map(CreditCardApplication::getCreditCardApplicantId).toList();
+        if (!archivedIds.isEmpty()) {
+            notifyChangeListeners(listener -> archivedIds.forEach(listener::onDeleted));
+        }
+        return archivedIds;
+    }
+
+    /**
+     * Method to get the status and applicant's ID after which an interrupted archival continues
+     *
+     * @return checkpoint, {@code null} if the last archival was completed
+     */
+    public ArchiveCheckpoint getArchiveCheckpoint() {
+        String query = "SELECT last_status, last_applicant_id FROM credit_card_application_archive_checkpoint "
+                + " WHERE checkpoint_id = 1 AND last_status IS NOT NULL AND last_applicant_id IS NOT NULL ";
+
+        return jdbcClient.sql(query)
+                .query((rs, rowNum) -> ArchiveCheckpoint.builder()
+                        .status(Status.fromCode(rs.getShort("last_status")))
+                        .creditCardApplicantId(rs.getString("last_applicant_id"))
+                        .build())
+                .optional()
+                .orElse(null);
+    }
+
+    /**
+     * Method to record the status and applicant's ID after which an interrupted archival continues
+     *
+     * @param checkpoint checkpoint, {@code null} when the archival is completed
+     */
+    public void saveArchiveCheckpoint(ArchiveCheckpoint checkpoint) {
+        String query = "UPDATE credit_card_application_archive_checkpoint SET last_status = :status,"
+                + " last_applicant_id = :checkpoint, updated_at = :updatedAt WHERE checkpoint_id = 1 ";
+
+        jdbcClient.sql(query)
+                .param("status", checkpoint == null ? null : checkpoint.getStatus().getCode())
+                .param("checkpoint", checkpoint == null ? null : checkpoint.getCreditCardApplicantId())
+                .param("updatedAt", LocalDateTime.now())
+                .update();
+    }
+
+    /**
+     * Method to convert statuses to the codes they are stored as
+     *
+     * @param statuses statuses
+     * @return status codes
+     */
+    private static List<Short> toCodes(Collection<Status> statuses) {
+        return statuses.stream().map(Status::getCode).distinct().toList();
+    }
+
+    /**
+     * Method to tell a credit card application which was not updated because it has another version than the expected one
+     * from one which does not exist. The check runs only after an update failed, so a successful update needs no prior read.
+     *
+     * @param id              applicant's ID
+     * @param expectedVersion version the credit card application had to have, {@code null} if any version was updated
+     * @throws OptimisticLockingFailureException if the credit card application exists but has another version
+     */
+    private void checkVersionMismatch(String id, Long expectedVersion) {
+        if (expectedVersion != null && !findExistingPersonalIds(List.of(id)).isEmpty()) {
+            throw new OptimisticLockingFailureException(
+                    "Credit card application " + id + " does not have version " + expectedVersion + ".");
+        }
+    }
+
+    /**
+     * Method to create a credit card application as it is written when it is added
+     *
+     * @param creditCardApplication credit card application to add
+     * @param updatedAt             time the credit card application is added
+     * @return credit card application with the initial version and the time it is added
+     */
+    private static CreditCardApplication added(CreditCardApplication creditCardApplication, LocalDateTime updatedAt) {
+        return CreditCardApplication.builder()
+                .creditCardApplicantName(creditCardApplication.getCreditCardApplicantName())
+                .creditCardApplicantSurname(creditCardApplication.getCreditCardApplicantSurname())
+                .creditCardApplicantId(creditCardApplication.getCreditCardApplicantId())
+                .creditCardApplicationStatus(creditCardApplication.getCreditCardApplicationStatus())
+                .version(INITIAL_VERSION)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    /**
+     * Method to create the update statements of patches for every combination of the patched columns
+     * and whether a version is expected
+     *
+     * @return update statements indexed by the bitmask of the patched columns
+     */
+    private static String[] createPatchQueries() {
+        String[] queries = new String[PATCH_EXPECTED_VERSION << 1];
+        for (int columns = 0; columns < queries.length; columns++) {
+            StringBuilder query = new StringBuilder("SELECT " + COLUMNS + " FROM FINAL TABLE (UPDATE credit_card_application SET ");
+            if ((columns & PATCH_NAME) != 0) {
+                query.append("credit_card_applicant_name = :name, ");
+            }
+            if ((columns & PATCH_SURNAME) != 0) {
+                query.append("credit_card_applicant_surname = :surname, ");
+            }
+            if ((columns & PATCH_STATUS) != 0) {
+                query.append("credit_card_application_status = :status, ");
+            }
+            query.append("version = version + 1, updated_at = :updatedAt WHERE credit_card_applicant_id = :id ");
+            if ((columns & PATCH_EXPECTED_VERSION) != 0) {
+                query.append("AND version = :expectedVersion ");
+            }
+            queries[columns] = query.append(") ").toString();
+        }
+        return queries;
+    }
+
+    /**
+     * Method to increase the revision and notify the change listeners about a change, after the commit if a transaction is active.
+     * It is only called when rows were actually changed.
+     *
+     * @param notification notification sent to each listener
+     */
+    private void notifyChangeListeners(Consumer<CreditCardApplicationChangeListener> notification) {
+        TransactionUtils.runAfterCommit(() -> {
+            revision.incrementAndGet();
+            changeListeners.orderedStream().forEach(notification);
+        });
     }
 }
@@ -0,0 +1,146 @@
+package com.credit.card.api.security;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.AccessToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service for issuing and verifying HMAC-SHA256 signed bearer tokens.
+ * A token is {@code payload.signature}, where the payload holds the username, the expiry and the authorities,
+ * so verifying a token takes a single HMAC instead of a BCrypt comparison of the password.
+ */
+@Slf4j
+@Service
+public class AccessTokenService {
+
+    public static final String TOKEN_TYPE = "Bearer";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration timeToLive;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Constructor for AccessTokenService
+     *
+     * @param creditCardApiProperties configurable properties of the API
+     */
+    public AccessTokenService(CreditCardApiProperties creditCardApiProperties) {
+        CreditCardApiProperties.Token token = creditCardApiProperties.getToken();
+        this.key = new SecretKeySpec(createKey(token.getSecret()), ALGORITHM);
+        this.timeToLive = token.getTimeToLive();
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available.", e);
+            }
+        });
+    }
+
+    /**
+     * Method used to issue a token for an authenticated user
+     *
+     * @param authentication authentication of the user
+     * @return access token
+     */
+    public AccessToken createAccessToken(Authentication authentication) {
+        long expiresAt = Instant.now().plus(timeToLive).getEpochSecond();
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+
+        String payload = ENCODER.encodeToString(
+                (authentication.getName() + "\n" + expiresAt + "\n" + authorities).getBytes(StandardCharsets.UTF_8));
+
+        return AccessToken.builder()
+                .accessToken(payload + "." + ENCODER.encodeToString(sign(payload)))
+                .tokenType(TOKEN_TYPE)
+                .expiresIn(timeToLive.toSeconds())
+                .build();
+    }
+
+    /**
+     * Method used to verify a token and restore the authentication of the user it was issued for
+     *
+     * @param token token to verify
+     * @return authentication of the user, empty if the token is malformed, was not signed with the key or expired
+     */
+    public Optional<Authentication> verifyAccessToken(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        String payload = token.substring(0, separator);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(separator + 1)))) {
+                return Optional.empty();
+            }
+
+            String[] claims = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\n", 3);
+            if (claims.length != 3 || Instant.now().getEpochSecond() >= Long.parseLong(claims[1])) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new PreAuthenticatedAuthenticationToken(claims[0], token,
+                    AuthorityUtils.commaSeparatedStringToAuthorityList(claims[2])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Method used to sign the payload of a token
+     *
+     * @param payload encoded payload
+     * @return signature
+     */
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Method used to decode the configured key, or to generate a random key when none is configured
+     *
+     * @param secret Base64 encoded key
+     * @return key
+     */
+    private static byte[] createKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("No token secret is configured, tokens are only accepted by this instance until it is restarted.");
+            byte[] key = new byte[MIN_KEY_LENGTH];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+
+        byte[] key = Base64.getDecoder().decode(secret.trim());
+        if (key.length < MIN_KEY_LENGTH) {
+            throw new IllegalArgumentException("Token secret must be at least " + MIN_KEY_LENGTH * 8 + " bits long.");
+        }
+        return key;
+    }
+}
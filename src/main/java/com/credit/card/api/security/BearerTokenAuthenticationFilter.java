@@ -0,0 +1,62 @@
+package com.credit.card.api.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Filter which authenticates requests carrying a bearer token issued by {@link AccessTokenService}.
+ * Requests without a bearer token are passed on unchanged, so that they can be authenticated with the username and password.
+ */
+@Slf4j
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = AccessTokenService.TOKEN_TYPE + " ";
+
+    private final AccessTokenService accessTokenService;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+    /**
+     * Constructor for BearerTokenAuthenticationFilter
+     *
+     * @param accessTokenService service for verifying tokens
+     */
+    public BearerTokenAuthenticationFilter(AccessTokenService accessTokenService) {
+        this.accessTokenService = accessTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<Authentication> authentication = accessTokenService.verifyAccessToken(authorization.substring(PREFIX.length()).trim());
+        if (authentication.isEmpty()) {
+            log.warn("Request with an invalid or expired bearer token was rejected.");
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, AccessTokenService.TOKEN_TYPE + " error=\"invalid_token\"");
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        SecurityContext securityContext = securityContextHolderStrategy.createEmptyContext();
+        securityContext.setAuthentication(authentication.get());
+        securityContextHolderStrategy.setContext(securityContext);
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,43 @@
+package com.credit.card.api.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff between attempts to send a card request
+ */
+final class Backoff {
+
+    private Backoff() {
+    }
+
+    /**
+     * Method used to calculate the time before the next attempt, which doubles with every attempt
+     *
+     * @param attempts       number of attempts so far
+     * @param initialBackoff time before the second attempt
+     * @param maxBackoff     longest time between two attempts
+     * @return time before the next attempt
+     */
+    static Duration exponential(int attempts, Duration initialBackoff, Duration maxBackoff) {
+        Duration backoff = initialBackoff;
+        for (int i = 1; i < attempts && backoff.compareTo(maxBackoff) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff;
+    }
+
+    /**
+     * Method used to pick a random time before the next attempt between zero and the exponential backoff,
+     * so that card requests which failed at the same time are not retried at the same time
+     *
+     * @param attempts       number of attempts so far
+     * @param initialBackoff time before the second attempt, before the jitter is applied
+     * @param maxBackoff     longest time between two attempts
+     * @return time before the next attempt
+     */
+    static Duration withFullJitter(int attempts, Duration initialBackoff, Duration maxBackoff) {
+        long bound = exponential(attempts, initialBackoff, maxBackoff).toNanos();
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(bound + 1));
+    }
+}
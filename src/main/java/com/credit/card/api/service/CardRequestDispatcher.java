@@ -0,0 +1,242 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CardRequest;
+import com.credit.card.api.entity.CardRequestStatus;
+import com.credit.card.api.exception.CardRequestNotSentException;
+import com.credit.card.api.repository.CardRequestOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Background dispatcher which sends the card requests recorded in the outbox to the card issuer.
+ * Card requests are claimed in batches and sent with bounded concurrency. Card requests which fail because of
+ * the card issuer are retried with exponential backoff and jitter, while card requests the card issuer rejects are not retried.
+ * Card requests the API held back without sending them go back into the outbox without using up an attempt.
+ * No card request is retried longer than the maximum age since it was added.
+ */
+@Slf4j
+@Component
+public class CardRequestDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final CardRequestOutboxRepository cardRequestOutboxRepository;
+    private final CardRequestService cardRequestService;
+    private final CreditCardApiProperties creditCardApiProperties;
+
+    /**
+     * Constructor for CardRequestDispatcher
+     *
+     * @param cardRequestOutboxRepository repository for the outbox of card requests
+     * @param cardRequestService          service for sending card requests
+     * @param creditCardApiProperties     configurable properties of the API
+     */
+    public CardRequestDispatcher(
+            CardRequestOutboxRepository cardRequestOutboxRepository,
+            CardRequestService cardRequestService,
+            CreditCardApiProperties creditCardApiProperties
+    ) {
+        this.cardRequestOutboxRepository = cardRequestOutboxRepository;
+        this.cardRequestService = cardRequestService;
+        this.creditCardApiProperties = creditCardApiProperties;
+    }
+
+    /**
+     * Method used to send all card requests which are due, batch by batch, until the outbox is drained
+     */
+    @Scheduled(fixedDelayString = "${credit-card-api.outbox.poll-interval:PT1S}")
+    public void dispatchCardRequests() {
+        CreditCardApiProperties.Outbox outbox = creditCardApiProperties.getOutbox();
+        if (!outbox.isDispatchEnabled()) {
+            return;
+        }
+
+        List<CardRequest> dueCardRequests;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            dueCardRequests = cardRequestOutboxRepository.getDueCardRequests(now, outbox.getBatchSize());
+            if (dueCardRequests.isEmpty()) {
+                return;
+            }
+
+            List<CardRequest> claimedCardRequests = cardRequestOutboxRepository.claimCardRequests(
+                    dueCardRequests, now.plus(outbox.getLease()), now);
+            log.info("Dispatching {} card requests.", claimedCardRequests.size());
+            dispatchBatch(claimedCardRequests, outbox.getConcurrency());
+        } while (dueCardRequests.size() == outbox.getBatchSize());
+    }
+
+    /**
+     * Method used to send a batch of claimed card requests and wait until all of them are answered
+     *
+     * @param cardRequests claimed card requests
+     * @param concurrency  largest number of card requests sent at the same time
+     */
+    private void dispatchBatch(List<CardRequest> cardRequests, int concurrency) {
+        Semaphore permits = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(cardRequests.size());
+
+        try {
+            for (CardRequest cardRequest : cardRequests) {
+                permits.acquire();
+                futures.add(cardRequestService.sendCardRequestAsync(cardRequest.getNewCardRequest())
+                        .<Void>handle((response, e) -> {
+                            recordOutcome(cardRequest, response, e);
+                            return null;
+                        })
+                        .whenComplete((result, e) -> permits.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Method used to record the outcome of an attempt to send a card request.
+     * A card request which was not sent is released with the time the API asked to wait, but at least the initial backoff,
+     * so it is not claimed again by the same run of the dispatcher, and at most until its maximum age is reached.
+     * Once it is past its maximum age it fails.
+     *
+     * @param cardRequest card request which was claimed
+     * @param response    response to the card request, null if the attempt failed
+     * @param error       error of the attempt, null if the card issuer answered
+     */
+    void recordOutcome(CardRequest cardRequest, ResponseEntity<String> response, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CardRequestNotSentException notSent) {
+            LocalDateTime now = LocalDateTime.now();
+            Duration remaining = remainingTime(cardRequest, now);
+            if (remaining.compareTo(Duration.ZERO) <= 0) {
+                log.error("Card request {} was not sent before its maximum age was reached.", cardRequest.getCardRequestId());
+                cardRequestOutboxRepository.updateCardRequestOutcome(cardRequest.toBuilder()
+                        .status(CardRequestStatus.FAILED)
+                        .updatedAt(now)
+                        .lastError(truncate(notSent.getMessage()))
+                        .build());
+                return;
+            }
+
+            Duration delay = creditCardApiProperties.getOutbox().getInitialBackoff();
+            if (notSent.getRetryAfter().compareTo(delay) > 0) {
+                delay = notSent.getRetryAfter();
+            }
+            if (delay.compareTo(remaining) > 0) {
+                delay = remaining;
+            }
+
+            log.warn("Card request {} was not sent, it is released until {}: {}", cardRequest.getCardRequestId(),
+                    now.plus(delay), notSent.getMessage());
+            cardRequestOutboxRepository.releaseCardRequest(cardRequest, now.plus(delay), now);
+            return;
+        }
+
+        if (cause != null) {
+            response = ResponseEntity.internalServerError().body("An error occurred: " + cause.getMessage());
+        }
+        cardRequestOutboxRepository.updateCardRequestOutcome(outcome(cardRequest, response));
+    }
+
+    /**
+     * Method used to determine the state of a card request after an attempt to send it.
+     * The card request is retried after the backoff or the time the card issuer asked to wait, whichever is longer,
+     * but never later than the maximum backoff or its maximum age.
+     *
+     * @param cardRequest card request which was sent
+     * @param response    response to the card request
+     * @return card request with its new state
+     */
+    CardRequest outcome(CardRequest cardRequest, ResponseEntity<String> response) {
+        CreditCardApiProperties.Outbox outbox = creditCardApiProperties.getOutbox();
+        LocalDateTime now = LocalDateTime.now();
+        HttpStatus status = HttpStatus.resolve(response.getStatusCode().value());
+
+        CardRequest.CardRequestBuilder outcome = cardRequest.toBuilder()
+                .updatedAt(now)
+                .lastResponseStatus(response.getStatusCode().value())
+                .lastError(null);
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return outcome.status(CardRequestStatus.SENT).cardIssuerResponse(truncate(response.getBody())).build();
+        }
+
+        outcome.lastError(truncate(response.getBody()));
+
+        boolean retryable = !response.getStatusCode().is4xxClientError()
+                || status == HttpStatus.REQUEST_TIMEOUT || status == HttpStatus.TOO_MANY_REQUESTS;
+        Duration remaining = remainingTime(cardRequest, now);
+        if (!retryable || cardRequest.getAttempts() >= outbox.getMaxAttempts()
+                || remaining.compareTo(Duration.ZERO) <= 0) {
+            log.error("Card request {} failed after {} attempts.", cardRequest.getCardRequestId(), cardRequest.getAttempts());
+            return outcome.status(CardRequestStatus.FAILED).build();
+        }
+
+        Duration backoff = Backoff.withFullJitter(cardRequest.getAttempts(), outbox.getInitialBackoff(), outbox.getMaxBackoff());
+        Duration retryAfter = retryAfter(response);
+        if (retryAfter.compareTo(backoff) > 0) {
+            backoff = retryAfter.compareTo(outbox.getMaxBackoff()) > 0 ? outbox.getMaxBackoff() : retryAfter;
+        }
+        if (backoff.compareTo(remaining) > 0) {
+            backoff = remaining;
+        }
+
+        return outcome.status(CardRequestStatus.PENDING).nextAttemptAt(now.plus(backoff)).build();
+    }
+
+    /**
+     * Method used to get the time left until a card request reaches its maximum age and is no longer retried
+     *
+     * @param cardRequest card request
+     * @param now         current time
+     * @return time left, zero or negative if the card request is past its maximum age
+     */
+    private Duration remainingTime(CardRequest cardRequest, LocalDateTime now) {
+        return Duration.between(now, cardRequest.getCreatedAt().plus(creditCardApiProperties.getOutbox().getMaxAge()));
+    }
+
+    /**
+     * Method used to read the time the card issuer asked to wait before the next attempt
+     *
+     * @param response response to the card request
+     * @return time to wait, zero if the response does not have a valid {@code Retry-After} header in seconds
+     */
+    private static Duration retryAfter(ResponseEntity<String> response) {
+        String retryAfter = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return Duration.ZERO;
+        }
+
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    /**
+     * Method used to shorten an error message so that it fits into the outbox
+     *
+     * @param error error message
+     * @return shortened error message
+     */
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,36 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.entity.Status;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Idempotency key of a card request, which is the same for every card request of an applicant with the same status
+ */
+public final class CardRequestIdempotencyKey {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private CardRequestIdempotencyKey() {
+    }
+
+    /**
+     * Method to derive the idempotency key of a card request as the hex encoded SHA-256 hash of the applicant's ID and status
+     *
+     * @param applicantId applicant's ID
+     * @param status      status of the credit card application
+     * @return idempotency key, 64 characters long
+     */
+    public static String of(String applicantId, Status status) {
+        String value = applicantId + ":" + (status == null ? "" : status.getValue());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CardRequest;
+import com.credit.card.api.entity.CardRequestStatus;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.exception.EntityNotFoundException;
+import com.credit.card.api.mapper.CreditCardApplicationMapper;
+import com.credit.card.api.repository.CardRequestOutboxRepository;
+import com.credit.card.api.validation.PersonalIdValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Service for recording card requests in the outbox, from which {@link CardRequestDispatcher} sends them to the card issuer
+ */
+@Slf4j
+@Service
+public class CardRequestOutboxService {
+
+    private final CardRequestOutboxRepository cardRequestOutboxRepository;
+    private final CreditCardApplicationService creditCardApplicationService;
+    private final CreditCardApplicationMapper creditCardApplicationMapper;
+    private final CreditCardApiProperties creditCardApiProperties;
+
+    /**
+     * Constructor for CardRequestOutboxService
+     *
+     * @param cardRequestOutboxRepository  repository for the outbox of card requests
+     * @param creditCardApplicationService service for handling credit cards
+     * @param creditCardApplicationMapper  mapper for credit card applications
+     * @param creditCardApiProperties      configurable properties of the API
+     */
+    public CardRequestOutboxService(
+            CardRequestOutboxRepository cardRequestOutboxRepository,
+            CreditCardApplicationService creditCardApplicationService,
+            CreditCardApplicationMapper creditCardApplicationMapper,
+            CreditCardApiProperties creditCardApiProperties
+    ) {
+        this.cardRequestOutboxRepository = cardRequestOutboxRepository;
+        this.creditCardApplicationService = creditCardApplicationService;
+        this.creditCardApplicationMapper = creditCardApplicationMapper;
+        this.creditCardApiProperties = creditCardApiProperties;
+    }
+
+    /**
+     * Method used to record a card request for an applicant in the outbox.
+     * The card request is sent to the card issuer in the background. Card requests are identified by an idempotency key
+     * derived from the applicant's ID and status, so repeating the call returns the card request which was already recorded,
+     * including the stored response of the card issuer once it was sent, and a failed card request is queued again.
+     * The lookup and the insert are separate statements, so that a card request recorded by a concurrent call is read
+     * instead of failing the request.
+     *
+     * @param id applicant's ID
+     * @return recorded card request
+     */
+    public CardRequest addCardRequest(String id) {
+        CreditCardApplication creditCardApplication = creditCardApplicationService.getCreditCardApplicationByPersonalId(id);
+        String idempotencyKey = CardRequestIdempotencyKey.of(
+                creditCardApplication.getCreditCardApplicantId(), creditCardApplication.getCreditCardApplicationStatus());
+
+        Optional<CardRequest> existingCardRequest = cardRequestOutboxRepository.getCardRequestByIdempotencyKey(idempotencyKey);
+        if (existingCardRequest.isPresent()) {
+            return retryIfFailed(existingCardRequest.get());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return cardRequestOutboxRepository.addCardRequest(CardRequest.builder()
+                    .creditCardApplicantId(creditCardApplication.getCreditCardApplicantId())
+                    .idempotencyKey(idempotencyKey)
+                    .newCardRequest(creditCardApplicationMapper.toNewCardRequest(creditCardApplication))
+                    .status(CardRequestStatus.PENDING)
+                    .attempts(0)
+                    .nextAttemptAt(now)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        } catch (DuplicateKeyException e) {
+            log.info("Card request for person with id {} was recorded concurrently.", id);
+            return cardRequestOutboxRepository.getCardRequestByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Method used to get the most recent card request of an applicant
+     *
+     * @param id applicant's ID
+     * @return most recent card request
+     */
+    public CardRequest getCardRequestByPersonalId(String id) {
+        PersonalIdValidator.Result result =
+                PersonalIdValidator.validate(id, creditCardApiProperties.getValidation().isVerifyCheckDigit());
+        if (result != PersonalIdValidator.Result.VALID) {
+            log.error(result.getMessage());
+            throw new IllegalArgumentException(result.getMessage());
+        }
+
+        return cardRequestOutboxRepository.getLatestCardRequestByPersonalId(id)
+                .orElseThrow(() -> {
+                    log.error("No card request with given personal ID was found.");
+                    return new EntityNotFoundException("No card request with given personal id was found.");
+                });
+    }
+
+    /**
+     * Method used to queue a card request again if it failed, and to return any other card request as it is
+     *
+     * @param cardRequest card request with a known idempotency key
+     * @return card request, pending if it failed before
+     */
+    private CardRequest retryIfFailed(CardRequest cardRequest) {
+        if (cardRequest.getStatus() != CardRequestStatus.FAILED) {
+            log.info("Card request for person with id {} is already {}.",
+                    cardRequest.getCreditCardApplicantId(), cardRequest.getStatus());
+            return cardRequest;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (cardRequestOutboxRepository.retryFailedCardRequest(cardRequest, now) == 0) {
+            return cardRequest;
+        }
+
+        log.info("Failed card request for person with id {} is queued again.", cardRequest.getCreditCardApplicantId());
+        return cardRequest.toBuilder()
+                .status(CardRequestStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .lastResponseStatus(null)
+                .lastError(null)
+                .build();
+    }
+}
@@ -1,16 +1,30 @@
 package com.credit.card.api.service;
 
+import com.credit.card.api.config.CreditCardApiProperties;
 import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.exception.CardRequestNotSentException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Card Request Service
  */
@@ -19,34 +33,72 @@ import org.springframework.web.client.RestTemplate;
 public class CardRequestService {
 
     private final RestTemplate restTemplate;
+    private final boolean async;
+    private final Semaphore inFlight;
+    private final ThreadPoolExecutor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration waitDurationInOpenState;
+    private volatile long openedAt;
 
     private static final String BASE_URL = "https://api.something.com/v1/api/v1/card-request";
 
     /**
      * Constructor for CardRequestService
      *
-     * @param restTemplate rest template
+     * @param restTemplate            rest template
+     * @param creditCardApiProperties configurable properties of the API
+     * @param circuitBreaker          circuit breaker of the card issuer
      */
-    public CardRequestService(RestTemplate restTemplate) {
+    public CardRequestService(
+            RestTemplate restTemplate,
+            CreditCardApiProperties creditCardApiProperties,
+            CircuitBreaker circuitBreaker
+    ) {
         this.restTemplate = restTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.waitDurationInOpenState = creditCardApiProperties.getCardRequest().getCircuitBreaker().getWaitDurationInOpenState();
+        this.circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.OPEN) {
+                openedAt = System.nanoTime();
+            }
+        });
+
+        CreditCardApiProperties.CardRequest cardRequest = creditCardApiProperties.getCardRequest();
+        int maxInFlight = cardRequest.getMaxInFlight();
+        this.async = cardRequest.isAsync();
+        this.inFlight = new Semaphore(maxInFlight);
+        // a thread for every card request which may be in flight, so that a card request never waits for a thread
+        this.executor = new ThreadPoolExecutor(maxInFlight, maxInFlight, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxInFlight), new CustomizableThreadFactory("card-request-"));
+        this.executor.allowCoreThreadTimeOut(true);
     }
 
     /**
-     * Method used to send a card request
+     * Method used to send a card request.
+     * The card request carries an idempotency key derived from the applicant's ID and status, so the card issuer can
+     * recognize a card request it already received. The card request is sent once; failed card requests are retried
+     * by the outbox dispatcher, which waits between attempts without holding a thread.
+     * While the circuit breaker of the card issuer is open, the card request is not sent.
      *
      * @param newCardRequest card request to be sent
      * @return response entity
+     * @throws CardRequestNotSentException if the circuit breaker of the card issuer is open
      */
     public ResponseEntity<String> sendCardRequest(NewCardRequest newCardRequest) {
         log.info("Sending card request: {}.", newCardRequest);
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(CardRequestIdempotencyKey.HEADER,
+                CardRequestIdempotencyKey.of(newCardRequest.getOib(), newCardRequest.getStatus()));
 
-            HttpEntity<NewCardRequest> requestEntity = new HttpEntity<NewCardRequest>(newCardRequest, headers);
+        HttpEntity<NewCardRequest> requestEntity = new HttpEntity<NewCardRequest>(newCardRequest, headers);
 
-            return restTemplate.exchange(BASE_URL, HttpMethod.POST, requestEntity, String.class);
+        try {
+            return circuitBreaker.executeSupplier(
+                    () -> restTemplate.exchange(BASE_URL, HttpMethod.POST, requestEntity, String.class));
+        } catch (CallNotPermittedException ex) {
+            throw circuitOpenException();
         } catch (HttpClientErrorException ex) {
             return ResponseEntity.status(ex.getStatusCode()).body(ex.getResponseBodyAsString());
         } catch (Exception e) {
@@ -54,4 +106,75 @@ public class CardRequestService {
         }
     }
 
+    /**
+     * Method used to send a card request without blocking the calling thread.
+     * The card request is sent from a separate thread pool with the same error handling as {@link #sendCardRequest(NewCardRequest)}.
+     * When the circuit breaker of the card issuer is open or the configured number of card requests is already in flight,
+     * the card request is not sent and the future fails with a {@link CardRequestNotSentException}.
+     * The future is not completed early: the connect and read timeouts of the HTTP client abort a card request the card issuer
+     * does not answer in time, which frees its thread and its place among the card requests in flight.
+     * If asynchronous sending is disabled, the card request is sent on the calling thread.
+     *
+     * @param newCardRequest card request to be sent
+     * @return future completed with the response entity
+     */
+    public CompletableFuture<ResponseEntity<String>> sendCardRequestAsync(NewCardRequest newCardRequest) {
+        if (!async) {
+            try {
+                return CompletableFuture.completedFuture(sendCardRequest(newCardRequest));
+            } catch (CardRequestNotSentException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            return CompletableFuture.failedFuture(circuitOpenException());
+        }
+
+        if (!inFlight.tryAcquire()) {
+            log.error("Too many card requests are in flight, card request was not sent.");
+            return CompletableFuture.failedFuture(new CardRequestNotSentException(
+                    "Too many card requests are in progress, please try again later.", Duration.ZERO));
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return sendCardRequest(newCardRequest);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }, executor);
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            log.error("Card request could not be queued, card request was not sent: {}", e.getMessage());
+            return CompletableFuture.failedFuture(new CardRequestNotSentException(
+                    "Card request could not be queued, please try again later.", Duration.ZERO));
+        }
+    }
+
+    /**
+     * Method used to create the exception for a card request which was not sent because the circuit breaker is open.
+     * The card request is to be sent again once the circuit breaker lets trial card requests through again.
+     *
+     * @return exception
+     */
+    private CardRequestNotSentException circuitOpenException() {
+        log.error("Card issuer circuit breaker is open, card request was not sent.");
+
+        long remainingNanos = waitDurationInOpenState.toNanos() - (System.nanoTime() - openedAt);
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        return new CardRequestNotSentException("Card issuer is unavailable, please try again later.",
+                Duration.ofSeconds(retryAfterSeconds));
+    }
+
+    /**
+     * Method used to stop the thread pool card requests are sent from, letting card requests in flight finish
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
 }
@@ -0,0 +1,154 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.ArchiveCheckpoint;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background job which moves credit card applications that stayed in a terminal status for long enough to the archive.
+ * The statuses are archived one after the other, and the credit card applications of a status are moved in small chunks
+ * ordered by the applicant's ID, each in its own short transaction, with a pause between the chunks.
+ * The status and applicant's ID up to which a run got are stored with every chunk,
+ * so a run which was interrupted continues where it stopped.
+ */
+@Slf4j
+@Component
+public class CreditCardApplicationArchiver {
+
+    private final CreditCardApplicationRepository creditCardApplicationRepository;
+    private final CreditCardApplicationService creditCardApplicationService;
+    private final CreditCardApiProperties creditCardApiProperties;
+
+    private final Counter archivedCounter;
+    private final Timer chunkTimer;
+    private final AtomicLong lastCompletedRun = new AtomicLong();
+
+    /**
+     * Constructor for CreditCardApplicationArchiver
+     *
+     * @param creditCardApplicationRepository repository for credit card applications
+     * @param creditCardApplicationService    service for credit card applications
+     * @param creditCardApiProperties         configurable properties of the API
+     * @param meterRegistry                   registry the progress of the archival is published to
+     */
+    public CreditCardApplicationArchiver(
+            CreditCardApplicationRepository creditCardApplicationRepository,
+            CreditCardApplicationService creditCardApplicationService,
+            CreditCardApiProperties creditCardApiProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.creditCardApplicationRepository = creditCardApplicationRepository;
+        this.creditCardApplicationService = creditCardApplicationService;
+        this.creditCardApiProperties = creditCardApiProperties;
+
+        this.archivedCounter = meterRegistry.counter("credit.card.archive.archived");
+        this.chunkTimer = meterRegistry.timer("credit.card.archive.chunks");
+        meterRegistry.gauge("credit.card.archive.last.completed", lastCompletedRun);
+    }
+
+    /**
+     * Method used to archive all credit card applications which are due, chunk by chunk
+     */
+    @Scheduled(fixedDelayString = "${credit-card-api.archive.interval:PT1H}",
+            initialDelayString = "${credit-card-api.archive.interval:PT1H}")
+    public void archiveCreditCardApplications() {
+        CreditCardApiProperties.Archive archive = creditCardApiProperties.getArchive();
+        if (!archive.isEnabled() || archive.getStatuses().isEmpty()) {
+            return;
+        }
+
+        LocalDateTime updatedBefore = LocalDateTime.now().minus(archive.getMinAge());
+        List<Status> statuses = archive.getStatuses();
+        ArchiveCheckpoint checkpoint = creditCardApplicationRepository.getArchiveCheckpoint();
+        int resumedIndex = checkpoint == null ? -1 : statuses.indexOf(checkpoint.getStatus());
+        if (resumedIndex >= 0) {
+            log.info("Continuing the interrupted archival after applicant {} in status {}.",
+                    checkpoint.getCreditCardApplicantId(), checkpoint.getStatus());
+        }
+
+        long numberArchived = 0;
+        for (int i = Math.max(resumedIndex, 0); i < statuses.size(); i++) {
+            String afterId = i == resumedIndex ? checkpoint.getCreditCardApplicantId() : null;
+            numberArchived += archiveCreditCardApplications(statuses.get(i), afterId, updatedBefore, archive);
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Archival was interrupted in status {}, it continues with the next run.", statuses.get(i));
+                return;
+            }
+        }
+
+        creditCardApplicationRepository.saveArchiveCheckpoint(null);
+        lastCompletedRun.set(System.currentTimeMillis() / 1000);
+        log.info("Archived {} credit card applications.", numberArchived);
+    }
+
+    /**
+     * Method used to archive the credit card applications in the given status which are due, chunk by chunk.
+     * It stops early, with the interrupt flag of the thread set, when a pause between two chunks is interrupted.
+     *
+     * @param status        status in which credit card applications are archived
+     * @param afterId       applicant's ID after which the archival starts, {@code null} to start with the first one
+     * @param updatedBefore time before which the credit card applications must have been changed last
+     * @param archive       properties of the archival
+     * @return number of archived credit card applications
+     */
+    private long archiveCreditCardApplications(
+            Status status,
+            String afterId,
+            LocalDateTime updatedBefore,
+            CreditCardApiProperties.Archive archive
+    ) {
+        long numberArchived = 0;
+        List<String> ids;
+        do {
+            ids = creditCardApplicationRepository.getArchivableIds(afterId, status, updatedBefore, archive.getChunkSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            List<String> chunk = ids;
+            ArchiveCheckpoint checkpoint = ArchiveCheckpoint.builder()
+                    .status(status)
+                    .creditCardApplicantId(chunk.get(chunk.size() - 1))
+                    .build();
+            List<String> archivedIds = chunkTimer.record(() -> creditCardApplicationService.archiveCreditCardApplications(
+                    chunk, status, updatedBefore, checkpoint));
+            archivedCounter.increment(archivedIds.size());
+            numberArchived += archivedIds.size();
+            afterId = checkpoint.getCreditCardApplicantId();
+        } while (ids.size() == archive.getChunkSize() && pause(archive));
+
+        return numberArchived;
+    }
+
+    /**
+     * Method used to wait between two chunks
+     *
+     * @param archive properties of the archival
+     * @return true if the pause was not interrupted
+     */
+    private boolean pause(CreditCardApiProperties.Archive archive) {
+        if (archive.getPause().isZero()) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(archive.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,489 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.CreditCardApplicationEvent;
+import com.credit.card.api.entity.CreditCardApplicationEventType;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.exception.ServiceUnavailableException;
+import com.credit.card.api.repository.CreditCardApplicationChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publisher of the changes of the credit card applications to the subscribers of the Server-Sent Events feed.
+ * <p>
+ * Changes are received from {@link com.credit.card.api.repository.CreditCardApplicationRepository} after they are committed,
+ * numbered and kept in a bounded list of recent events, from which a subscriber reconnecting with the ID of the last
+ * event it received gets the events it missed. The IDs are only valid for the running instance; a subscriber with
+ * an unknown or too old ID is sent a {@code RESET} event instead.
+ * <p>
+ * Every subscriber has a bounded buffer which is sent from its own thread, so a slow subscriber never holds up
+ * the writes or the other subscribers. When the buffer is full the subscriber is either disconnected or
+ * its oldest events are dropped, depending on {@link CreditCardApiProperties.Events#getOverflowPolicy()}.
+ * Heartbeats are started from a thread of the publisher, so they never wait for the scheduled jobs or hold them up.
+ */
+@Slf4j
+@Component
+public class CreditCardApplicationEventPublisher implements CreditCardApplicationChangeListener {
+
+    private final CreditCardApiProperties.Events properties;
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<SequencedEvent> recentEvents = new ArrayDeque<>();
+    private final Object lock = new Object();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService heartbeatExecutor;
+    private final Counter droppedCounter;
+    private final Counter disconnectedCounter;
+    private long sequence;
+
+    /**
+     * Constructor for CreditCardApplicationEventPublisher
+     *
+     * @param creditCardApiProperties configurable properties of the API
+     * @param meterRegistry           registry the number of subscribers and overflows are published to
+     */
+    public CreditCardApplicationEventPublisher(CreditCardApiProperties creditCardApiProperties, MeterRegistry meterRegistry) {
+        this.properties = creditCardApiProperties.getEvents();
+        int maxSubscribers = properties.getMaxSubscribers();
+        // a thread for every subscriber, so that a subscriber which is slow to read never holds up the others
+        this.executor = new ThreadPoolExecutor(maxSubscribers, maxSubscribers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("credit-card-events-"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("credit-card-events-heartbeat-"));
+
+        meterRegistry.gaugeCollectionSize("credit.card.events.subscribers", Tags.empty(), subscribers);
+        this.droppedCounter = meterRegistry.counter("credit.card.events.dropped");
+        this.disconnectedCounter = meterRegistry.counter("credit.card.events.disconnected");
+    }
+
+    /**
+     * Method used to subscribe to the events of the credit card applications
+     *
+     * @param statuses    statuses of the credit card applications whose events are sent, empty for all statuses
+     * @param lastEventId ID of the last event the subscriber received before reconnecting, {@code null} for a new subscriber
+     * @return emitter sending the events
+     */
+    public SseEmitter subscribe(Set<Status> statuses, String lastEventId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            log.error("Subscriber rejected, {} subscribers are already connected.", subscribers.size());
+            throw new ServiceUnavailableException("Too many subscribers are connected, try again later.");
+        }
+
+        SseEmitter emitter = createEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, statuses);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        synchronized (lock) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(subscriber, lastEventId.strip());
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+
+        log.info("Subscriber connected with statuses {} after event {}.", statuses, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Method used to start sending heartbeats every {@link CreditCardApiProperties.Events#getHeartbeat()}
+     */
+    @PostConstruct
+    public void startHeartbeats() {
+        long heartbeat = properties.getHeartbeat().toMillis();
+        heartbeatExecutor.scheduleWithFixedDelay(this::sendHeartbeats, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method used to send a heartbeat to all subscribers, which keeps idle connections open
+     * and detects the subscribers which have gone away.
+     * The heartbeats are only queued here and sent from the threads of the subscribers.
+     */
+    public void sendHeartbeats() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    /**
+     * Method used to get the number of connected subscribers
+     *
+     * @return number of subscribers
+     */
+    public int getNumberOfSubscribers() {
+        return subscribers.size();
+    }
+
+    /**
+     * Method used to close all subscriptions when the application stops
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+        new ArrayList<>(subscribers).forEach(Subscriber::close);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void onAdded(CreditCardApplication creditCardApplication) {
+        publish(applicationEvent(CreditCardApplicationEventType.CREATED, creditCardApplication));
+    }
+
+    @Override
+    public void onSaved(CreditCardApplication creditCardApplication) {
+        publish(applicationEvent(CreditCardApplicationEventType.UPDATED, creditCardApplication));
+    }
+
+    @Override
+    public void onStatusChanged(Collection<String> ids, Status status) {
+        LocalDateTime occurredAt = LocalDateTime.now();
+        for (String id : ids) {
+            publish(CreditCardApplicationEvent.builder()
+                    .type(CreditCardApplicationEventType.UPDATED)
+                    .creditCardApplicantId(id)
+                    .creditCardApplicationStatus(status)
+                    .occurredAt(occurredAt)
+                    .build());
+        }
+    }
+
+    @Override
+    public void onStatusReplaced(Collection<Status> currentStatuses, Status status) {
+        publish(CreditCardApplicationEvent.builder()
+                .type(CreditCardApplicationEventType.STATUS_REPLACED)
+                .creditCardApplicationStatus(status)
+                .previousStatuses(List.copyOf(currentStatuses))
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Override
+    public void onDeleted(String id) {
+        publish(CreditCardApplicationEvent.builder()
+                .type(CreditCardApplicationEventType.DELETED)
+                .creditCardApplicantId(id)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Method used to create the emitter of a new subscriber
+     *
+     * @param timeout time in milliseconds after which the subscription is closed
+     * @return emitter
+     */
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    /**
+     * Method used to number an event, keep it for replay and hand it to the subscribers
+     *
+     * @param event event to publish
+     */
+    private void publish(CreditCardApplicationEvent event) {
+        List<Subscriber> overflowed = null;
+        synchronized (lock) {
+            SequencedEvent sequencedEvent = new SequencedEvent(++sequence, event);
+            recentEvents.addLast(sequencedEvent);
+            if (recentEvents.size() > properties.getReplaySize()) {
+                recentEvents.removeFirst();
+            }
+
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(sequencedEvent)) {
+                    if (overflowed == null) {
+                        overflowed = new ArrayList<>();
+                    }
+                    overflowed.add(subscriber);
+                }
+            }
+        }
+
+        if (overflowed != null) {
+            for (Subscriber subscriber : overflowed) {
+                log.warn("Subscriber is disconnected because it does not keep up with the events.");
+                disconnectedCounter.increment();
+                subscriber.close();
+            }
+        }
+    }
+
+    /**
+     * Method used to queue the recent events a reconnecting subscriber missed, or a {@code RESET} event
+     * if they are no longer all kept or do not fit into its buffer. Called while holding the lock.
+     *
+     * @param subscriber  reconnecting subscriber
+     * @param lastEventId ID of the last event the subscriber received
+     */
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long lastSequence = toSequence(lastEventId);
+        SequencedEvent oldest = recentEvents.peekFirst();
+        long oldestKept = oldest == null ? sequence + 1 : oldest.sequence;
+        if (lastSequence < 0 || lastSequence > sequence || lastSequence + 1 < oldestKept) {
+            log.warn("Subscriber reconnected after event {}, which is no longer kept, and is reset.", lastEventId);
+            subscriber.queue.offer(resetEvent(sequence));
+            return;
+        }
+
+        List<SequencedEvent> missed = new ArrayList<>();
+        for (SequencedEvent recentEvent : recentEvents) {
+            if (recentEvent.sequence > lastSequence && subscriber.matches(recentEvent.event)) {
+                missed.add(recentEvent);
+            }
+        }
+        if (missed.size() > properties.getBufferSize()) {
+            log.warn("Subscriber reconnected after event {} missed {} events, more than its buffer, and is reset.",
+                    lastEventId, missed.size());
+            subscriber.queue.offer(resetEvent(sequence));
+            return;
+        }
+        subscriber.queue.addAll(missed);
+    }
+
+    /**
+     * Method used to get the number of an event from its ID
+     *
+     * @param eventId ID of the event
+     * @return number of the event, {@code -1} if the ID was not given out by this instance
+     */
+    private long toSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(streamId)) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Method used to build the ID of an event, which is only valid for this instance until it stops
+     *
+     * @param sequence number of the event
+     * @return ID of the event
+     */
+    private String toEventId(long sequence) {
+        return streamId + "-" + sequence;
+    }
+
+    private static CreditCardApplicationEvent applicationEvent(
+            CreditCardApplicationEventType type,
+            CreditCardApplication creditCardApplication
+    ) {
+        return CreditCardApplicationEvent.builder()
+                .type(type)
+                .creditCardApplicantId(creditCardApplication.getCreditCardApplicantId())
+                .creditCardApplicationStatus(creditCardApplication.getCreditCardApplicationStatus())
+                .creditCardApplication(creditCardApplication)
+                .version(creditCardApplication.getVersion())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Method used to create a {@code RESET} event
+     *
+     * @param sequence number of the last event the subscriber is reset to
+     * @return reset event
+     */
+    private static SequencedEvent resetEvent(long sequence) {
+        return new SequencedEvent(sequence, CreditCardApplicationEvent.builder()
+                .type(CreditCardApplicationEventType.RESET)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Event with its number, which is increased by every published event
+     *
+     * @param sequence number of the event
+     * @param event    event
+     */
+    private record SequencedEvent(long sequence, CreditCardApplicationEvent event) {
+    }
+
+    /**
+     * Connected subscriber with its filter and its buffer of events waiting to be sent
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Status> statuses;
+        private final ArrayBlockingQueue<SequencedEvent> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicInteger dropped = new AtomicInteger();
+        // the first drain sends a comment, which commits the response so the client knows it is connected
+        private volatile boolean heartbeatDue = true;
+
+        private Subscriber(SseEmitter emitter, Set<Status> statuses) {
+            this.emitter = emitter;
+            this.statuses = statuses;
+            this.queue = new ArrayBlockingQueue<>(properties.getBufferSize() + 1);
+        }
+
+        /**
+         * Method used to check whether the subscriber is interested in an event.
+         * Deletions are sent to every subscriber, since the status of the deleted credit card application is not known.
+         *
+         * @param event event
+         * @return {@code true} if the event should be sent
+         */
+        private boolean matches(CreditCardApplicationEvent event) {
+            if (statuses.isEmpty()) {
+                return true;
+            }
+
+            return switch (event.getType()) {
+                case DELETED, RESET -> true;
+                case STATUS_REPLACED -> statuses.contains(event.getCreditCardApplicationStatus())
+                        || event.getPreviousStatuses().stream().anyMatch(statuses::contains);
+                default -> statuses.contains(event.getCreditCardApplicationStatus());
+            };
+        }
+
+        /**
+         * Method used to add an event to the buffer and to start sending it
+         *
+         * @param sequencedEvent event
+         * @return {@code false} if the buffer is full and the subscriber should be disconnected
+         */
+        private boolean offer(SequencedEvent sequencedEvent) {
+            if (closed.get() || !matches(sequencedEvent.event)) {
+                return true;
+            }
+
+            // one slot is kept free for a reset event of a reconnecting subscriber
+            boolean full = queue.size() >= properties.getBufferSize();
+            if (full && properties.getOverflowPolicy() == CreditCardApiProperties.OverflowPolicy.DISCONNECT) {
+                return false;
+            }
+            if (full && queue.poll() != null) {
+                dropped.incrementAndGet();
+                droppedCounter.increment();
+            }
+
+            queue.offer(sequencedEvent);
+            schedule();
+            return true;
+        }
+
+        /**
+         * Method used to send a heartbeat once the buffer is sent
+         */
+        private void heartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        /**
+         * Method used to start sending the buffer from the executor, unless it is already being sent
+         */
+        private void schedule() {
+            if (closed.get() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.warn("Subscriber is disconnected because its events cannot be sent.");
+                close();
+            }
+        }
+
+        /**
+         * Method used to send the buffered events and a pending heartbeat until there is nothing left to send
+         */
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    SequencedEvent sequencedEvent = queue.poll();
+                    if (sequencedEvent != null) {
+                        if (dropped.getAndSet(0) > 0) {
+                            send(resetEvent(sequencedEvent.sequence - 1));
+                        }
+                        send(sequencedEvent);
+                    } else if (heartbeatDue) {
+                        heartbeatDue = false;
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        scheduled.set(false);
+                        // an event offered after the last poll has to be sent by this thread or the one it scheduled
+                        if (queue.isEmpty() && !heartbeatDue || !scheduled.compareAndSet(false, true)) {
+                            return;
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.info("Subscriber went away: {}", e.getMessage());
+                close();
+            }
+        }
+
+        /**
+         * Method used to send a single event
+         *
+         * @param sequencedEvent event
+         * @throws IOException exception thrown if the client went away
+         */
+        private void send(SequencedEvent sequencedEvent) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(toEventId(sequencedEvent.sequence))
+                    .name(sequencedEvent.event.getType().name())
+                    .data(sequencedEvent.event, MediaType.APPLICATION_JSON));
+        }
+
+        /**
+         * Method used to close the subscription
+         */
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+
+            subscribers.remove(this);
+            queue.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                log.debug("Subscription was already completed: {}", e.getMessage());
+            }
+        }
+
+    }
+
+}
@@ -1,15 +1,60 @@
 package com.credit.card.api.service;
 
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.ArchiveCheckpoint;
+import com.credit.card.api.entity.BulkItemResult;
+import com.credit.card.api.entity.BulkItemStatus;
+import com.credit.card.api.entity.BulkStatusUpdateRequest;
+import com.credit.card.api.entity.BulkStatusUpdateResult;
+import com.credit.card.api.entity.CacheStatistics;
 import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.CreditCardApplicationPage;
+import com.credit.card.api.entity.CreditCardApplicationPatch;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.entity.UpsertResult;
 import com.credit.card.api.exception.DuplicateEntryException;
 import com.credit.card.api.exception.EntityNotFoundException;
+import com.credit.card.api.exception.PreconditionFailedException;
+import com.credit.card.api.index.ApplicantIdIndex;
+import com.credit.card.api.index.ApplicantNameIndex;
 import com.credit.card.api.repository.CreditCardApplicationRepository;
+import com.credit.card.api.util.TransactionUtils;
+import com.credit.card.api.validation.PersonalIdValidator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Credit Card Service
@@ -19,36 +64,198 @@ import java.util.List;
 public class CreditCardApplicationService {
 
     private final CreditCardApplicationRepository creditCardApplicationRepository;
+    private final CreditCardApiProperties creditCardApiProperties;
+    private final ObjectWriter exportWriter;
+    private final Validator validator;
+    private final Cache<String, CreditCardApplication> creditCardApplicationCache;
+    private final ApplicantIdIndex applicantIdIndex;
+    private final ApplicantNameIndex applicantNameIndex;
+    private final CreditCardApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for CreditCardService
      *
      * @param creditCardApplicationRepository repository for credit card applications
+     * @param creditCardApiProperties         configurable properties of the API
+     * @param objectMapper                    object mapper used to serialize exported applications
+     * @param validator                       validator used for items of bulk requests
+     * @param applicantIdIndex                in-memory index of applicant IDs
+     * @param applicantNameIndex              in-memory search index of applicant names and surnames
+     * @param eventPublisher                  publisher of the changes of credit card applications to subscribers
      */
-    public CreditCardApplicationService(CreditCardApplicationRepository creditCardApplicationRepository) {
+    public CreditCardApplicationService(
+            CreditCardApplicationRepository creditCardApplicationRepository,
+            CreditCardApiProperties creditCardApiProperties,
+            ObjectMapper objectMapper,
+            Validator validator,
+            ApplicantIdIndex applicantIdIndex,
+            ApplicantNameIndex applicantNameIndex,
+            CreditCardApplicationEventPublisher eventPublisher
+    ) {
         this.creditCardApplicationRepository = creditCardApplicationRepository;
+        this.creditCardApiProperties = creditCardApiProperties;
+        this.validator = validator;
+        this.applicantIdIndex = applicantIdIndex;
+        this.applicantNameIndex = applicantNameIndex;
+        this.eventPublisher = eventPublisher;
+
+        CreditCardApiProperties.Cache cache = creditCardApiProperties.getCache();
+        this.creditCardApplicationCache = !cache.isEnabled() ? null : Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats()
+                .build();
+        this.exportWriter = objectMapper.writerFor(CreditCardApplication.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
-     * Method used to get the list containing all credit card applications
+     * Method used to get a page of credit card applications
      *
-     * @return list of credit card applications
+     * @param limit        maximum number of credit card applications on the page, {@code null} for the default
+     * @param cursor       opaque cursor returned with the previous page, {@code null} for the first page
+     * @param statuses     values of the statuses the credit card applications must have, {@code null} or empty for all statuses
+     * @param includeTotal whether the total number of credit card applications should be counted
+     * @return page of credit card applications
      */
-    public List<CreditCardApplication> getCreditCardApplications() {
-        return creditCardApplicationRepository.getCreditCardApplications();
+    public CreditCardApplicationPage getCreditCardApplications(
+            Integer limit,
+            String cursor,
+            Collection<String> statuses,
+            boolean includeTotal
+    ) {
+        int pageSize = resolvePageSize(limit);
+        String afterId = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor);
+        Set<Status> resolvedStatuses = resolveStatuses(statuses);
+
+        // one extra row tells whether there is a next page without a separate query
+        List<CreditCardApplication> creditCardApplications =
+                creditCardApplicationRepository.getCreditCardApplications(afterId, resolvedStatuses, pageSize + 1);
+
+        String nextCursor = null;
+        if (creditCardApplications.size() > pageSize) {
+            creditCardApplications = new ArrayList<>(creditCardApplications.subList(0, pageSize));
+            nextCursor = encodeCursor(creditCardApplications.get(pageSize - 1).getCreditCardApplicantId());
+        }
+
+        return CreditCardApplicationPage.builder()
+                .content(creditCardApplications)
+                .nextCursor(nextCursor)
+                .totalCount(includeTotal ? creditCardApplicationRepository.countCreditCardApplications(resolvedStatuses) : null)
+                .build();
     }
 
     /**
-     * Method used to get a credit card application by the applicant's ID
+     * Method used to search credit card applications by the applicant's name or surname.
+     * When the in-memory name index is loaded, any word of the name or surname may start with the query and small typos are tolerated,
+     * with exact matches ranked first, then prefix matches and then matches with typos. Otherwise the database is searched
+     * for names and surnames starting with the query.
+     *
+     * @param query text the applicant's name or surname starts with
+     * @param limit maximum number of credit card applications, {@code null} for the default
+     * @return list of matching credit card applications, best matches first
+     */
+    public List<CreditCardApplication> searchCreditCardApplications(String query, Integer limit) {
+        if (query == null || query.isBlank() || query.length() > ApplicantNameIndex.MAX_QUERY_LENGTH) {
+            log.error("Search query is blank or too long.");
+            throw new IllegalArgumentException(
+                    "Search query must not be blank and must have at most " + ApplicantNameIndex.MAX_QUERY_LENGTH + " characters.");
+        }
+        int resolvedLimit = resolveSearchLimit(limit);
+
+        if (!applicantNameIndex.isLoaded()) {
+            return creditCardApplicationRepository.searchCreditCardApplicationsByName(query.strip(), resolvedLimit);
+        }
+
+        List<String> ids = applicantNameIndex.search(query, resolvedLimit);
+        Map<String, CreditCardApplication> creditCardApplicationsById = new HashMap<>();
+        creditCardApplicationRepository.getCreditCardApplicationsByPersonalIds(ids).forEach(creditCardApplication ->
+                creditCardApplicationsById.put(creditCardApplication.getCreditCardApplicantId(), creditCardApplication));
+
+        // the database returns the rows in its own order, the rank of the index decides
+        List<CreditCardApplication> creditCardApplications = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            CreditCardApplication creditCardApplication = creditCardApplicationsById.get(id);
+            if (creditCardApplication != null) {
+                creditCardApplications.add(creditCardApplication);
+            }
+        }
+
+        return creditCardApplications;
+    }
+
+    /**
+     * Method used to subscribe to the created, updated and deleted credit card applications.
+     * Deletions are sent regardless of the statuses, since the status of a deleted credit card application is not known.
+     *
+     * @param statuses    values of the statuses of the credit card applications to send events for, {@code null} or empty for all statuses
+     * @param lastEventId ID of the last event received before reconnecting, {@code null} for a new subscription
+     * @return emitter sending the events
+     */
+    public SseEmitter subscribeToCreditCardApplicationEvents(Collection<String> statuses, String lastEventId) {
+        return eventPublisher.subscribe(resolveStatuses(statuses), lastEventId);
+    }
+
+    /**
+     * Method used to get the revision of the credit card applications, which changes with every added, changed
+     * or deleted credit card application. It has to be read before the credit card applications it describes.
+     *
+     * @return revision of the credit card applications
+     */
+    public String getCreditCardApplicationsRevision() {
+        return creditCardApplicationRepository.getRevision();
+    }
+
+    /**
+     * Method used to export all credit card applications as newline-delimited JSON.
+     * Each application is written as soon as it is read from the database cursor,
+     * so memory usage does not depend on the number of applications. If the client
+     * disconnects, writing fails and the cursor is closed right away.
+     *
+     * @param outputStream stream the applications are written to
+     * @throws IOException exception thrown if writing to the stream fails
+     */
+    public void exportCreditCardApplications(OutputStream outputStream) throws IOException {
+        long numberOfExported = 0;
+
+        try (Stream<CreditCardApplication> creditCardApplications =
+                     creditCardApplicationRepository.streamCreditCardApplications();
+             JsonGenerator generator = exportWriter.createGenerator(outputStream)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            Iterator<CreditCardApplication> iterator = creditCardApplications.iterator();
+            while (iterator.hasNext()) {
+                exportWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                numberOfExported++;
+            }
+        } catch (IOException e) {
+            log.warn("Export of credit card applications stopped after {} applications: {}", numberOfExported, e.getMessage());
+            throw e;
+        }
+
+        log.info("Exported {} credit card applications.", numberOfExported);
+    }
+
+    /**
+     * Method used to get a credit card application by the applicant's ID.
+     * When the cache is enabled, the application is read from the database only on a cache miss.
      *
      * @param id applicant's ID
      * @return credit card application
      */
     public CreditCardApplication getCreditCardApplicationByPersonalId(String id) {
         validatePersonalId(id);
+        if (isKnownToBeMissing(id)) {
+            log.error("No credit card application with given personal ID was found.");
+            throw new EntityNotFoundException("No credit card application with given personal id was found.");
+        }
 
         try {
-            return creditCardApplicationRepository.getCreditCardApplicationByPersonalId(id);
+            if (creditCardApplicationCache == null) {
+                return creditCardApplicationRepository.getCreditCardApplicationByPersonalId(id);
+            }
+            return creditCardApplicationCache.get(id, creditCardApplicationRepository::getCreditCardApplicationByPersonalId);
         } catch (EmptyResultDataAccessException e) {
             log.error("No credit card application with given personal ID was found.");
             throw new EntityNotFoundException("No credit card application with given personal id was found.");
@@ -56,13 +263,41 @@ public class CreditCardApplicationService {
     }
 
     /**
-     * Method used to add a credit card application
+     * Method used to get the status of a credit card application by the applicant's ID.
+     * The status is read from the in-memory index when it is loaded, without querying the database.
+     *
+     * @param id applicant's ID
+     * @return status of the credit card application
+     */
+    public Status getCreditCardApplicationStatusByPersonalId(String id) {
+        if (!applicantIdIndex.isLoaded()) {
+            return getCreditCardApplicationByPersonalId(id).getCreditCardApplicationStatus();
+        }
+
+        validatePersonalId(id);
+        Status status = applicantIdIndex.getStatus(id);
+        if (status == null) {
+            log.error("No credit card application with given personal ID was found.");
+            throw new EntityNotFoundException("No credit card application with given personal id was found.");
+        }
+
+        return status;
+    }
+
+    /**
+     * Method used to add a credit card application.
+     * An applicant ID found in the index is confirmed in the database before the request is rejected as a duplicate.
      *
      * @param creditCardApplication credit card application to add
      * @return added credit card application
      */
     public CreditCardApplication addCreditCardApplication(CreditCardApplication creditCardApplication) {
         validatePersonalId(creditCardApplication.getCreditCardApplicantId());
+        if (mayExist(creditCardApplication.getCreditCardApplicantId()) && !creditCardApplicationRepository
+                .findExistingPersonalIds(List.of(creditCardApplication.getCreditCardApplicantId())).isEmpty()) {
+            log.error("Failed to add credit card application.");
+            throw new DuplicateEntryException("An entry with the given personal id already exists.");
+        }
 
         try {
             return creditCardApplicationRepository.addCreditCardApplication(creditCardApplication);
@@ -73,20 +308,112 @@ public class CreditCardApplicationService {
     }
 
     /**
-     * Method used to update a credit card application
+     * Method used to add a list of credit card applications.
+     * Items are validated in parallel and the valid ones are inserted in JDBC batches of the configured size.
+     * A duplicate or invalid item does not fail the whole request, its outcome is reported in its result instead.
+     *
+     * @param creditCardApplications credit card applications to add
+     * @return result for each credit card application, in the order of the request
+     */
+    public List<BulkItemResult> addCreditCardApplications(List<CreditCardApplication> creditCardApplications) {
+        validateBulkSize(creditCardApplications);
+
+        BulkItemResult[] results = new BulkItemResult[creditCardApplications.size()];
+        List<Integer> validIndexes = validateBulkItems(creditCardApplications, results);
+
+        int chunkSize = creditCardApiProperties.getBulk().getChunkSize();
+        for (int start = 0; start < validIndexes.size(); start += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(start, Math.min(start + chunkSize, validIndexes.size()));
+            addCreditCardApplicationsChunk(creditCardApplications, chunk, results);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Method used to add a credit card application or update it if it already exists, with a single statement
+     *
+     * @param creditCardApplication credit card application to add or update
+     * @return credit card application as it was written, and whether it was added
+     */
+    public UpsertResult upsertCreditCardApplication(CreditCardApplication creditCardApplication) {
+        validatePersonalId(creditCardApplication.getCreditCardApplicantId());
+
+        try {
+            return creditCardApplicationRepository.upsertCreditCardApplications(List.of(creditCardApplication)).get(0);
+        } finally {
+            evictFromCache(List.of(creditCardApplication.getCreditCardApplicantId()));
+        }
+    }
+
+    /**
+     * Method used to add a list of credit card applications or update those which already exist.
+     * Items are validated in parallel and the valid ones are written with one statement per chunk of the configured size,
+     * which also tells which of them already existed.
      *
+     * @param creditCardApplications credit card applications to add or update
+     * @return result for each credit card application, in the order of the request
+     */
+    public List<BulkItemResult> upsertCreditCardApplications(List<CreditCardApplication> creditCardApplications) {
+        validateBulkSize(creditCardApplications);
+
+        BulkItemResult[] results = new BulkItemResult[creditCardApplications.size()];
+        List<Integer> validIndexes = validateBulkItems(creditCardApplications, results);
+
+        int chunkSize = creditCardApiProperties.getBulk().getChunkSize();
+        for (int start = 0; start < validIndexes.size(); start += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(start, Math.min(start + chunkSize, validIndexes.size()));
+            List<CreditCardApplication> chunkApplications = chunk.stream().map(creditCardApplications::get).toList();
+
+            List<UpsertResult> upsertResults;
+            try {
+                upsertResults = creditCardApplicationRepository.upsertCreditCardApplications(chunkApplications);
+            } finally {
+                evictFromCache(chunkApplications.stream().map(CreditCardApplication::getCreditCardApplicantId).toList());
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = bulkItemResult(chunk.get(i), chunkApplications.get(i),
+                        upsertResults.get(i).isCreated() ? BulkItemStatus.CREATED : BulkItemStatus.UPDATED, null);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Method used to update a credit card application.
+     * When an expected version is given, the update fails instead of overwriting a change made after that version.
+     *
+     * @param id                    applicant's ID
      * @param creditCardApplication credit card application to update
+     * @param expectedVersion       version the credit card application must have, {@code null} to update any version
      * @return updated credit card application
      */
-    public CreditCardApplication updateCreditCardApplicationByPersonalId(String id, CreditCardApplication creditCardApplication) {
+    public CreditCardApplication updateCreditCardApplicationByPersonalId(
+            String id,
+            CreditCardApplication creditCardApplication,
+            Long expectedVersion
+    ) {
         validatePersonalId(creditCardApplication.getCreditCardApplicantId());
         if (!id.equals(creditCardApplication.getCreditCardApplicantId())) {
             log.error("Personal ID in the path and in the request body do not match.");
             throw new IllegalArgumentException("Personal ID in the path and in the request body do not match.");
         }
+        if (isKnownToBeMissing(id)) {
+            log.error("No credit card application with given personal ID was found.");
+            throw new EntityNotFoundException("No credit card application with given personal id was found.");
+        }
 
-        CreditCardApplication updatedCreditCardApplication =
-                creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication);
+        CreditCardApplication updatedCreditCardApplication;
+        try {
+            updatedCreditCardApplication =
+                    creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Credit card application was changed since version {}.", expectedVersion);
+            throw new PreconditionFailedException("The credit card application was changed since the given version.");
+        } finally {
+            evictFromCache(List.of(id));
+        }
         if (updatedCreditCardApplication == null) {
             log.error("No credit card application with given personal ID was found.");
             throw new EntityNotFoundException("No credit card application with given personal id was found.");
@@ -95,6 +422,94 @@ public class CreditCardApplicationService {
         return updatedCreditCardApplication;
     }
 
+    /**
+     * Method used to change only the given fields of a credit card application.
+     * When an expected version is given, the change fails instead of overwriting a change made after that version.
+     *
+     * @param id              applicant's ID
+     * @param patch           fields of the credit card application to change
+     * @param expectedVersion version the credit card application must have, {@code null} to update any version
+     * @return updated credit card application
+     */
+    public CreditCardApplication patchCreditCardApplicationByPersonalId(
+            String id,
+            CreditCardApplicationPatch patch,
+            Long expectedVersion
+    ) {
+        validatePersonalId(id);
+        if (patch == null || patch.isEmpty()) {
+            log.error("Patch of credit card application {} contains no fields.", id);
+            throw new IllegalArgumentException("Patch must contain at least one field to change.");
+        }
+        if (isKnownToBeMissing(id)) {
+            log.error("No credit card application with given personal ID was found.");
+            throw new EntityNotFoundException("No credit card application with given personal id was found.");
+        }
+
+        CreditCardApplication patchedCreditCardApplication;
+        try {
+            patchedCreditCardApplication =
+                    creditCardApplicationRepository.patchCreditCardApplicationByPersonalId(id, patch, expectedVersion);
+        } catch (OptimisticLockingFailureException e) {
+            log.error("Credit card application was changed since version {}.", expectedVersion);
+            throw new PreconditionFailedException("The credit card application was changed since the given version.");
+        } finally {
+            evictFromCache(List.of(id));
+        }
+        if (patchedCreditCardApplication == null) {
+            log.error("No credit card application with given personal ID was found.");
+            throw new EntityNotFoundException("No credit card application with given personal id was found.");
+        }
+
+        return patchedCreditCardApplication;
+    }
+
+    /**
+     * Method used to move credit card applications to a new status.
+     * Either the listed applications or all applications in one of the current statuses are moved,
+     * using set-based updates in a single transaction.
+     *
+     * @param bulkStatusUpdateRequest request describing which applications to move and the new status
+     * @return number of credit card applications whose status was changed
+     */
+    @Transactional
+    public BulkStatusUpdateResult updateCreditCardApplicationStatuses(BulkStatusUpdateRequest bulkStatusUpdateRequest) {
+        List<String> ids = bulkStatusUpdateRequest.getCreditCardApplicantIds();
+        List<Status> currentStatuses = bulkStatusUpdateRequest.getCurrentStatuses();
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasCurrentStatuses = currentStatuses != null && !currentStatuses.isEmpty();
+        if (hasIds == hasCurrentStatuses) {
+            log.error("Bulk status update does not select applications by exactly one criterion.");
+            throw new IllegalArgumentException("Either personal IDs or current statuses must be given, but not both.");
+        }
+
+        Status status = bulkStatusUpdateRequest.getStatus();
+        int updatedCount = 0;
+        if (hasCurrentStatuses) {
+            updatedCount = creditCardApplicationRepository.updateStatusByStatuses(new LinkedHashSet<>(currentStatuses), status);
+            evictAllFromCache();
+        } else {
+            validateBulkSize(ids);
+            ids.forEach(this::validatePersonalId);
+
+            List<String> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+            List<String> updatedIds = new ArrayList<>();
+            int chunkSize = creditCardApiProperties.getBulk().getChunkSize();
+            for (int start = 0; start < uniqueIds.size(); start += chunkSize) {
+                updatedIds.addAll(creditCardApplicationRepository.updateStatusByPersonalIds(
+                        uniqueIds.subList(start, Math.min(start + chunkSize, uniqueIds.size())), status));
+            }
+            updatedCount = updatedIds.size();
+            evictFromCache(updatedIds);
+        }
+
+        log.info("Moved {} credit card applications to status {}.", updatedCount, status);
+        return BulkStatusUpdateResult.builder()
+                .status(status)
+                .updatedCount(updatedCount)
+                .build();
+    }
+
     /**
      * Method used to delete a credit card application by the applicant's ID
      *
@@ -102,8 +517,13 @@ public class CreditCardApplicationService {
      */
     public void deleteCreditCardApplicationByPersonalId(String id) {
         validatePersonalId(id);
+        if (isKnownToBeMissing(id)) {
+            log.error("No credit card application with given personal ID was found.");
+            throw new EntityNotFoundException("No credit card application with given personal id was found.");
+        }
 
         int numberOfDeletedRecords = creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId(id);
+        evictFromCache(List.of(id));
 
         if (numberOfDeletedRecords == 0) {
             log.error("No credit card application with given personal ID was found.");
@@ -112,26 +532,351 @@ public class CreditCardApplicationService {
     }
 
     /**
-     * Method used to validate the personal ID
+     * Method used to move a chunk of credit card applications to the archive, if they still are in the given status
+     * and were not changed since the given time
      *
-     * @param id personal ID
+     * @param ids           applicant IDs of the credit card applications to archive
+     * @param status        status in which credit card applications can be archived
+     * @param updatedBefore time before which the credit card applications must have been changed last
+     * @param checkpoint    status and applicant's ID after which the archival continues
+     * @return applicant IDs of the archived credit card applications
      */
-    private void validatePersonalId(String id) {
-        if (id == null || id.isEmpty()) {
-            log.error("Personal ID is null or empty.");
-            throw new IllegalArgumentException("Personal ID is null or empty.");
+    public List<String> archiveCreditCardApplications(
+            List<String> ids,
+            Status status,
+            LocalDateTime updatedBefore,
+            ArchiveCheckpoint checkpoint
+    ) {
+        try {
+            return creditCardApplicationRepository.archiveCreditCardApplications(
+                    ids, status, updatedBefore, LocalDateTime.now(), checkpoint);
+        } finally {
+            evictFromCache(ids);
         }
+    }
+
+    /**
+     * Method used to get the statistics of the credit card application cache
+     *
+     * @return cache statistics
+     */
+    public CacheStatistics getCacheStatistics() {
+        if (creditCardApplicationCache == null) {
+            return CacheStatistics.builder().enabled(false).build();
+        }
+
+        CacheStats stats = creditCardApplicationCache.stats();
+        return CacheStatistics.builder()
+                .enabled(true)
+                .size(creditCardApplicationCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    /**
+     * Method used to check whether the in-memory index shows that a credit card application may exist.
+     * The index is updated after the commit on the thread of each writer, so when an add and a delete of the same
+     * applicant commit close together, the add can reach the index last and leave the ID of a deleted application in it.
+     * A hit is therefore only a hint which has to be confirmed in the database.
+     *
+     * @param id applicant's ID
+     * @return {@code true} if the index is loaded and contains the applicant's ID
+     */
+    private boolean mayExist(String id) {
+        return applicantIdIndex.isLoaded() && applicantIdIndex.contains(id);
+    }
+
+    /**
+     * Method used to check whether the in-memory index shows that a credit card application does not exist
+     *
+     * @param id applicant's ID
+     * @return {@code true} if the index is loaded and does not contain the applicant's ID
+     */
+    private boolean isKnownToBeMissing(String id) {
+        return applicantIdIndex.isLoaded() && !applicantIdIndex.contains(id);
+    }
+
+    /**
+     * Method used to remove credit card applications from the cache.
+     * Inside a transaction the removal happens after the commit, so that a concurrent lookup
+     * cannot put the old state back into the cache before the change becomes visible.
+     *
+     * @param ids applicants' IDs
+     */
+    private void evictFromCache(Collection<String> ids) {
+        if (creditCardApplicationCache != null) {
+            TransactionUtils.runAfterCommit(() -> creditCardApplicationCache.invalidateAll(ids));
+        }
+    }
+
+    /**
+     * Method used to remove all credit card applications from the cache
+     */
+    private void evictAllFromCache() {
+        if (creditCardApplicationCache != null) {
+            TransactionUtils.runAfterCommit(creditCardApplicationCache::invalidateAll);
+        }
+    }
+
+    /**
+     * Method used to add a chunk of valid credit card applications in a single batch.
+     * When the index is loaded, only the applicant IDs it contains are checked in the database.
+     * If another request adds one of the applications in the meantime, the batch is rolled back
+     * and the chunk is added one application at a time, so that only the duplicate fails.
+     *
+     * @param creditCardApplications credit card applications of the bulk request
+     * @param chunk                  indexes of the credit card applications to add
+     * @param results                results of the bulk request
+     */
+    private void addCreditCardApplicationsChunk(
+            List<CreditCardApplication> creditCardApplications,
+            List<Integer> chunk,
+            BulkItemResult[] results
+    ) {
+        List<String> candidateIds = chunk.stream()
+                .map(index -> creditCardApplications.get(index).getCreditCardApplicantId())
+                .filter(id -> !applicantIdIndex.isLoaded() || applicantIdIndex.contains(id))
+                .toList();
+        Set<String> existingIds = candidateIds.isEmpty()
+                ? Set.of() : creditCardApplicationRepository.findExistingPersonalIds(candidateIds);
+
+        List<Integer> newIndexes = new ArrayList<>();
+        for (Integer index : chunk) {
+            if (existingIds.contains(creditCardApplications.get(index).getCreditCardApplicantId())) {
+                results[index] = bulkItemResult(index, creditCardApplications.get(index), BulkItemStatus.DUPLICATE,
+                        "An entry with the given personal id already exists.");
+            } else {
+                newIndexes.add(index);
+            }
+        }
+
+        if (newIndexes.isEmpty()) {
+            return;
+        }
+
+        try {
+            creditCardApplicationRepository.addCreditCardApplications(
+                    newIndexes.stream().map(creditCardApplications::get).toList());
+            newIndexes.forEach(index ->
+                    results[index] = bulkItemResult(index, creditCardApplications.get(index), BulkItemStatus.CREATED, null));
+        } catch (DuplicateKeyException e) {
+            log.warn("Batch insert failed because of a concurrently added entry, adding the chunk one by one.");
+            for (Integer index : newIndexes) {
+                try {
+                    creditCardApplicationRepository.addCreditCardApplication(creditCardApplications.get(index));
+                    results[index] = bulkItemResult(index, creditCardApplications.get(index), BulkItemStatus.CREATED, null);
+                } catch (DuplicateKeyException ex) {
+                    results[index] = bulkItemResult(index, creditCardApplications.get(index), BulkItemStatus.DUPLICATE,
+                            "An entry with the given personal id already exists.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Method used to validate a single item of a bulk request
+     *
+     * @param index                 index of the item in the request
+     * @param creditCardApplication credit card application
+     * @return result describing why the item is invalid, {@code null} if the item is valid
+     */
+    private BulkItemResult validateBulkItem(int index, CreditCardApplication creditCardApplication) {
+        if (creditCardApplication == null) {
+            return bulkItemResult(index, null, BulkItemStatus.INVALID, "Credit card application is required.");
+        }
+
+        Set<ConstraintViolation<CreditCardApplication>> violations = validator.validate(creditCardApplication);
+        if (!violations.isEmpty()) {
+            return bulkItemResult(index, creditCardApplication, BulkItemStatus.INVALID,
+                    violations.stream().map(ConstraintViolation::getMessage).sorted().toList().toString());
+        }
+
+        try {
+            validatePersonalId(creditCardApplication.getCreditCardApplicantId());
+        } catch (IllegalArgumentException e) {
+            return bulkItemResult(index, creditCardApplication, BulkItemStatus.INVALID, e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Method used to validate the items of a bulk request in parallel and to find the items whose personal ID is repeated
+     *
+     * @param creditCardApplications items of the bulk request
+     * @param results                results of the items, filled in for the invalid and repeated items
+     * @return indexes of the valid items, in the order of the request
+     */
+    private List<Integer> validateBulkItems(List<CreditCardApplication> creditCardApplications, BulkItemResult[] results) {
+        IntStream.range(0, results.length).parallel()
+                .forEach(index -> results[index] = validateBulkItem(index, creditCardApplications.get(index)));
+
+        Set<String> requestedIds = new HashSet<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int index = 0; index < results.length; index++) {
+            if (results[index] != null) {
+                continue;
+            }
 
-        id = id.trim();
+            if (requestedIds.add(creditCardApplications.get(index).getCreditCardApplicantId())) {
+                validIndexes.add(index);
+            } else {
+                results[index] = bulkItemResult(index, creditCardApplications.get(index), BulkItemStatus.DUPLICATE,
+                        "The personal id is repeated in the request.");
+            }
+        }
+
+        return validIndexes;
+    }
+
+    /**
+     * Method used to validate the number of items of a bulk request
+     *
+     * @param items items of the bulk request
+     */
+    private void validateBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            log.error("Bulk request is empty.");
+            throw new IllegalArgumentException("Bulk request must contain at least one item.");
+        }
 
-        if (id.length() != 11) {
-            log.error("Personal ID is not 11 characters long.");
-            throw new IllegalArgumentException("Personal ID is not 11 characters long.");
+        int maxItems = creditCardApiProperties.getBulk().getMaxItems();
+        if (items.size() > maxItems) {
+            log.error("Bulk request contains {} items.", items.size());
+            throw new IllegalArgumentException("Bulk request must not contain more than " + maxItems + " items.");
         }
+    }
+
+    /**
+     * Method used to build the result of a single item of a bulk request
+     *
+     * @param index                 index of the item in the request
+     * @param creditCardApplication credit card application
+     * @param status                outcome of the item
+     * @param message               message describing the outcome
+     * @return result of the item
+     */
+    private BulkItemResult bulkItemResult(
+            int index,
+            CreditCardApplication creditCardApplication,
+            BulkItemStatus status,
+            String message
+    ) {
+        return BulkItemResult.builder()
+                .index(index)
+                .creditCardApplicantId(creditCardApplication == null ? null : creditCardApplication.getCreditCardApplicantId())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Method used to resolve the requested page size
+     *
+     * @param limit requested page size
+     * @return page size
+     */
+    private int resolvePageSize(Integer limit) {
+        CreditCardApiProperties.Pagination pagination = creditCardApiProperties.getPagination();
+        if (limit == null) {
+            return pagination.getDefaultPageSize();
+        }
+
+        if (limit < 1 || limit > pagination.getMaxPageSize()) {
+            log.error("Page size {} is out of range.", limit);
+            throw new IllegalArgumentException("Page size must be between 1 and " + pagination.getMaxPageSize() + ".");
+        }
+
+        return limit;
+    }
+
+    /**
+     * Method used to resolve the number of search results from the requested limit
+     *
+     * @param limit requested limit, {@code null} for the default
+     * @return number of search results
+     */
+    private int resolveSearchLimit(Integer limit) {
+        CreditCardApiProperties.Search search = creditCardApiProperties.getSearch();
+        if (limit == null) {
+            return search.getDefaultLimit();
+        }
+
+        if (limit < 1 || limit > search.getMaxLimit()) {
+            log.error("Search limit {} is out of range.", limit);
+            throw new IllegalArgumentException("Search limit must be between 1 and " + search.getMaxLimit() + ".");
+        }
+
+        return limit;
+    }
+
+    /**
+     * Method used to resolve the requested statuses from their values, ignoring blank values
+     *
+     * @param statuses values of the requested statuses
+     * @return requested statuses, empty if no status was requested
+     */
+    private Set<Status> resolveStatuses(Collection<String> statuses) {
+        Set<Status> resolvedStatuses = EnumSet.noneOf(Status.class);
+        if (statuses == null) {
+            return resolvedStatuses;
+        }
+
+        for (String status : statuses) {
+            if (status == null || status.isBlank()) {
+                continue;
+            }
+            try {
+                resolvedStatuses.add(Status.fromValue(status.trim()));
+            } catch (IllegalArgumentException e) {
+                log.error("Status {} is invalid.", status);
+                throw new IllegalArgumentException("Status " + status + " is invalid.");
+            }
+        }
+
+        return resolvedStatuses;
+    }
+
+    /**
+     * Method used to encode the applicant's ID into an opaque cursor
+     *
+     * @param id applicant's ID
+     * @return cursor
+     */
+    private String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Method used to decode the applicant's ID from an opaque cursor
+     *
+     * @param cursor cursor
+     * @return applicant's ID
+     */
+    private String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            log.error("Cursor {} is invalid.", cursor);
+            throw new IllegalArgumentException("Cursor is invalid.");
+        }
+    }
+
+    /**
+     * Method used to validate the personal ID
+     *
+     * @param id personal ID
+     */
+    private void validatePersonalId(String id) {
+        PersonalIdValidator.Result result =
+                PersonalIdValidator.validate(id, creditCardApiProperties.getValidation().isVerifyCheckDigit());
 
-        if (!id.matches("[0-9]+")) {
-            log.error("Personal ID contains non-numeric characters.");
-            throw new IllegalArgumentException("Personal ID contains non-numeric characters.");
+        if (result != PersonalIdValidator.Result.VALID) {
+            log.error(result.getMessage());
+            throw new IllegalArgumentException(result.getMessage());
         }
     }
 }
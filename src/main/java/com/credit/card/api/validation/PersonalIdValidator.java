@@ -0,0 +1,131 @@
+package com.credit.card.api.validation;
+
+/**
+ * Validator for personal IDs (OIB).
+ * <p>
+ * A personal ID consists of 11 digits, the last of which is a check digit calculated
+ * with the ISO 7064 MOD 11,10 algorithm over the first 10 digits. The validator checks
+ * the ID in a single pass over its characters and does not allocate any objects,
+ * so it is cheap enough to run on every request and on every item of a bulk request.
+ * Leading and trailing whitespace is ignored, the same way {@link String#trim()} would ignore it.
+ */
+public final class PersonalIdValidator {
+
+    /**
+     * Number of digits in a personal ID
+     */
+    public static final int LENGTH = 11;
+
+    /**
+     * Outcome of the validation of a personal ID
+     */
+    public enum Result {
+        VALID(null),
+        EMPTY("Personal ID is null or empty."),
+        WRONG_LENGTH("Personal ID is not 11 characters long."),
+        NON_NUMERIC("Personal ID contains non-numeric characters."),
+        INVALID_CHECK_DIGIT("Personal ID has an invalid check digit.");
+
+        private final String message;
+
+        /**
+         * Constructor for Result
+         *
+         * @param message message describing why the personal ID is invalid
+         */
+        Result(String message) {
+            this.message = message;
+        }
+
+        /**
+         * Method to get the message describing why the personal ID is invalid
+         *
+         * @return message, {@code null} for a valid personal ID
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private PersonalIdValidator() {
+    }
+
+    /**
+     * Method to validate a personal ID including its check digit
+     *
+     * @param id personal ID
+     * @return result of the validation
+     */
+    public static Result validate(CharSequence id) {
+        return validate(id, true);
+    }
+
+    /**
+     * Method to validate a personal ID
+     *
+     * @param id               personal ID
+     * @param verifyCheckDigit whether the check digit should be verified
+     * @return result of the validation
+     */
+    public static Result validate(CharSequence id, boolean verifyCheckDigit) {
+        if (id == null || id.length() == 0) {
+            return Result.EMPTY;
+        }
+
+        int start = 0;
+        int end = id.length();
+        while (start < end && id.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && id.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        if (end - start != LENGTH) {
+            return Result.WRONG_LENGTH;
+        }
+
+        int remainder = 10;
+        boolean numeric = true;
+        for (int i = start; i < end - 1; i++) {
+            int digit = id.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                numeric = false;
+                break;
+            }
+
+            // remainder stays within 1..10, so the modulo operations reduce to a single subtraction
+            remainder += digit;
+            if (remainder > 10) {
+                remainder -= 10;
+            }
+            remainder *= 2;
+            if (remainder > 10) {
+                remainder -= 11;
+            }
+        }
+
+        int checkDigit = id.charAt(end - 1) - '0';
+        if (!numeric || checkDigit < 0 || checkDigit > 9) {
+            return Result.NON_NUMERIC;
+        }
+
+        int expectedCheckDigit = (11 - remainder) % 10;
+        if (verifyCheckDigit && checkDigit != expectedCheckDigit) {
+            return Result.INVALID_CHECK_DIGIT;
+        }
+
+        return Result.VALID;
+    }
+
+    /**
+     * Method to check whether a personal ID is valid including its check digit
+     *
+     * @param id personal ID
+     * @return {@code true} if the personal ID is valid
+     */
+    public static boolean isValid(CharSequence id) {
+        return validate(id, true) == Result.VALID;
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.index.ApplicantNameIndex;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark of searching a million applicants by name with the in-memory name index, compared with scanning all names.
+ * Names and surnames are made up of syllables and drawn with a Zipf distribution, like real names,
+ * from 2000 names and 100000 surnames.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ApplicantNameIndexBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int NAMES = 2_000;
+    private static final int SURNAMES = 100_000;
+    private static final int LIMIT = 20;
+    private static final String[] SYLLABLES = {"ma", "ri", "jo", "ko", "va", "ne", "lu", "pe", "ta", "ni", "ho", "ra",
+            "bi", "ce", "dra", "go", "ki", "sla", "vi", "zo", "ić", "šk", "nov", "tin"};
+
+    /**
+     * Kind of the query: a short prefix of many names, a whole surname, a surname with a transposition
+     * and a long surname with two typos
+     */
+    @Param({"prefix", "exact", "typo", "typos"})
+    private String kind;
+
+    private ApplicantNameIndex applicantNameIndex;
+    private String[] names;
+    private String[] surnames;
+    private String query;
+
+    /**
+     * Creates the applicants and loads them into the index.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] nameTerms = terms(random, NAMES, 2);
+        String[] surnameTerms = terms(random, SURNAMES, 3);
+        double[] nameWeights = zipf(NAMES);
+        double[] surnameWeights = zipf(SURNAMES);
+
+        names = new String[ROWS];
+        surnames = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            names[i] = nameTerms[draw(random, nameWeights)];
+            surnames[i] = surnameTerms[draw(random, surnameWeights)];
+        }
+
+        CreditCardApplicationRepository creditCardApplicationRepository = new CreditCardApplicationRepository(
+                null, null, null, null) {
+            @Override
+            public void loadApplicantNames(Consumer<CreditCardApplication> consumer) {
+                for (int i = 0; i < ROWS; i++) {
+                    consumer.accept(CreditCardApplication.builder()
+                            .creditCardApplicantId(String.format("%011d", 10_000_000_000L + i))
+                            .creditCardApplicantName(names[i])
+                            .creditCardApplicantSurname(surnames[i])
+                            .build());
+                }
+            }
+        };
+        applicantNameIndex = new ApplicantNameIndex(creditCardApplicationRepository, new CreditCardApiProperties());
+        applicantNameIndex.afterSingletonsInstantiated();
+
+        String surname = surnameTerms[SURNAMES / 2];
+        query = switch (kind) {
+            case "prefix" -> nameTerms[0].substring(0, 2);
+            case "exact" -> surname;
+            case "typo" -> surname.substring(0, 2) + surname.charAt(3) + surname.charAt(2) + surname.substring(4);
+            default -> {
+                String longSurname = longest(surnameTerms);
+                yield longSurname.substring(0, 3) + "x" + longSurname.substring(4, 7) + longSurname.substring(8);
+            }
+        };
+    }
+
+    /**
+     * Search with the index.
+     *
+     * @return matching applicant IDs
+     */
+    @Benchmark
+    public List<String> index() {
+        return applicantNameIndex.search(query, LIMIT);
+    }
+
+    /**
+     * Search by comparing the start of every name and surname, which only finds prefix matches.
+     *
+     * @return positions of the matching applicants
+     */
+    @Benchmark
+    public List<Integer> scan() {
+        String prefix = query.toLowerCase(Locale.ROOT);
+        List<Integer> matches = new ArrayList<>(LIMIT);
+        for (int i = 0; i < ROWS && matches.size() < LIMIT; i++) {
+            if (names[i].toLowerCase(Locale.ROOT).startsWith(prefix) || surnames[i].toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                matches.add(i);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Makes up distinct capitalized terms from syllables.
+     *
+     * @param random    random number generator
+     * @param count     number of terms
+     * @param syllables minimum number of syllables of a term
+     * @return terms
+     */
+    private static String[] terms(Random random, int count, int syllables) {
+        Set<String> terms = new LinkedHashSet<>();
+        while (terms.size() < count) {
+            StringBuilder term = new StringBuilder();
+            int length = syllables + random.nextInt(3);
+            for (int i = 0; i < length; i++) {
+                term.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            terms.add(Character.toUpperCase(term.charAt(0)) + term.substring(1));
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    /**
+     * Computes the cumulative weights of a Zipf distribution.
+     *
+     * @param count number of values
+     * @return cumulative weights, the last one being 1
+     */
+    private static double[] zipf(int count) {
+        double[] weights = new double[count];
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += 1.0 / (i + 1);
+            weights[i] = sum;
+        }
+        for (int i = 0; i < count; i++) {
+            weights[i] /= sum;
+        }
+        return weights;
+    }
+
+    /**
+     * Draws a value from a distribution given by its cumulative weights.
+     *
+     * @param random  random number generator
+     * @param weights cumulative weights
+     * @return drawn value
+     */
+    private static int draw(Random random, double[] weights) {
+        int index = Arrays.binarySearch(weights, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, weights.length - 1);
+    }
+
+    /**
+     * Finds the longest term.
+     *
+     * @param terms terms
+     * @return longest term
+     */
+    private static String longest(String[] terms) {
+        String longest = terms[0];
+        for (String term : terms) {
+            if (term.length() > longest.length()) {
+                longest = term;
+            }
+        }
+        return longest;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.security.AccessTokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the BCrypt comparison of the password, which HTTP Basic pays on every request,
+ * with the verification of a bearer token issued by {@link AccessTokenService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    private AccessTokenService accessTokenService;
+    private String accessToken;
+
+    /**
+     * Encodes the password and issues the token.
+     */
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder();
+        encodedPassword = passwordEncoder.encode("password");
+
+        accessTokenService = new AccessTokenService(new CreditCardApiProperties());
+        accessToken = accessTokenService.createAccessToken(new UsernamePasswordAuthenticationToken(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER"))).getAccessToken();
+    }
+
+    /**
+     * Password checked the way HTTP Basic checks it on every request.
+     *
+     * @return whether the password matches
+     */
+    @Benchmark
+    public boolean bcryptPassword() {
+        return passwordEncoder.matches("password", encodedPassword);
+    }
+
+    /**
+     * Bearer token checked the way {@code BearerTokenAuthenticationFilter} checks it on every request.
+     *
+     * @return authentication restored from the token
+     */
+    @Benchmark
+    public Optional<Authentication> bearerToken() {
+        return accessTokenService.verifyAccessToken(accessToken);
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.config.RestTemplateConfig;
+import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.entity.Status;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the pooled client used for the card issuer with a bare {@link RestTemplate},
+ * which uses {@code HttpURLConnection} and keeps at most 5 idle connections per host alive.
+ * Card requests are sent to a local stub of the card issuer, which has Nagle's algorithm disabled,
+ * so that delayed ACKs do not dominate the latency. Run with more than 5 threads ({@code -t}) to
+ * also see the effect of the limit on idle connections of {@code HttpURLConnection}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class CardIssuerClientBenchmark {
+
+    private static final byte[] RESPONSE = "{\"cardRequestId\":\"42\"}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String url;
+    private NewCardRequest newCardRequest;
+
+    private RestTemplate defaultRestTemplate;
+    private RestTemplate pooledRestTemplate;
+    private ClientHttpRequestFactory pooledRequestFactory;
+
+    /**
+     * Starts the stub of the card issuer and creates the clients.
+     *
+     * @throws IOException if the stub cannot be started
+     */
+    @Setup
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(32);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(serverExecutor);
+        server.createContext("/card-request", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        server.start();
+
+        url = "http://localhost:" + server.getAddress().getPort() + "/card-request";
+        newCardRequest = NewCardRequest.builder()
+                .oib("12345678903")
+                .firstName("John")
+                .lastName("Doe")
+                .status(Status.PENDING)
+                .build();
+
+        defaultRestTemplate = new RestTemplate();
+        pooledRequestFactory = RestTemplateConfig.createRequestFactory(new CreditCardApiProperties.CardRequest());
+        pooledRestTemplate = new RestTemplate(pooledRequestFactory);
+    }
+
+    /**
+     * Closes the clients and stops the stub of the card issuer.
+     *
+     * @throws Exception if the pooled client cannot be closed
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        if (pooledRequestFactory instanceof DisposableBean disposableBean) {
+            disposableBean.destroy();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    /**
+     * Card request sent the way it was sent before the pooled client was introduced.
+     *
+     * @return response body
+     */
+    @Benchmark
+    public String defaultClient() {
+        return defaultRestTemplate.postForObject(url, newCardRequest, String.class);
+    }
+
+    /**
+     * Card request sent through the pooled client with the default settings.
+     *
+     * @return response body
+     */
+    @Benchmark
+    public String pooledClient() {
+        return pooledRestTemplate.postForObject(url, newCardRequest, String.class);
+    }
+
+}
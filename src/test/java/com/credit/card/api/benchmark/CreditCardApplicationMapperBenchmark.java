@@ -0,0 +1,59 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.mapper.CreditCardApplicationMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link CreditCardApplicationMapper#toNewCardRequest(CreditCardApplication)},
+ * which runs for every card request recorded in the outbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditCardApplicationMapperBenchmark {
+
+    private CreditCardApplicationMapper creditCardApplicationMapper;
+    private CreditCardApplication creditCardApplication;
+
+    /**
+     * Creates the mapper and the credit card application.
+     */
+    @Setup
+    public void setUp() {
+        creditCardApplicationMapper = CreditCardApplicationMapper.INSTANCE;
+        creditCardApplication = CreditCardApplication.builder()
+                .creditCardApplicantId("12345678903")
+                .creditCardApplicantName("John")
+                .creditCardApplicantSurname("Doe")
+                .creditCardApplicationStatus(Status.APPROVED)
+                .build();
+    }
+
+    /**
+     * Credit card application mapped to a card request.
+     *
+     * @return card request
+     */
+    @Benchmark
+    public NewCardRequest toNewCardRequest() {
+        return creditCardApplicationMapper.toNewCardRequest(creditCardApplication);
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.repository.CreditCardApplicationChangeListener;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import liquibase.integration.spring.SpringLiquibase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the queries of {@link CreditCardApplicationRepository} and its row mapper against an in-memory H2 database
+ * created by the Liquibase changelog of the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditCardApplicationRepositoryBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"50", "500"})
+    private int limit;
+
+    private SingleConnectionDataSource dataSource;
+    private CreditCardApplicationRepository creditCardApplicationRepository;
+
+    /**
+     * Creates the database and fills it with credit card applications.
+     *
+     * @throws Exception if the changelog cannot be applied
+     */
+    @Setup
+    public void setUp() throws Exception {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "sa", "", true);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/changelog-root.json");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        JdbcClient jdbcClient = JdbcClient.create(dataSource);
+        creditCardApplicationRepository = new CreditCardApplicationRepository(jdbcClient, jdbcClient,
+                new NamedParameterJdbcTemplate(dataSource),
+                new DefaultListableBeanFactory().getBeanProvider(CreditCardApplicationChangeListener.class));
+
+        Status[] statuses = Status.values();
+        List<CreditCardApplication> creditCardApplications = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            creditCardApplications.add(CreditCardApplication.builder()
+                    .creditCardApplicantId(id(i))
+                    .creditCardApplicantName("John" + i)
+                    .creditCardApplicantSurname("Doe" + i)
+                    .creditCardApplicationStatus(statuses[i % statuses.length])
+                    .build());
+        }
+        creditCardApplicationRepository.addCreditCardApplications(creditCardApplications);
+    }
+
+    /**
+     * Drops the database.
+     */
+    @TearDown
+    public void tearDown() {
+        JdbcClient.create(dataSource).sql("SHUTDOWN").update();
+        dataSource.destroy();
+    }
+
+    /**
+     * Page of credit card applications read and mapped from the middle of the table.
+     *
+     * @return credit card applications
+     */
+    @Benchmark
+    public List<CreditCardApplication> getCreditCardApplications() {
+        return creditCardApplicationRepository.getCreditCardApplications(id(ROWS / 2), null, limit);
+    }
+
+    /**
+     * Single credit card application read and mapped by the applicant's ID.
+     *
+     * @return credit card application
+     */
+    @Benchmark
+    public CreditCardApplication getCreditCardApplicationByPersonalId() {
+        return creditCardApplicationRepository.getCreditCardApplicationByPersonalId(id(ROWS / 3));
+    }
+
+    /**
+     * Builds a sequential 11 digit applicant ID.
+     *
+     * @param i sequence number
+     * @return applicant ID
+     */
+    private static String id(int i) {
+        return String.format("%011d", 10_000_000_000L + i);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.config.MessageConverterConfig;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark of the Jackson serialization of lists of credit card applications, as written for a page of
+ * credit card applications, with object mappers configured like the ones of Spring MVC for JSON, CBOR and Smile,
+ * each also compressed with gzip. The size of the payloads is printed when the benchmark is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditCardApplicationSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int size;
+
+    /**
+     * Format the credit card applications are written in
+     */
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectWriter objectWriter;
+    private List<CreditCardApplication> creditCardApplications;
+
+    /**
+     * Creates the object writer and the credit card applications.
+     *
+     * @throws IOException if the credit card applications cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> MessageConverterConfig.createCborObjectMapper(Jackson2ObjectMapperBuilder.json());
+            case "smile" -> MessageConverterConfig.createSmileObjectMapper(Jackson2ObjectMapperBuilder.json());
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        objectWriter = objectMapper.writerFor(
+                objectMapper.getTypeFactory().constructCollectionType(List.class, CreditCardApplication.class));
+
+        Status[] statuses = Status.values();
+        creditCardApplications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            creditCardApplications.add(CreditCardApplication.builder()
+                    .creditCardApplicantId(String.format("%011d", 10_000_000_000L + i))
+                    .creditCardApplicantName("John" + i)
+                    .creditCardApplicantSurname("Doe" + i)
+                    .creditCardApplicationStatus(statuses[i % statuses.length])
+                    .build());
+        }
+
+        System.out.printf("%n%s, %d applications: %d bytes, %d bytes compressed%n",
+                format, size, writeList().length, writeListCompressed().length);
+    }
+
+    /**
+     * Credit card applications written as an array.
+     *
+     * @return written bytes
+     * @throws JsonProcessingException if the credit card applications cannot be written
+     */
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return objectWriter.writeValueAsBytes(creditCardApplications);
+    }
+
+    /**
+     * Credit card applications written as an array and compressed with gzip, as sent to clients which accept it.
+     *
+     * @return compressed bytes
+     * @throws IOException if the credit card applications cannot be written
+     */
+    @Benchmark
+    public byte[] writeListCompressed() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            objectWriter.writeValue(gzipOutputStream, creditCardApplications);
+        }
+        return outputStream.toByteArray();
+    }
+
+}
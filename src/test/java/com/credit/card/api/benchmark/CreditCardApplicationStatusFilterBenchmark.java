@@ -0,0 +1,116 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.repository.CreditCardApplicationChangeListener;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import liquibase.integration.spring.SpringLiquibase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of paging through the credit card applications with a rare status in a table of a million applications,
+ * with and without the index on the status. One in 4000 applications is on hold, the others are pending, approved or rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class CreditCardApplicationStatusFilterBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private SingleConnectionDataSource dataSource;
+    private CreditCardApplicationRepository creditCardApplicationRepository;
+    private Set<Status> statuses;
+
+    /**
+     * Creates the database and fills it with credit card applications.
+     *
+     * @throws Exception if the changelog cannot be applied
+     */
+    @Setup
+    public void setUp() throws Exception {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:statusFilterBenchmark;DB_CLOSE_DELAY=-1", "sa", "", true);
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/changelog-root.json");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        JdbcClient jdbcClient = JdbcClient.create(dataSource);
+        jdbcClient.sql("INSERT INTO credit_card_application (credit_card_applicant_name, credit_card_applicant_surname,"
+                        + " credit_card_applicant_id, credit_card_application_status)"
+                        + " SELECT CONCAT('John', X), CONCAT('Doe', X), CAST(10000000000 + X AS CHAR(11)),"
+                        + " CASE WHEN MOD(X, 4000) = 0 THEN :onHold ELSE MOD(X, 3) + 1 END"
+                        + " FROM SYSTEM_RANGE(1, :rows) ")
+                .param("onHold", Status.ON_HOLD.getCode())
+                .param("rows", ROWS)
+                .update();
+        if (!indexed) {
+            jdbcClient.sql("DROP INDEX idx_credit_card_application_status").update();
+        }
+        jdbcClient.sql("ANALYZE").update();
+
+        creditCardApplicationRepository = new CreditCardApplicationRepository(jdbcClient, jdbcClient,
+                new NamedParameterJdbcTemplate(dataSource),
+                new DefaultListableBeanFactory().getBeanProvider(CreditCardApplicationChangeListener.class));
+        statuses = Set.of(Status.ON_HOLD);
+    }
+
+    /**
+     * Drops the database.
+     */
+    @TearDown
+    public void tearDown() {
+        JdbcClient.create(dataSource).sql("SHUTDOWN").update();
+        dataSource.destroy();
+    }
+
+    /**
+     * All pages of the credit card applications which are on hold.
+     *
+     * @return number of credit card applications read
+     */
+    @Benchmark
+    public int pageThroughStatus() {
+        int count = 0;
+        String afterId = null;
+        List<CreditCardApplication> page;
+        do {
+            page = creditCardApplicationRepository.getCreditCardApplications(afterId, statuses, PAGE_SIZE);
+            count += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getCreditCardApplicantId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return count;
+    }
+
+}
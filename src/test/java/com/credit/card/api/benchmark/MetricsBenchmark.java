@@ -0,0 +1,144 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.config.MetricsConfig;
+import com.credit.card.api.config.RepositoryTimerAspect;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the overhead the metrics add to a request: a repository method called through the
+ * {@link RepositoryTimerAspect} proxy with a Prometheus histogram, compared with the same method called directly,
+ * and the increment of the error counter of {@code GlobalExceptionHandler}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private PrometheusMeterRegistry meterRegistry;
+    private Repository repository;
+    private Repository timedRepository;
+    private Repository timedAspectRepository;
+    private Timer timer;
+    private IllegalArgumentException exception;
+
+    /**
+     * Repository standing in for the repositories of the application.
+     */
+    @Timed(MetricsConfig.REPOSITORY_TIMER)
+    public static class Repository {
+
+        /**
+         * Method standing in for a query.
+         *
+         * @param id applicant's ID
+         * @return length of the ID
+         */
+        public int find(String id) {
+            return id.length();
+        }
+    }
+
+    /**
+     * Creates the registry with histograms enabled for the repository timer and the proxied repository.
+     */
+    @Setup
+    public void setUp() {
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+
+        repository = new Repository();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Repository());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new RepositoryTimerAspect(meterRegistry));
+        timedRepository = proxyFactory.getProxy();
+
+        AspectJProxyFactory timedAspectProxyFactory = new AspectJProxyFactory(new Repository());
+        timedAspectProxyFactory.setProxyTargetClass(true);
+        timedAspectProxyFactory.addAspect(new TimedAspect(meterRegistry));
+        timedAspectRepository = timedAspectProxyFactory.getProxy();
+
+        timer = Timer.builder(MetricsConfig.REPOSITORY_TIMER).tag("class", "Repository").tag("method", "record")
+                .register(meterRegistry);
+
+        exception = new IllegalArgumentException("Personal ID is not 11 characters long.");
+    }
+
+    /**
+     * Repository method called directly.
+     *
+     * @return result of the method
+     */
+    @Benchmark
+    public int direct() {
+        return repository.find("12345678903");
+    }
+
+    /**
+     * Repository method timed by a timer which is already registered, without the proxy.
+     *
+     * @return result of the method
+     */
+    @Benchmark
+    public int recorded() {
+        return timer.record(() -> repository.find("12345678903"));
+    }
+
+    /**
+     * Repository method called through a proxy with the {@link TimedAspect} of Micrometer.
+     *
+     * @return result of the method
+     */
+    @Benchmark
+    public int timedAspect() {
+        return timedAspectRepository.find("12345678903");
+    }
+
+    /**
+     * Repository method called through the timed proxy.
+     *
+     * @return result of the method
+     */
+    @Benchmark
+    public int timed() {
+        return timedRepository.find("12345678903");
+    }
+
+    /**
+     * Error counted the way {@code GlobalExceptionHandler} counts it.
+     */
+    @Benchmark
+    public void errorCounter() {
+        meterRegistry.counter(MetricsConfig.ERROR_COUNTER,
+                "exception", exception.getClass().getSimpleName(),
+                "status", String.valueOf(400)).increment();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.validation.PersonalIdValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing {@link PersonalIdValidator} with the regex based validation it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonalIdValidatorBenchmark {
+
+    @Param({"12345678903", " 12345678903 ", "1234567890a"})
+    private String id;
+
+    /**
+     * Validation done by {@code CreditCardApplicationService} before the validator was introduced:
+     * trims the ID and matches it against a regex, which is compiled again on every call.
+     *
+     * @return whether the personal ID is valid
+     */
+    @Benchmark
+    public boolean regexValidation() {
+        if (id == null || id.isEmpty()) {
+            return false;
+        }
+
+        String trimmed = id.trim();
+        return trimmed.length() == 11 && trimmed.matches("[0-9]+");
+    }
+
+    /**
+     * Single pass validation including the check digit.
+     *
+     * @return result of the validation
+     */
+    @Benchmark
+    public PersonalIdValidator.Result personalIdValidator() {
+        return PersonalIdValidator.validate(id);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.credit.card.api.benchmark;
+
+import com.credit.card.api.entity.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link Status#fromValue(String)}, which runs for every status in a request body,
+ * and {@link Status#fromCode(int)}, which runs for every row read from the database.
+ * The first and last status and a status in another case are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusBenchmark {
+
+    @Param({"Pending", "Requires Follow Up", "under review"})
+    private String value;
+
+    private short code;
+
+    /**
+     * Looks up the code of the measured status.
+     */
+    @Setup
+    public void setUp() {
+        code = Status.fromValue(value).getCode();
+    }
+
+    /**
+     * Status looked up by its value.
+     *
+     * @return status
+     */
+    @Benchmark
+    public Status fromValue() {
+        return Status.fromValue(value);
+    }
+
+    /**
+     * Status looked up by its code.
+     *
+     * @return status
+     */
+    @Benchmark
+    public Status fromCode() {
+        return Status.fromCode(code);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.credit.card.api.config;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.Status;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the class {@link MessageConverterConfig}.
+ */
+class MessageConverterConfigTest extends AbstractUnitTest {
+
+    private final MessageConverterConfig messageConverterConfig = new MessageConverterConfig();
+
+    /**
+     * Test for {@link MessageConverterConfig#createCborObjectMapper(Jackson2ObjectMapperBuilder)}.
+     * Method creates an object mapper which writes and reads back credit card applications.
+     */
+    @Test
+    void testCreateCborObjectMapperWorksCorrectly() throws IOException {
+        ObjectMapper objectMapper = MessageConverterConfig.createCborObjectMapper(Jackson2ObjectMapperBuilder.json());
+        List<CreditCardApplication> creditCardApplications = creditCardApplications(3);
+
+        List<CreditCardApplication> readCreditCardApplications = objectMapper.readValue(
+                objectMapper.writeValueAsBytes(creditCardApplications), new TypeReference<>() {
+                });
+
+        assertEquals(creditCardApplications.toString(), readCreditCardApplications.toString());
+        assertTrue(messageConverterConfig.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                .canWrite(CreditCardApplication.class, MediaType.valueOf("application/cbor")));
+    }
+
+    /**
+     * Test for {@link MessageConverterConfig#createSmileObjectMapper(Jackson2ObjectMapperBuilder)}.
+     * Method creates an object mapper which writes repeated property names and statuses only once,
+     * so a page is much smaller than in JSON, and reads it back.
+     */
+    @Test
+    void testCreateSmileObjectMapperWorksCorrectly() throws IOException {
+        ObjectMapper objectMapper = MessageConverterConfig.createSmileObjectMapper(Jackson2ObjectMapperBuilder.json());
+        List<CreditCardApplication> creditCardApplications = creditCardApplications(100);
+
+        byte[] smile = objectMapper.writeValueAsBytes(creditCardApplications);
+        byte[] json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(creditCardApplications);
+        List<CreditCardApplication> readCreditCardApplications = objectMapper.readValue(smile, new TypeReference<>() {
+        });
+
+        assertEquals(creditCardApplications.toString(), readCreditCardApplications.toString());
+        assertTrue(smile.length * 3 < json.length, smile.length + " bytes of Smile, " + json.length + " bytes of JSON");
+        assertTrue(messageConverterConfig.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                .canWrite(CreditCardApplication.class, MediaType.valueOf("application/x-jackson-smile")));
+    }
+
+    /**
+     * Builds credit card applications with sequential personal IDs and repeating statuses.
+     *
+     * @param count number of credit card applications
+     * @return credit card applications
+     */
+    private static List<CreditCardApplication> creditCardApplications(int count) {
+        Status[] statuses = {Status.PENDING, Status.APPROVED, Status.APPROVED_PENDING_ACTIVATION};
+        List<CreditCardApplication> creditCardApplications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            creditCardApplications.add(CreditCardApplication.builder()
+                    .creditCardApplicantId(String.format("%011d", 10_000_000_000L + i))
+                    .creditCardApplicantName("Ivan")
+                    .creditCardApplicantSurname("Horvat" + i)
+                    .creditCardApplicationStatus(statuses[i % statuses.length])
+                    .build());
+        }
+        return creditCardApplications;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.credit.card.api.config;
+
+import com.credit.card.api.AbstractUnitTest;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the class {@link RepositoryTimerAspect}.
+ */
+class RepositoryTimerAspectTest extends AbstractUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Repository repository;
+
+    /**
+     * Repository used to test the aspect.
+     */
+    @Timed(MetricsConfig.REPOSITORY_TIMER)
+    public static class Repository {
+
+        /**
+         * Method which completes normally.
+         *
+         * @param id applicant's ID
+         * @return the ID
+         */
+        public String find(String id) {
+            return id;
+        }
+
+        /**
+         * Method which throws an exception.
+         *
+         * @param id applicant's ID
+         */
+        public void delete(String id) {
+            throw new IllegalArgumentException("No credit card application found for id: " + id);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Repository());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new RepositoryTimerAspect(meterRegistry));
+        repository = proxyFactory.getProxy();
+    }
+
+    /**
+     * Test for {@link RepositoryTimerAspect#time(org.aspectj.lang.ProceedingJoinPoint)}.
+     * Method works correctly when the timed method completes normally.
+     */
+    @Test
+    void testTimeWorksCorrectly() {
+        assertEquals("12345678903", repository.find("12345678903"));
+        assertEquals("12345678911", repository.find("12345678911"));
+
+        Timer timer = meterRegistry.get(MetricsConfig.REPOSITORY_TIMER)
+                .tag("class", Repository.class.getName())
+                .tag("method", "find")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    /**
+     * Test for {@link RepositoryTimerAspect#time(org.aspectj.lang.ProceedingJoinPoint)}.
+     * Method works correctly when the timed method throws an exception.
+     */
+    @Test
+    void testTimeWorksCorrectlyWhenMethodThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> repository.delete("12345678903"));
+
+        Timer timer = meterRegistry.get(MetricsConfig.REPOSITORY_TIMER)
+                .tag("method", "delete")
+                .tag("exception", "IllegalArgumentException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.credit.card.api.controller;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.entity.AccessToken;
+import com.credit.card.api.security.AccessTokenService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the class {@link AccessTokenController}.
+ */
+class AccessTokenControllerTest extends AbstractUnitTest {
+
+    @InjectMocks
+    private AccessTokenController accessTokenController;
+
+    @Mock
+    private AccessTokenService accessTokenService;
+
+    /**
+     * Test for {@link AccessTokenController#createAccessToken(Authentication)}.
+     * Method works correctly when the user is authenticated with the username and password.
+     */
+    @Test
+    void testCreateAccessTokenWorksCorrectly() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        AccessToken accessToken = AccessToken.builder().accessToken("token").tokenType("Bearer").expiresIn(900).build();
+        when(accessTokenService.createAccessToken(authentication)).thenReturn(accessToken);
+
+        ResponseEntity<AccessToken> response = accessTokenController.createAccessToken(authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(accessToken, response.getBody());
+    }
+
+    /**
+     * Test for {@link AccessTokenController#createAccessToken(Authentication)}.
+     * Method works correctly when the user is authenticated with a bearer token.
+     */
+    @Test
+    void testCreateAccessTokenWorksCorrectlyWhenAuthenticatedWithToken() {
+        Authentication authentication = new PreAuthenticatedAuthenticationToken(
+                "user", "token", AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        assertThrows(AccessDeniedException.class, () -> accessTokenController.createAccessToken(authentication));
+
+        verifyNoInteractions(accessTokenService);
+    }
+
+}
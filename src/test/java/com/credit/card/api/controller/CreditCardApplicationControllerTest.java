@@ -1,26 +1,57 @@
 package com.credit.card.api.controller;
 
 import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.entity.BulkItemResult;
+import com.credit.card.api.entity.BulkItemStatus;
+import com.credit.card.api.entity.BulkStatusUpdateRequest;
+import com.credit.card.api.entity.BulkStatusUpdateResult;
+import com.credit.card.api.entity.CacheStatistics;
+import com.credit.card.api.entity.CardRequest;
+import com.credit.card.api.entity.CardRequestStatus;
 import com.credit.card.api.entity.CreditCardApplication;
-import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.entity.CreditCardApplicationPage;
+import com.credit.card.api.entity.CreditCardApplicationPatch;
 import com.credit.card.api.entity.Status;
-import com.credit.card.api.mapper.CreditCardApplicationMapper;
-import com.credit.card.api.service.CardRequestService;
+import com.credit.card.api.entity.UpsertResult;
+import com.credit.card.api.exception.PreconditionFailedException;
+import com.credit.card.api.service.CardRequestOutboxService;
 import com.credit.card.api.service.CreditCardApplicationService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -34,13 +65,11 @@ class CreditCardApplicationControllerTest extends AbstractUnitTest {
     @Mock
     private CreditCardApplicationService creditCardApplicationService;
     @Mock
-    private CardRequestService cardRequestService;
-    @Mock
-    private CreditCardApplicationMapper creditCardApplicationMapper;
+    private CardRequestOutboxService cardRequestOutboxService;
 
     private CreditCardApplication creditCardApplication;
-    private List<CreditCardApplication> creditCardApplications;
-    private NewCardRequest newCardRequest;
+    private CreditCardApplicationPage creditCardApplicationPage;
+    private CardRequest cardRequest;
 
     /**
      * Initializes the test data.
@@ -52,31 +81,146 @@ class CreditCardApplicationControllerTest extends AbstractUnitTest {
                 .creditCardApplicantName("John")
                 .creditCardApplicantSurname("Doe")
                 .creditCardApplicationStatus(Status.APPROVED)
+                .version(5L)
                 .build();
 
-        creditCardApplications = Collections.singletonList(creditCardApplication);
+        creditCardApplicationPage = CreditCardApplicationPage.builder()
+                .content(Collections.singletonList(creditCardApplication))
+                .build();
 
-        newCardRequest = NewCardRequest.builder()
-                .oib("12345678901")
-                .firstName("John")
-                .lastName("Doe")
-                .status(Status.APPROVED)
+        cardRequest = CardRequest.builder()
+                .cardRequestId(1L)
+                .creditCardApplicantId("12345678901")
+                .status(CardRequestStatus.PENDING)
                 .build();
     }
 
     /**
-     * Test for {@link CreditCardApplicationController#getCreditCardApplications()}.
-     * The method should return a list of credit card applications.
+     * Clears the request bound to the thread.
+     */
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#getCreditCardApplications(Integer, String, List, boolean, WebRequest)}.
+     * The method should return a page of credit card applications with the revision as its weak ETag, varying by the Accept header.
      */
     @Test
     void testGetCreditCardApplicationsWorksCorrectly() {
-        when(creditCardApplicationService.getCreditCardApplications()).thenReturn(creditCardApplications);
+        when(creditCardApplicationService.getCreditCardApplicationsRevision()).thenReturn("lx3k2-42");
+        when(creditCardApplicationService.getCreditCardApplications(10, "cursor", List.of("Pending"), true))
+                .thenReturn(creditCardApplicationPage);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/credit/card/applications");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"41\"");
+
+        ResponseEntity<CreditCardApplicationPage> response = creditCardApplicationController.getCreditCardApplications(
+                10, "cursor", List.of("Pending"), true, new ServletWebRequest(request, new MockHttpServletResponse()));
+
+        verify(creditCardApplicationService, times(1)).getCreditCardApplications(10, "cursor", List.of("Pending"), true);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("W/\"lx3k2-42\"", response.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+        assertEquals(creditCardApplicationPage, response.getBody());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#getCreditCardApplications(Integer, String, List, boolean, WebRequest)}.
+     * The method should answer with 304 without reading the page when the client's copy has the current revision.
+     */
+    @Test
+    void testGetCreditCardApplicationsWorksCorrectlyWhenNotModified() {
+        when(creditCardApplicationService.getCreditCardApplicationsRevision()).thenReturn("lx3k2-42");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/credit/card/applications");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"lx3k2-42\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<CreditCardApplicationPage> response = creditCardApplicationController.getCreditCardApplications(
+                10, null, null, false, new ServletWebRequest(request, servletResponse));
+
+        verify(creditCardApplicationService, never()).getCreditCardApplications(any(), any(), any(), anyBoolean());
+        assertNull(response);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        assertEquals("W/\"lx3k2-42\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    }
 
-        ResponseEntity<List<CreditCardApplication>> response = creditCardApplicationController.getCreditCardApplications();
+    /**
+     * Test for {@link CreditCardApplicationController#exportCreditCardApplications()}.
+     * The method should return a body which streams the credit card applications.
+     */
+    @Test
+    void testExportCreditCardApplicationsWorksCorrectly() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = creditCardApplicationController.exportCreditCardApplications();
 
-        verify(creditCardApplicationService, times(1)).getCreditCardApplications();
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(creditCardApplications, response.getBody());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertNotNull(response.getBody());
+
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        verify(creditCardApplicationService, times(1)).exportCreditCardApplications(any());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#searchCreditCardApplications(String, Integer)}.
+     * The method should return the credit card applications matching the query.
+     */
+    @Test
+    void testSearchCreditCardApplicationsWorksCorrectly() {
+        when(creditCardApplicationService.searchCreditCardApplications("Jon", 5)).thenReturn(List.of(creditCardApplication));
+
+        ResponseEntity<List<CreditCardApplication>> response =
+                creditCardApplicationController.searchCreditCardApplications("Jon", 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(creditCardApplication), response.getBody());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#subscribeToCreditCardApplicationEvents(List, String, HttpServletRequest)}.
+     * The method should return the emitter of the subscription with the given statuses and last event ID.
+     */
+    @Test
+    void testSubscribeToCreditCardApplicationEventsWorksCorrectly() {
+        SseEmitter emitter = new SseEmitter();
+        when(creditCardApplicationService.subscribeToCreditCardApplicationEvents(List.of("Pending"), "abc-7"))
+                .thenReturn(emitter);
+
+        assertEquals(emitter, creditCardApplicationController.subscribeToCreditCardApplicationEvents(
+                List.of("Pending"), "abc-7", new MockHttpServletRequest()));
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#subscribeToCreditCardApplicationEvents(List, String, HttpServletRequest)}.
+     * The method should not subscribe again when the container dispatches a closed subscription as an error.
+     */
+    @Test
+    void testSubscribeToCreditCardApplicationEventsWorksCorrectlyWhenDispatchedAsError() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setDispatcherType(DispatcherType.ERROR);
+
+        assertNull(creditCardApplicationController.subscribeToCreditCardApplicationEvents(null, null, request));
+        verifyNoInteractions(creditCardApplicationService);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#getCacheStatistics()}.
+     * The method should return the statistics of the credit card application cache.
+     */
+    @Test
+    void testGetCacheStatisticsWorksCorrectly() {
+        CacheStatistics cacheStatistics = CacheStatistics.builder()
+                .enabled(true)
+                .hitCount(3)
+                .missCount(1)
+                .build();
+        when(creditCardApplicationService.getCacheStatistics()).thenReturn(cacheStatistics);
+
+        ResponseEntity<CacheStatistics> response = creditCardApplicationController.getCacheStatistics();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(cacheStatistics, response.getBody());
     }
 
     /**
@@ -94,9 +238,26 @@ class CreditCardApplicationControllerTest extends AbstractUnitTest {
         verify(creditCardApplicationService, times(1))
                 .getCreditCardApplicationByPersonalId("12345678901");
         assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
         assertEquals(creditCardApplication, response.getBody());
     }
 
+    /**
+     * Test for {@link CreditCardApplicationController#getCreditCardApplicationStatusByPersonalId(String)}.
+     * The method should return the status of a credit card application by the personal ID.
+     */
+    @Test
+    void testGetCreditCardApplicationStatusByPersonalIdWorksCorrectly() {
+        when(creditCardApplicationService.getCreditCardApplicationStatusByPersonalId("12345678901"))
+                .thenReturn(Status.APPROVED);
+
+        ResponseEntity<Status> response =
+                creditCardApplicationController.getCreditCardApplicationStatusByPersonalId("12345678901");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Status.APPROVED, response.getBody());
+    }
+
     /**
      * Test for {@link CreditCardApplicationController#addCreditCardApplication(CreditCardApplication)}.
      * The method should add a credit card application.
@@ -116,23 +277,195 @@ class CreditCardApplicationControllerTest extends AbstractUnitTest {
     }
 
     /**
-     * Test for {@link CreditCardApplicationController#updateCreditCardApplicationByPersonalId(String, CreditCardApplication)}.
+     * Test for {@link CreditCardApplicationController#addCreditCardApplications(List)}.
+     * The method should return the result of each added credit card application.
+     */
+    @Test
+    void testAddCreditCardApplicationsWorksCorrectly() {
+        List<BulkItemResult> results = List.of(BulkItemResult.builder()
+                .index(0)
+                .creditCardApplicantId("12345678901")
+                .status(BulkItemStatus.CREATED)
+                .build());
+        when(creditCardApplicationService.addCreditCardApplications(List.of(creditCardApplication)))
+                .thenReturn(results);
+
+        ResponseEntity<List<BulkItemResult>> response =
+                creditCardApplicationController.addCreditCardApplications(List.of(creditCardApplication));
+
+        verify(creditCardApplicationService, times(1)).addCreditCardApplications(List.of(creditCardApplication));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#upsertCreditCardApplication(CreditCardApplication)}.
+     * The method should answer with 201 when the credit card application was created and with 200 when it was updated.
+     */
+    @Test
+    void testUpsertCreditCardApplicationWorksCorrectly() {
+        when(creditCardApplicationService.upsertCreditCardApplication(creditCardApplication))
+                .thenReturn(UpsertResult.builder().creditCardApplication(creditCardApplication).created(true).build())
+                .thenReturn(UpsertResult.builder().creditCardApplication(creditCardApplication).created(false).build());
+
+        ResponseEntity<CreditCardApplication> created = creditCardApplicationController.upsertCreditCardApplication(creditCardApplication);
+        ResponseEntity<CreditCardApplication> updated = creditCardApplicationController.upsertCreditCardApplication(creditCardApplication);
+
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertEquals(HttpStatus.OK, updated.getStatusCode());
+        assertEquals(creditCardApplication, updated.getBody());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#upsertCreditCardApplications(List)}.
+     * The method should create or update a list of credit card applications.
+     */
+    @Test
+    void testUpsertCreditCardApplicationsWorksCorrectly() {
+        List<BulkItemResult> results = List.of(BulkItemResult.builder()
+                .index(0)
+                .creditCardApplicantId("12345678901")
+                .status(BulkItemStatus.UPDATED)
+                .build());
+        when(creditCardApplicationService.upsertCreditCardApplications(List.of(creditCardApplication)))
+                .thenReturn(results);
+
+        ResponseEntity<List<BulkItemResult>> response =
+                creditCardApplicationController.upsertCreditCardApplications(List.of(creditCardApplication));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, String)}.
      * The method should update a credit card application by the personal ID.
      */
     @Test
     void testUpdateCreditCardApplicationByPersonalIdWorksCorrectly() {
-        when(creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication))
+        when(creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, 4L))
                 .thenReturn(creditCardApplication);
 
         ResponseEntity<CreditCardApplication> response =
-                creditCardApplicationController.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication);
+                creditCardApplicationController.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, "\"4\"");
 
         verify(creditCardApplicationService, times(1))
-                .updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication);
+                .updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, 4L);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(creditCardApplication, response.getBody());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#patchCreditCardApplicationByPersonalId(String, CreditCardApplicationPatch, String)}.
+     * The method should change the given fields of a credit card application by the personal ID.
+     */
+    @Test
+    void testPatchCreditCardApplicationByPersonalIdWorksCorrectly() {
+        CreditCardApplicationPatch patch = CreditCardApplicationPatch.builder()
+                .creditCardApplicationStatus(Status.APPROVED)
+                .build();
+        when(creditCardApplicationService.patchCreditCardApplicationByPersonalId("12345678901", patch, 4L))
+                .thenReturn(creditCardApplication);
+
+        ResponseEntity<CreditCardApplication> response =
+                creditCardApplicationController.patchCreditCardApplicationByPersonalId("12345678901", patch, "\"4\"");
+
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(creditCardApplication, response.getBody());
     }
 
+    /**
+     * Test for {@link CreditCardApplicationController#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, String)}.
+     * The method should update any version when the If-Match header is missing or matches any ETag.
+     */
+    @Test
+    void testUpdateCreditCardApplicationByPersonalIdWorksCorrectlyWithoutVersion() {
+        when(creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, null))
+                .thenReturn(creditCardApplication);
+
+        creditCardApplicationController.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, null);
+        creditCardApplicationController.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, "*");
+
+        verify(creditCardApplicationService, times(2))
+                .updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, null);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, String)}.
+     * The method should accept the ETag of the credit card application written in CBOR or Smile in the If-Match header.
+     */
+    @Test
+    void testUpdateCreditCardApplicationByPersonalIdWorksCorrectlyWithBinaryFormatIfMatch() {
+        when(creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, 4L))
+                .thenReturn(creditCardApplication);
+
+        creditCardApplicationController.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, "\"4-cbor\"");
+        creditCardApplicationController.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, "\"4-smile\"");
+
+        verify(creditCardApplicationService, times(2))
+                .updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication, 4L);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, String)}.
+     * The method should reject an If-Match header which is not a single strong ETag of a credit card application.
+     */
+    @Test
+    void testUpdateCreditCardApplicationByPersonalIdWorksCorrectlyWithInvalidIfMatch() {
+        for (String ifMatch : List.of("4", "\"a\"", "\"4\", \"5\"", "\"\"", "\"4-xml\"", "\"-cbor\"")) {
+            IllegalArgumentException illegalArgumentException = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> creditCardApplicationController.updateCreditCardApplicationByPersonalId(
+                            "12345678901", creditCardApplication, ifMatch),
+                    ifMatch
+            );
+            assertEquals("If-Match header must hold a single strong ETag of the credit card application.",
+                    illegalArgumentException.getMessage());
+        }
+
+        verifyNoInteractions(creditCardApplicationService);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, String)}.
+     * The method should fail the precondition for a weak ETag, which never matches in an If-Match header.
+     */
+    @Test
+    void testUpdateCreditCardApplicationByPersonalIdWorksCorrectlyWithWeakIfMatch() {
+        PreconditionFailedException preconditionFailedException = assertThrows(
+                PreconditionFailedException.class,
+                () -> creditCardApplicationController.updateCreditCardApplicationByPersonalId(
+                        "12345678901", creditCardApplication, "W/\"4\"")
+        );
+
+        assertEquals("A weak ETag never matches the credit card application.", preconditionFailedException.getMessage());
+        verifyNoInteractions(creditCardApplicationService);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#updateCreditCardApplicationStatuses(BulkStatusUpdateRequest)}.
+     * The method should return the number of credit card applications whose status was changed.
+     */
+    @Test
+    void testUpdateCreditCardApplicationStatusesWorksCorrectly() {
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(Status.APPROVED)
+                .currentStatuses(List.of(Status.UNDER_REVIEW))
+                .build();
+        BulkStatusUpdateResult result = BulkStatusUpdateResult.builder()
+                .status(Status.APPROVED)
+                .updatedCount(3)
+                .build();
+        when(creditCardApplicationService.updateCreditCardApplicationStatuses(request)).thenReturn(result);
+
+        ResponseEntity<BulkStatusUpdateResult> response =
+                creditCardApplicationController.updateCreditCardApplicationStatuses(request);
+
+        verify(creditCardApplicationService, times(1)).updateCreditCardApplicationStatuses(request);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
     /**
      * Test for {@link CreditCardApplicationController#deleteCreditCardApplicationByPersonalId(String)}.
      * Method should delete a credit card application by the personal ID.
@@ -152,24 +485,37 @@ class CreditCardApplicationControllerTest extends AbstractUnitTest {
 
     /**
      * Test for {@link CreditCardApplicationController#findByPersonalIdAndSendCardRequest(String)}.
-     * Method should send a card request for a person.
+     * The method should record a card request and accept it with the location of its status.
      */
     @Test
     void testFindByPersonalIdAndSendCardRequestWorksCorrectly() {
-        when(creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678901"))
-                .thenReturn(creditCardApplication);
-        when(creditCardApplicationMapper.toNewCardRequest(creditCardApplication)).thenReturn(newCardRequest);
-        when(cardRequestService.sendCardRequest(newCardRequest)).thenReturn(ResponseEntity.ok("Test"));
+        MockHttpServletRequest request =
+                new MockHttpServletRequest("POST", "/credit/card/applications/send-card-request/12345678901");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(cardRequestOutboxService.addCardRequest("12345678901")).thenReturn(cardRequest);
 
-        ResponseEntity<String> response =
+        ResponseEntity<CardRequest> response =
                 creditCardApplicationController.findByPersonalIdAndSendCardRequest("12345678901");
 
-        verify(creditCardApplicationService, times(1))
-                .getCreditCardApplicationByPersonalId("12345678901");
-        verify(creditCardApplicationMapper, times(1)).toNewCardRequest(creditCardApplication);
-        verify(cardRequestService, times(1)).sendCardRequest(newCardRequest);
+        verify(cardRequestOutboxService, times(1)).addCardRequest("12345678901");
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("http://localhost/credit/card/applications/send-card-request/12345678901",
+                response.getHeaders().getLocation().toString());
+        assertEquals(cardRequest, response.getBody());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationController#getCardRequestByPersonalId(String)}.
+     * The method should return the most recent card request by the personal ID.
+     */
+    @Test
+    void testGetCardRequestByPersonalIdWorksCorrectly() {
+        when(cardRequestOutboxService.getCardRequestByPersonalId("12345678901")).thenReturn(cardRequest);
+
+        ResponseEntity<CardRequest> response = creditCardApplicationController.getCardRequestByPersonalId("12345678901");
+
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals("Test", response.getBody());
+        assertEquals(cardRequest, response.getBody());
     }
 
 }
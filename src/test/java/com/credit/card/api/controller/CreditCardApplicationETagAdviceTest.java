@@ -0,0 +1,146 @@
+package com.credit.card.api.controller;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the class {@link CreditCardApplicationETagAdvice}.
+ */
+class CreditCardApplicationETagAdviceTest extends AbstractUnitTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final CreditCardApplicationETagAdvice eTagAdvice = new CreditCardApplicationETagAdvice();
+
+    private CreditCardApplication creditCardApplication;
+    private MethodParameter returnType;
+
+    /**
+     * Initializes the test data.
+     */
+    @BeforeEach
+    void init() throws NoSuchMethodException {
+        creditCardApplication = CreditCardApplication.builder()
+                .creditCardApplicantId("12345678901")
+                .creditCardApplicantName("John")
+                .creditCardApplicantSurname("Doe")
+                .creditCardApplicationStatus(Status.APPROVED)
+                .version(5L)
+                .build();
+        returnType = new MethodParameter(CreditCardApplicationController.class
+                .getMethod("getCreditCardApplicationByPersonalId", String.class), -1);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationETagAdvice#supports(MethodParameter, Class)}.
+     * Method works correctly and applies only to responses with a single credit card application.
+     */
+    @Test
+    void testSupportsWorksCorrectly() throws NoSuchMethodException {
+        MethodParameter statusReturnType = new MethodParameter(CreditCardApplicationController.class
+                .getMethod("getCreditCardApplicationStatusByPersonalId", String.class), -1);
+
+        assertTrue(eTagAdvice.supports(returnType, MappingJackson2CborHttpMessageConverter.class));
+        assertFalse(eTagAdvice.supports(statusReturnType, MappingJackson2CborHttpMessageConverter.class));
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationETagAdvice#beforeBodyWrite}.
+     * Method works correctly and gives every format its own strong ETag.
+     */
+    @Test
+    void testBeforeBodyWriteWorksCorrectly() throws IOException {
+        assertEquals(List.of("\"5\""), write(new MockHttpServletRequest("GET", "/"), MediaType.APPLICATION_JSON));
+        assertEquals(List.of("\"5-cbor\""), write(new MockHttpServletRequest("GET", "/"), MediaType.APPLICATION_CBOR));
+        assertEquals(List.of("\"5-smile\""), write(new MockHttpServletRequest("PUT", "/"), SMILE));
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationETagAdvice#beforeBodyWrite}.
+     * Method works correctly and answers a GET with the ETag of the negotiated format with 304 without a body.
+     */
+    @Test
+    void testBeforeBodyWriteWorksCorrectlyWhenNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"5-cbor\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        Object body = eTagAdvice.beforeBodyWrite(creditCardApplication, returnType, MediaType.APPLICATION_CBOR,
+                MappingJackson2CborHttpMessageConverter.class, new ServletServerHttpRequest(request),
+                new ServletServerHttpResponse(servletResponse));
+
+        assertNull(body);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        assertEquals("\"5-cbor\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationETagAdvice#beforeBodyWrite}.
+     * Method works correctly and writes the body when the client has the same version in another format.
+     */
+    @Test
+    void testBeforeBodyWriteWorksCorrectlyWhenClientHasAnotherFormat() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"5\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        Object body = eTagAdvice.beforeBodyWrite(creditCardApplication, returnType, SMILE,
+                MappingJackson2CborHttpMessageConverter.class, new ServletServerHttpRequest(request),
+                new ServletServerHttpResponse(servletResponse));
+
+        assertSame(creditCardApplication, body);
+        assertEquals(HttpStatus.OK.value(), servletResponse.getStatus());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationETagAdvice#toVersion(String)}.
+     * Method works correctly and reads the version of the ETag in any format.
+     */
+    @Test
+    void testToVersionWorksCorrectly() {
+        assertEquals(5L, CreditCardApplicationETagAdvice.toVersion("5"));
+        assertEquals(5L, CreditCardApplicationETagAdvice.toVersion("5-cbor"));
+        assertEquals(5L, CreditCardApplicationETagAdvice.toVersion("5-smile"));
+    }
+
+    /**
+     * Writes the credit card application in the given format and returns the ETag headers of the response.
+     *
+     * @param request     request
+     * @param contentType format
+     * @return values of the ETag headers
+     * @throws IOException if the headers cannot be written
+     */
+    private List<String> write(MockHttpServletRequest request, MediaType contentType) throws IOException {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletServerHttpResponse response = new ServletServerHttpResponse(servletResponse);
+
+        eTagAdvice.beforeBodyWrite(creditCardApplication, returnType, contentType,
+                MappingJackson2CborHttpMessageConverter.class, new ServletServerHttpRequest(request), response);
+        response.flush();
+
+        return servletResponse.getHeaders(HttpHeaders.ETAG);
+    }
+
+}
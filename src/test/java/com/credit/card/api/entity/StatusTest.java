@@ -0,0 +1,85 @@
+package com.credit.card.api.entity;
+
+import com.credit.card.api.AbstractUnitTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the enum {@link Status}.
+ */
+class StatusTest extends AbstractUnitTest {
+
+    /**
+     * Test for {@link Status#getCode()}.
+     * Codes stored in the database never change.
+     */
+    @Test
+    void testGetCodeWorksCorrectly() {
+        Map<Status, Integer> codes = Map.of(
+                Status.PENDING, 1,
+                Status.REJECTED, 2,
+                Status.APPROVED, 3,
+                Status.UNDER_REVIEW, 4,
+                Status.ON_HOLD, 5,
+                Status.CANCELLED, 6,
+                Status.APPROVED_PENDING_ACTIVATION, 7,
+                Status.EXPIRED, 8,
+                Status.REQUIRES_FOLLOW_UP, 9
+        );
+
+        assertEquals(Status.values().length, codes.size());
+        codes.forEach((status, code) -> assertEquals(code.shortValue(), status.getCode(), status.name()));
+    }
+
+    /**
+     * Test for {@link Status#fromCode(int)}.
+     * Method works correctly for every status.
+     */
+    @Test
+    void testFromCodeWorksCorrectly() {
+        for (Status status : Status.values()) {
+            assertSame(status, Status.fromCode(status.getCode()));
+        }
+    }
+
+    /**
+     * Test for {@link Status#fromCode(int)}.
+     * Method throws an exception when the code is unknown.
+     */
+    @Test
+    void testFromCodeWorksCorrectlyWhenCodeIsUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> Status.fromCode(0));
+        assertThrows(IllegalArgumentException.class, () -> Status.fromCode(-1));
+        assertThrows(IllegalArgumentException.class, () -> Status.fromCode(10));
+    }
+
+    /**
+     * Test for {@link Status#fromValue(String)}.
+     * Method works correctly for every status, ignoring case.
+     */
+    @Test
+    void testFromValueWorksCorrectly() {
+        for (Status status : Status.values()) {
+            assertSame(status, Status.fromValue(status.getValue()));
+            assertSame(status, Status.fromValue(status.getValue().toUpperCase()));
+        }
+        assertSame(Status.UNDER_REVIEW, Status.fromValue("under REVIEW"));
+    }
+
+    /**
+     * Test for {@link Status#fromValue(String)}.
+     * Method throws an exception when the value is unknown.
+     */
+    @Test
+    void testFromValueWorksCorrectlyWhenValueIsUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> Status.fromValue("Unknown"));
+        assertThrows(IllegalArgumentException.class, () -> Status.fromValue("UNDER_REVIEW"));
+        assertThrows(IllegalArgumentException.class, () -> Status.fromValue(null));
+    }
+
+}
@@ -0,0 +1,249 @@
+package com.credit.card.api.index;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for the class {@link ApplicantIdIndex}.
+ */
+class ApplicantIdIndexTest extends AbstractUnitTest {
+
+    @InjectMocks
+    private ApplicantIdIndex applicantIdIndex;
+
+    @Mock
+    private CreditCardApplicationRepository creditCardApplicationRepository;
+
+    @Spy
+    private CreditCardApiProperties creditCardApiProperties = new CreditCardApiProperties();
+
+    /**
+     * Test for {@link ApplicantIdIndex#afterSingletonsInstantiated()}.
+     * Method loads all applicant IDs and their statuses from the database.
+     */
+    @Test
+    void testAfterSingletonsInstantiatedWorksCorrectly() {
+        load("12345678903", Status.PENDING, "12345678911", Status.APPROVED);
+
+        assertTrue(applicantIdIndex.isLoaded());
+        assertEquals(2, applicantIdIndex.size());
+        assertEquals(Status.PENDING, applicantIdIndex.getStatus("12345678903"));
+        assertEquals(Status.APPROVED, applicantIdIndex.getStatus("12345678911"));
+        assertFalse(applicantIdIndex.contains("12345678920"));
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#afterSingletonsInstantiated()}.
+     * Method leaves the index unloaded when it is disabled.
+     */
+    @Test
+    void testAfterSingletonsInstantiatedWorksCorrectlyWhenIndexIsDisabled() {
+        creditCardApiProperties.getIndex().setEnabled(false);
+
+        applicantIdIndex.afterSingletonsInstantiated();
+
+        assertFalse(applicantIdIndex.isLoaded());
+        verifyNoInteractions(creditCardApplicationRepository);
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#afterSingletonsInstantiated()}.
+     * Method leaves the index unloaded and empty when the database cannot be read.
+     */
+    @Test
+    void testAfterSingletonsInstantiatedWorksCorrectlyWhenLoadingFails() {
+        doAnswer(invocation -> {
+            BiConsumer<String, Status> consumer = invocation.getArgument(0);
+            consumer.accept("12345678903", Status.PENDING);
+            throw new DataAccessResourceFailureException("Connection lost");
+        }).when(creditCardApplicationRepository).loadApplicantStatuses(any());
+
+        applicantIdIndex.afterSingletonsInstantiated();
+
+        assertFalse(applicantIdIndex.isLoaded());
+        assertEquals(0, applicantIdIndex.size());
+        assertFalse(applicantIdIndex.contains("12345678903"));
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#contains(CharSequence)}.
+     * Method works correctly for IDs which are not 11 digits or have surrounding whitespace.
+     */
+    @Test
+    void testContainsWorksCorrectlyWithMalformedIds() {
+        load("00000000001", Status.PENDING);
+
+        assertTrue(applicantIdIndex.contains(" 00000000001 "));
+        assertFalse(applicantIdIndex.contains("1"));
+        assertFalse(applicantIdIndex.contains("0000000000a"));
+        assertFalse(applicantIdIndex.contains(""));
+        assertFalse(applicantIdIndex.contains(null));
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#onSaved(CreditCardApplication)} and {@link ApplicantIdIndex#onDeleted(String)}.
+     * Methods keep the index correct while it grows and while keys are removed from the middle of probe sequences.
+     */
+    @Test
+    void testOnSavedAndOnDeletedWorkCorrectlyWhenIndexGrows() {
+        load();
+
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            applicantIdIndex.onSaved(creditCardApplication(id(i), Status.PENDING));
+        }
+        assertEquals(count, applicantIdIndex.size());
+
+        for (int i = 0; i < count; i += 2) {
+            applicantIdIndex.onDeleted(id(i));
+        }
+
+        assertEquals(count / 2, applicantIdIndex.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 1, applicantIdIndex.contains(id(i)), id(i));
+        }
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#onSaved(CreditCardApplication)}.
+     * Method updates the status when the ID is already in the index.
+     */
+    @Test
+    void testOnSavedWorksCorrectlyWhenIdExists() {
+        load("12345678903", Status.PENDING);
+
+        applicantIdIndex.onSaved(creditCardApplication("12345678903", Status.APPROVED));
+
+        assertEquals(1, applicantIdIndex.size());
+        assertEquals(Status.APPROVED, applicantIdIndex.getStatus("12345678903"));
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#onSaved(CreditCardApplication)}.
+     * Method ignores changes while the index is not loaded.
+     */
+    @Test
+    void testOnSavedWorksCorrectlyWhenIndexIsNotLoaded() {
+        applicantIdIndex.onSaved(creditCardApplication("12345678903", Status.APPROVED));
+
+        assertEquals(0, applicantIdIndex.size());
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#onStatusChanged(java.util.Collection, Status)}.
+     * Method changes the status of the given IDs only.
+     */
+    @Test
+    void testOnStatusChangedWorksCorrectly() {
+        load("12345678903", Status.PENDING, "12345678911", Status.PENDING);
+
+        applicantIdIndex.onStatusChanged(List.of("12345678903"), Status.REJECTED);
+
+        assertEquals(Status.REJECTED, applicantIdIndex.getStatus("12345678903"));
+        assertEquals(Status.PENDING, applicantIdIndex.getStatus("12345678911"));
+        assertEquals(2, applicantIdIndex.size());
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#onStatusChanged(java.util.Collection, Status)}.
+     * Method does not add an ID which is not in the index.
+     */
+    @Test
+    void testOnStatusChangedWorksCorrectlyWhenIdIsUnknown() {
+        load("12345678903", Status.PENDING);
+
+        applicantIdIndex.onStatusChanged(List.of("12345678920"), Status.REJECTED);
+
+        assertNull(applicantIdIndex.getStatus("12345678920"));
+        assertEquals(Status.PENDING, applicantIdIndex.getStatus("12345678903"));
+        assertEquals(1, applicantIdIndex.size());
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#onStatusReplaced(java.util.Collection, Status)}.
+     * Method changes the status of all IDs which have one of the given statuses.
+     */
+    @Test
+    void testOnStatusReplacedWorksCorrectly() {
+        load("12345678903", Status.PENDING, "12345678911", Status.UNDER_REVIEW, "12345678920", Status.APPROVED);
+
+        applicantIdIndex.onStatusReplaced(List.of(Status.PENDING, Status.UNDER_REVIEW), Status.REJECTED);
+
+        assertEquals(Status.REJECTED, applicantIdIndex.getStatus("12345678903"));
+        assertEquals(Status.REJECTED, applicantIdIndex.getStatus("12345678911"));
+        assertEquals(Status.APPROVED, applicantIdIndex.getStatus("12345678920"));
+    }
+
+    /**
+     * Test for {@link ApplicantIdIndex#toKey(CharSequence)}.
+     * Method converts valid IDs to their numeric value and malformed IDs to the empty key.
+     */
+    @Test
+    void testToKeyWorksCorrectly() {
+        assertEquals(12345678903L, ApplicantIdIndex.toKey("12345678903"));
+        assertEquals(99999999999L, ApplicantIdIndex.toKey("\t99999999999\n"));
+        assertEquals(-1L, ApplicantIdIndex.toKey("1234567890"));
+        assertEquals(-1L, ApplicantIdIndex.toKey("1234567890-"));
+    }
+
+    /**
+     * Loads the index with the given pairs of applicant IDs and statuses.
+     *
+     * @param entries applicant IDs, each followed by its status
+     */
+    private void load(Object... entries) {
+        doAnswer(invocation -> {
+            BiConsumer<String, Status> consumer = invocation.getArgument(0);
+            for (int i = 0; i < entries.length; i += 2) {
+                consumer.accept((String) entries[i], (Status) entries[i + 1]);
+            }
+            return null;
+        }).when(creditCardApplicationRepository).loadApplicantStatuses(any());
+
+        applicantIdIndex.afterSingletonsInstantiated();
+    }
+
+    /**
+     * Builds a sequential 11 digit applicant ID.
+     *
+     * @param i sequence number
+     * @return applicant ID
+     */
+    private static String id(int i) {
+        return String.format("%011d", 10_000_000_000L + i * 7919L);
+    }
+
+    /**
+     * Builds a credit card application with the given personal ID and status.
+     *
+     * @param id     personal ID
+     * @param status status
+     * @return credit card application
+     */
+    private static CreditCardApplication creditCardApplication(String id, Status status) {
+        return CreditCardApplication.builder()
+                .creditCardApplicantId(id)
+                .creditCardApplicationStatus(status)
+                .build();
+    }
+
+}
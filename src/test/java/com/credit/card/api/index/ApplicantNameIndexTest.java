@@ -0,0 +1,284 @@
+package com.credit.card.api.index;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for the class {@link ApplicantNameIndex}.
+ */
+class ApplicantNameIndexTest extends AbstractUnitTest {
+
+    @InjectMocks
+    private ApplicantNameIndex applicantNameIndex;
+
+    @Mock
+    private CreditCardApplicationRepository creditCardApplicationRepository;
+
+    @Spy
+    private CreditCardApiProperties creditCardApiProperties = new CreditCardApiProperties();
+
+    /**
+     * Test for {@link ApplicantNameIndex#afterSingletonsInstantiated()}.
+     * Method loads the names and surnames of all applicants, sharing the terms of repeated names.
+     */
+    @Test
+    void testAfterSingletonsInstantiatedWorksCorrectly() {
+        load("12345678903", "Ivan", "Horvat", "12345678911", "Ivan", "Kovačić");
+
+        assertTrue(applicantNameIndex.isLoaded());
+        assertEquals(2, applicantNameIndex.size());
+        assertEquals(3, applicantNameIndex.termCount());
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#afterSingletonsInstantiated()}.
+     * Method leaves the index unloaded when it is disabled.
+     */
+    @Test
+    void testAfterSingletonsInstantiatedWorksCorrectlyWhenIndexIsDisabled() {
+        creditCardApiProperties.getSearch().setIndexEnabled(false);
+
+        applicantNameIndex.afterSingletonsInstantiated();
+
+        assertFalse(applicantNameIndex.isLoaded());
+        verifyNoInteractions(creditCardApplicationRepository);
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#afterSingletonsInstantiated()}.
+     * Method leaves the index unloaded and empty when the database cannot be read.
+     */
+    @Test
+    void testAfterSingletonsInstantiatedWorksCorrectlyWhenLoadingFails() {
+        doAnswer(invocation -> {
+            Consumer<CreditCardApplication> consumer = invocation.getArgument(0);
+            consumer.accept(creditCardApplication("12345678903", "Ivan", "Horvat"));
+            throw new DataAccessResourceFailureException("Connection lost");
+        }).when(creditCardApplicationRepository).loadApplicantNames(any());
+
+        applicantNameIndex.afterSingletonsInstantiated();
+
+        assertFalse(applicantNameIndex.isLoaded());
+        assertEquals(0, applicantNameIndex.size());
+        assertEquals(List.of(), applicantNameIndex.search("Ivan", 10));
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#search(String, int)}.
+     * Method ranks exact matches before prefix matches, ignoring case and diacritics.
+     */
+    @Test
+    void testSearchWorksCorrectlyWithPrefix() {
+        load("12345678903", "Ivana", "Horvat", "12345678911", "Ivan", "Kovačić", "12345678920", "Marko", "Ivanković");
+
+        assertEquals(List.of("12345678911", "12345678903", "12345678920"), applicantNameIndex.search("IVAN", 10));
+        assertEquals(List.of("12345678911"), applicantNameIndex.search("kovac", 10));
+        assertEquals(List.of("12345678911"), applicantNameIndex.search("Ivan", 1));
+        assertEquals(List.of(), applicantNameIndex.search("Iv", 0));
+        assertEquals(List.of(), applicantNameIndex.search("  ", 10));
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#search(String, int)}.
+     * Method matches any word of a name or surname with several words.
+     */
+    @Test
+    void testSearchWorksCorrectlyWithSeveralWords() {
+        load("12345678903", "Ana Marija", "Horvat-Babić", "12345678911", "Marija", "Novak");
+
+        assertEquals(List.of("12345678911", "12345678903"), applicantNameIndex.search("Marija", 10));
+        assertEquals(List.of("12345678903"), applicantNameIndex.search("babic", 10));
+        assertEquals(List.of("12345678903"), applicantNameIndex.search("ana   mar", 10));
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#search(String, int)}.
+     * Method tolerates typos in longer queries, ranking closer matches first, but not in short queries.
+     */
+    @Test
+    void testSearchWorksCorrectlyWithTypos() {
+        load("12345678903", "Ivan", "Horvat", "12345678911", "Petar", "Horvatinović", "12345678920", "Marko", "Novak");
+
+        assertEquals(List.of("12345678903", "12345678911"), applicantNameIndex.search("Hovrat", 10));
+        assertEquals(List.of("12345678911"), applicantNameIndex.search("Horvatinovic", 10));
+        assertEquals(List.of("12345678911"), applicantNameIndex.search("Horvatinvoić", 10));
+        assertEquals(List.of("12345678920"), applicantNameIndex.search("Nowak", 10));
+        assertEquals(List.of(), applicantNameIndex.search("Ivn", 10));
+        assertEquals(List.of(), applicantNameIndex.search("Kovač", 10));
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#search(String, int)}.
+     * Method returns an applicant whose name and surname both match once and gives the same results when repeated,
+     * also after the index grows.
+     */
+    @Test
+    void testSearchWorksCorrectlyWhenRepeated() {
+        load("12345678903", "Ivan", "Ivanić", "12345678911", "Petar", "Horvat");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(List.of("12345678903"), applicantNameIndex.search("Ivan", 10));
+            assertEquals(List.of("12345678911"), applicantNameIndex.search("Hovrat", 10));
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            applicantNameIndex.onSaved(creditCardApplication(id(i), "Name" + i, "Surname" + i));
+        }
+
+        assertEquals(List.of("12345678903"), applicantNameIndex.search("Ivan", 10));
+        assertEquals(List.of("12345678911"), applicantNameIndex.search("Hovrat", 10));
+        assertEquals(List.of(id(1999)), applicantNameIndex.search("Surname1999", 1));
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#onSaved(CreditCardApplication)} and {@link ApplicantNameIndex#onDeleted(String)}.
+     * Methods move renamed applicants to their new terms and remove terms which are left without applicants.
+     */
+    @Test
+    void testOnSavedAndOnDeletedWorkCorrectly() {
+        load("12345678903", "Ivan", "Horvat");
+
+        applicantNameIndex.onSaved(creditCardApplication("12345678911", "Ivan", "Novak"));
+        applicantNameIndex.onSaved(creditCardApplication("12345678903", "Ivan", "Babić"));
+
+        assertEquals(2, applicantNameIndex.size());
+        assertEquals(3, applicantNameIndex.termCount());
+        assertEquals(List.of(), applicantNameIndex.search("Horvat", 10));
+        assertEquals(List.of("12345678903"), applicantNameIndex.search("Babic", 10));
+
+        applicantNameIndex.onDeleted("12345678903");
+        applicantNameIndex.onDeleted("12345678920");
+
+        assertEquals(1, applicantNameIndex.size());
+        assertEquals(2, applicantNameIndex.termCount());
+        assertEquals(List.of("12345678911"), applicantNameIndex.search("Ivan", 10));
+        assertEquals(List.of(), applicantNameIndex.search("Babic", 10));
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#onSaved(CreditCardApplication)} and {@link ApplicantNameIndex#onDeleted(String)}.
+     * Methods keep the index correct while it grows and while applicants and terms are removed and their IDs reused.
+     */
+    @Test
+    void testOnSavedAndOnDeletedWorkCorrectlyWhenIndexGrows() {
+        load();
+
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            applicantNameIndex.onSaved(creditCardApplication(id(i), "Name" + i % 100, "Surname" + i));
+        }
+        for (int i = 0; i < count; i += 2) {
+            applicantNameIndex.onDeleted(id(i));
+        }
+        for (int i = 0; i < count; i += 4) {
+            applicantNameIndex.onSaved(creditCardApplication(id(i), "Name" + i % 100, "Other" + i));
+        }
+
+        assertEquals(count / 2 + count / 4, applicantNameIndex.size());
+        // the names of the deleted applicants with an even number are only partly added again
+        assertEquals(75 + count / 2 + count / 4, applicantNameIndex.termCount());
+        for (int i = 0; i < count; i++) {
+            // an exact match always comes first
+            assertEquals(i % 2 == 1, applicantNameIndex.search("Surname" + i, 1).contains(id(i)), id(i));
+        }
+        assertEquals(List.of(id(4)), applicantNameIndex.search("Other4", 1));
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#onSaved(CreditCardApplication)}.
+     * Method ignores changes while the index is not loaded.
+     */
+    @Test
+    void testOnSavedWorksCorrectlyWhenIndexIsNotLoaded() {
+        applicantNameIndex.onSaved(creditCardApplication("12345678903", "Ivan", "Horvat"));
+
+        assertEquals(0, applicantNameIndex.size());
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#normalize(String)}.
+     * Method removes diacritics, lower-cases letters and collapses whitespace.
+     */
+    @Test
+    void testNormalizeWorksCorrectly() {
+        assertEquals("dorde sukic", ApplicantNameIndex.normalize("  Đorđe \t Šukić "));
+        assertEquals("ana-marija", ApplicantNameIndex.normalize("ANA-MARIJA"));
+        assertEquals("", ApplicantNameIndex.normalize(null));
+    }
+
+    /**
+     * Test for {@link ApplicantNameIndex#prefixDistance(String, String, int, int, int[][])}.
+     * Method counts substitutions, insertions, deletions and transpositions against the closest prefix of the text.
+     */
+    @Test
+    void testPrefixDistanceWorksCorrectly() {
+        int[][] rows = new int[3][16];
+
+        assertEquals(0, ApplicantNameIndex.prefixDistance("horv", "horvat", 0, 2, rows));
+        assertEquals(1, ApplicantNameIndex.prefixDistance("hovr", "horvat", 0, 2, rows));
+        assertEquals(1, ApplicantNameIndex.prefixDistance("horat", "horvat", 0, 2, rows));
+        assertEquals(1, ApplicantNameIndex.prefixDistance("marja", "ana marija", 4, 2, rows));
+        assertEquals(2, ApplicantNameIndex.prefixDistance("kovac", "horvat", 0, 1, rows));
+    }
+
+    /**
+     * Loads the index with the given triples of applicant IDs, names and surnames.
+     *
+     * @param entries applicant IDs, each followed by the name and surname
+     */
+    private void load(String... entries) {
+        doAnswer(invocation -> {
+            Consumer<CreditCardApplication> consumer = invocation.getArgument(0);
+            for (int i = 0; i < entries.length; i += 3) {
+                consumer.accept(creditCardApplication(entries[i], entries[i + 1], entries[i + 2]));
+            }
+            return null;
+        }).when(creditCardApplicationRepository).loadApplicantNames(any());
+
+        applicantNameIndex.afterSingletonsInstantiated();
+    }
+
+    /**
+     * Builds a sequential 11 digit applicant ID.
+     *
+     * @param i sequence number
+     * @return applicant ID
+     */
+    private static String id(int i) {
+        return String.format("%011d", 10_000_000_000L + i * 7919L);
+    }
+
+    /**
+     * Builds a credit card application with the given personal ID, name and surname.
+     *
+     * @param id      personal ID
+     * @param name    name
+     * @param surname surname
+     * @return credit card application
+     */
+    private static CreditCardApplication creditCardApplication(String id, String name, String surname) {
+        return CreditCardApplication.builder()
+                .creditCardApplicantId(id)
+                .creditCardApplicantName(name)
+                .creditCardApplicantSurname(surname)
+                .build();
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.credit.card.api.repository;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.entity.CardRequest;
+import com.credit.card.api.entity.CardRequestStatus;
+import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.entity.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.core.simple.JdbcClient.StatementSpec;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CardRequestOutboxRepository}.
+ */
+class CardRequestOutboxRepositoryTest extends AbstractUnitTest {
+
+    @InjectMocks
+    private CardRequestOutboxRepository cardRequestOutboxRepository;
+
+    @Mock
+    private JdbcClient jdbcClient;
+
+    @Mock
+    private StatementSpec statementSpec;
+
+    @Mock
+    private JdbcClient.MappedQuerySpec mappedQuerySpec;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private CardRequest cardRequest;
+
+    /**
+     * Initializes the test data.
+     */
+    @BeforeEach
+    void init() {
+        LocalDateTime now = LocalDateTime.now();
+        cardRequest = CardRequest.builder()
+                .cardRequestId(1L)
+                .creditCardApplicantId("12345678903")
+                .idempotencyKey("key")
+                .newCardRequest(NewCardRequest.builder()
+                        .oib("12345678903")
+                        .firstName("John")
+                        .lastName("Doe")
+                        .status(Status.APPROVED)
+                        .build())
+                .status(CardRequestStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        lenient().when(jdbcClient.sql(anyString())).thenReturn(statementSpec);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxRepository#addCardRequest(CardRequest)}.
+     * Verifies that the method works correctly and that the repository returns the card request when no key is generated.
+     */
+    @Test
+    void testAddCardRequest() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.update(any(KeyHolder.class), eq("card_request_outbox_id"))).thenReturn(1);
+
+        CardRequest result = cardRequestOutboxRepository.addCardRequest(cardRequest);
+
+        verify(statementSpec).param("status", "PENDING");
+        verify(statementSpec).param("applicationStatus", Status.APPROVED.getCode());
+        verify(statementSpec).param("idempotencyKey", "key");
+        assertEquals(cardRequest, result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxRepository#getLatestCardRequestByPersonalId(String)}.
+     * Verifies that the method works correctly and that the repository returns the most recent card request.
+     */
+    @Test
+    void testGetLatestCardRequestByPersonalId() {
+        when(statementSpec.param(anyString(), anyString())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.optional()).thenReturn(Optional.of(cardRequest));
+
+        Optional<CardRequest> result = cardRequestOutboxRepository.getLatestCardRequestByPersonalId("12345678903");
+
+        assertEquals(Optional.of(cardRequest), result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxRepository#getCardRequestByIdempotencyKey(String)}.
+     * Verifies that the method works correctly and that the repository returns the card request with the idempotency key.
+     */
+    @Test
+    void testGetCardRequestByIdempotencyKey() {
+        when(statementSpec.param(anyString(), anyString())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.optional()).thenReturn(Optional.of(cardRequest));
+
+        Optional<CardRequest> result = cardRequestOutboxRepository.getCardRequestByIdempotencyKey("key");
+
+        verify(statementSpec).param("idempotencyKey", "key");
+        assertEquals(Optional.of(cardRequest), result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxRepository#retryFailedCardRequest(CardRequest, LocalDateTime)}.
+     * Verifies that the method works correctly and that the repository queues the failed card request again.
+     */
+    @Test
+    void testRetryFailedCardRequest() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.update()).thenReturn(1);
+
+        int result = cardRequestOutboxRepository.retryFailedCardRequest(cardRequest, LocalDateTime.now());
+
+        verify(statementSpec).param("cardRequestId", 1L);
+        assertEquals(1, result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxRepository#claimCardRequests(List, LocalDateTime, LocalDateTime)}.
+     * Verifies that the method works correctly and that the repository returns only the card requests which were claimed.
+     */
+    @Test
+    void testClaimCardRequests() {
+        CardRequest other = cardRequest.toBuilder().cardRequestId(2L).build();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusMinutes(2);
+        when(namedParameterJdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenReturn(new int[]{0, 1});
+
+        List<CardRequest> result = cardRequestOutboxRepository.claimCardRequests(List.of(cardRequest, other), leaseUntil, now);
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getCardRequestId());
+        assertEquals(CardRequestStatus.IN_PROGRESS, result.get(0).getStatus());
+        assertEquals(1, result.get(0).getAttempts());
+        assertEquals(leaseUntil, result.get(0).getNextAttemptAt());
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxRepository#releaseCardRequest(CardRequest, LocalDateTime, LocalDateTime)}.
+     * Verifies that the method works correctly and that the card request is released only for the attempt which was claimed.
+     */
+    @Test
+    void testReleaseCardRequest() {
+        LocalDateTime now = LocalDateTime.now();
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.update()).thenReturn(1);
+
+        int result = cardRequestOutboxRepository.releaseCardRequest(cardRequest.toBuilder().attempts(2).build(),
+                now.plusSeconds(30), now);
+
+        verify(statementSpec).param("nextAttemptAt", now.plusSeconds(30));
+        verify(statementSpec).param("attempts", 2);
+        assertEquals(1, result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxRepository#updateCardRequestOutcome(CardRequest)}.
+     * Verifies that the method works correctly and that the outcome is recorded only for the attempt which was made.
+     */
+    @Test
+    void testUpdateCardRequestOutcome() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.update()).thenReturn(1);
+
+        int result = cardRequestOutboxRepository.updateCardRequestOutcome(cardRequest.toBuilder()
+                .status(CardRequestStatus.SENT)
+                .attempts(1)
+                .lastResponseStatus(200)
+                .cardIssuerResponse("{}")
+                .build());
+
+        verify(statementSpec).param("status", "SENT");
+        verify(statementSpec).param("attempts", 1);
+        verify(statementSpec).param("cardIssuerResponse", "{}");
+        assertEquals(1, result);
+    }
+}
@@ -1,27 +1,55 @@
 package com.credit.card.api.repository;
 
 import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.entity.ArchiveCheckpoint;
 import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.CreditCardApplicationPatch;
 import com.credit.card.api.entity.Status;
+import com.credit.card.api.entity.UpsertResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.core.simple.JdbcClient.StatementSpec;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -41,6 +69,21 @@ class CreditCardApplicationRepositoryTest extends AbstractUnitTest {
     @Mock
     private JdbcClient.MappedQuerySpec mappedQuerySpec;
 
+    @Mock
+    private JdbcClient.MappedQuerySpec<Long> countQuerySpec;
+
+    @Mock
+    private JdbcClient.MappedQuerySpec<String> idQuerySpec;
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Mock
+    private ObjectProvider<CreditCardApplicationChangeListener> changeListeners;
+
+    @Mock
+    private CreditCardApplicationChangeListener changeListener;
+
     private CreditCardApplication creditCardApplication;
     private List<CreditCardApplication> creditCardApplications;
 
@@ -58,25 +101,131 @@ class CreditCardApplicationRepositoryTest extends AbstractUnitTest {
 
         creditCardApplications = Collections.singletonList(creditCardApplication);
 
-        when(jdbcClient.sql(anyString())).thenReturn(statementSpec);
+        lenient().when(jdbcClient.sql(anyString())).thenReturn(statementSpec);
+        lenient().when(changeListeners.orderedStream()).thenAnswer(invocation -> Stream.of(changeListener));
     }
 
     /**
-     * Test for {@link CreditCardApplicationRepository#getCreditCardApplications()}.
-     * Verifies that the method works correctly and that the repository returns a list of credit card applications.
+     * Test for {@link CreditCardApplicationRepository#getCreditCardApplications(String, java.util.Collection, int)}.
+     * Verifies that the method works correctly and that the repository returns the first page of credit card applications.
      */
     @Test
     void testGetCreditCardApplications() {
+        when(statementSpec.param(anyString(), anyInt())).thenReturn(statementSpec);
         when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
         when(mappedQuerySpec.list()).thenReturn(creditCardApplications);
 
-        List<CreditCardApplication> result = creditCardApplicationRepository.getCreditCardApplications();
+        List<CreditCardApplication> result = creditCardApplicationRepository.getCreditCardApplications(null, null, 10);
 
+        verify(statementSpec).param("limit", 10);
+        verify(statementSpec, never()).param(eq("afterId"), any());
+        verify(statementSpec, never()).param(eq("statuses"), any());
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(creditCardApplications, result);
     }
 
+    /**
+     * Test for {@link CreditCardApplicationRepository#getCreditCardApplications(String, java.util.Collection, int)}.
+     * Verifies that the method works correctly and that the repository returns the page after the given ID.
+     */
+    @Test
+    void testGetCreditCardApplicationsAfterId() {
+        when(statementSpec.param(anyString(), anyInt())).thenReturn(statementSpec);
+        when(statementSpec.param(anyString(), anyString())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.list()).thenReturn(creditCardApplications);
+
+        List<CreditCardApplication> result = creditCardApplicationRepository.getCreditCardApplications("12345678900", Set.of(), 10);
+
+        verify(statementSpec).param("afterId", "12345678900");
+        assertEquals(creditCardApplications, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#getCreditCardApplications(String, java.util.Collection, int)}.
+     * Verifies that the method works correctly and that the repository filters the page by the codes of the given statuses.
+     */
+    @Test
+    void testGetCreditCardApplicationsByStatuses() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.list()).thenReturn(creditCardApplications);
+
+        List<CreditCardApplication> result = creditCardApplicationRepository.getCreditCardApplications(
+                "12345678900", List.of(Status.PENDING, Status.ON_HOLD), 10);
+
+        verify(jdbcClient).sql(contains("credit_card_application_status IN (:statuses) AND credit_card_applicant_id > :afterId"));
+        verify(statementSpec).param("statuses", List.of(Status.PENDING.getCode(), Status.ON_HOLD.getCode()));
+        verify(statementSpec).param("afterId", "12345678900");
+        assertEquals(creditCardApplications, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#streamCreditCardApplications()}.
+     * Verifies that the method works correctly and that the repository returns a stream of credit card applications.
+     */
+    @Test
+    void testStreamCreditCardApplications() {
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.stream()).thenReturn(creditCardApplications.stream());
+
+        try (Stream<CreditCardApplication> result = creditCardApplicationRepository.streamCreditCardApplications()) {
+            assertEquals(creditCardApplications, result.toList());
+        }
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#countCreditCardApplications(java.util.Collection)}.
+     * Verifies that the method works correctly and that the repository returns the number of credit card applications.
+     */
+    @Test
+    void testCountCreditCardApplications() {
+        when(statementSpec.query(Long.class)).thenReturn(countQuerySpec);
+        when(countQuerySpec.single()).thenReturn(42L);
+
+        long result = creditCardApplicationRepository.countCreditCardApplications(null);
+
+        verify(statementSpec, never()).param(anyString(), any());
+        assertEquals(42L, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#countCreditCardApplications(java.util.Collection)}.
+     * Verifies that the method works correctly and that the repository counts the credit card applications with the given statuses.
+     */
+    @Test
+    void testCountCreditCardApplicationsByStatuses() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(Long.class)).thenReturn(countQuerySpec);
+        when(countQuerySpec.single()).thenReturn(7L);
+
+        long result = creditCardApplicationRepository.countCreditCardApplications(Set.of(Status.REJECTED));
+
+        verify(statementSpec).param("statuses", List.of(Status.REJECTED.getCode()));
+        assertEquals(7L, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#getRevision()}.
+     * Verifies that the revision is increased only by changes of rows, without querying the database.
+     */
+    @Test
+    void testGetRevision() {
+        when(statementSpec.param(anyString(), anyString())).thenReturn(statementSpec);
+        when(statementSpec.update()).thenReturn(0, 1);
+        String initialRevision = creditCardApplicationRepository.getRevision();
+
+        creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678901");
+        assertEquals(initialRevision, creditCardApplicationRepository.getRevision());
+        creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678901");
+        String revision = creditCardApplicationRepository.getRevision();
+
+        assertNotEquals(initialRevision, revision);
+        assertEquals(initialRevision.substring(0, initialRevision.lastIndexOf('-')) + "-1", revision);
+        verify(jdbcClient, times(2)).sql(anyString());
+    }
+
     /**
      * Test for {@link CreditCardApplicationRepository#getCreditCardApplicationByPersonalId(String)}.
      * Verifies that the method works correctly and that the repository returns a credit card application
@@ -94,38 +243,311 @@ class CreditCardApplicationRepositoryTest extends AbstractUnitTest {
         assertEquals(creditCardApplication, result);
     }
 
+    /**
+     * Test for {@link CreditCardApplicationRepository#searchCreditCardApplicationsByName(String, int)}.
+     * Verifies that the method works correctly and that the repository escapes the wildcards of the given prefix.
+     */
+    @Test
+    void testSearchCreditCardApplicationsByName() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.list()).thenReturn(creditCardApplications);
+
+        List<CreditCardApplication> result = creditCardApplicationRepository.searchCreditCardApplicationsByName("Jo_h%n", 5);
+
+        verify(statementSpec).param("pattern", "jo\\_h\\%n%");
+        verify(statementSpec).param("limit", 5);
+        assertEquals(creditCardApplications, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#getCreditCardApplicationsByPersonalIds(java.util.Collection)}.
+     * Verifies that the method works correctly and that the repository does not query the database for no IDs.
+     */
+    @Test
+    void testGetCreditCardApplicationsByPersonalIds() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.list()).thenReturn(creditCardApplications);
+
+        assertEquals(creditCardApplications, creditCardApplicationRepository.getCreditCardApplicationsByPersonalIds(
+                List.of("12345678901")));
+        assertEquals(List.of(), creditCardApplicationRepository.getCreditCardApplicationsByPersonalIds(List.of()));
+
+        verify(jdbcClient, times(1)).sql(anyString());
+        verify(statementSpec).param("ids", List.of("12345678901"));
+    }
+
     /**
      * Test for {@link CreditCardApplicationRepository#addCreditCardApplication(CreditCardApplication)}.
      * Verifies that the method works correctly and that the repository adds a credit card application.
      */
     @Test
     void testAddCreditCardApplication() {
-        when(statementSpec.param(anyString(), anyString())).thenReturn(statementSpec);
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
         KeyHolder keyHolder = new GeneratedKeyHolder();
         keyHolder.getKeyList().add(Map.of("id", 1L));
 
-        when(statementSpec.update(any(KeyHolder.class))).thenReturn(1);
+        when(statementSpec.update(any(KeyHolder.class), eq("credit_card_application_id"))).thenReturn(1);
 
         CreditCardApplication result = creditCardApplicationRepository.addCreditCardApplication(creditCardApplication);
 
+        verify(statementSpec).param("version", 1L);
         assertNull(result);
     }
 
     /**
-     * Test for {@link CreditCardApplicationRepository#updateCreditCardApplicationByPersonalId(CreditCardApplication)}.
+     * Test for {@link CreditCardApplicationRepository#findExistingPersonalIds(java.util.Collection)}.
+     * Verifies that the method works correctly and that the repository returns the IDs which already exist.
+     */
+    @Test
+    void testFindExistingPersonalIds() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(String.class)).thenReturn(idQuerySpec);
+        when(idQuerySpec.list()).thenReturn(List.of("12345678901"));
+
+        Set<String> result = creditCardApplicationRepository.findExistingPersonalIds(List.of("12345678901", "12345678902"));
+
+        verify(statementSpec).param("ids", List.of("12345678901", "12345678902"));
+        assertEquals(Set.of("12345678901"), result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#addCreditCardApplications(List)}.
+     * Verifies that the method works correctly, that the repository adds the credit card applications in one batch
+     * and that the change listeners get them as they were written.
+     */
+    @Test
+    void testAddCreditCardApplications() {
+        when(namedParameterJdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenReturn(new int[]{1, 1});
+
+        int[] result = creditCardApplicationRepository.addCreditCardApplications(
+                List.of(creditCardApplication, creditCardApplication));
+
+        ArgumentCaptor<CreditCardApplication> captor = ArgumentCaptor.forClass(CreditCardApplication.class);
+        assertArrayEquals(new int[]{1, 1}, result);
+        verify(changeListener, times(2)).onAdded(captor.capture());
+        assertEquals(1L, captor.getValue().getVersion());
+        assertNotNull(captor.getValue().getUpdatedAt());
+        assertEquals(creditCardApplication.getCreditCardApplicantId(), captor.getValue().getCreditCardApplicantId());
+        assertEquals(creditCardApplication.getCreditCardApplicationStatus(),
+                captor.getValue().getCreditCardApplicationStatus());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#upsertCreditCardApplications(List)}.
+     * Verifies that the repository merges all credit card applications in one statement
+     * and reports those which were written with a version above the initial one as updated.
+     */
+    @Test
+    void testUpsertCreditCardApplications() {
+        CreditCardApplication newCreditCardApplication = CreditCardApplication.builder()
+                .creditCardApplicantId("12345678911")
+                .creditCardApplicantName("Jane")
+                .creditCardApplicantSurname("Doe")
+                .creditCardApplicationStatus(Status.PENDING)
+                .version(1L)
+                .build();
+        CreditCardApplication updatedCreditCardApplication = writtenCreditCardApplication(4L);
+        when(statementSpec.params(anyMap())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.list()).thenReturn(List.of(newCreditCardApplication, updatedCreditCardApplication));
+
+        List<UpsertResult> result = creditCardApplicationRepository.upsertCreditCardApplications(
+                List.of(creditCardApplication, newCreditCardApplication));
+
+        verify(jdbcClient).sql(contains("FROM FINAL TABLE ( MERGE INTO credit_card_application t USING (VALUES"
+                + " (:name0, :surname0, :id0, :status0), (:name1, :surname1, :id1, :status1))"));
+        verify(jdbcClient).sql(contains("version = t.version + 1"));
+        assertEquals(2, result.size());
+        assertFalse(result.get(0).isCreated());
+        assertEquals(4L, result.get(0).getCreditCardApplication().getVersion());
+        assertTrue(result.get(1).isCreated());
+        assertEquals("12345678911", result.get(1).getCreditCardApplication().getCreditCardApplicantId());
+        assertEquals(1L, result.get(1).getCreditCardApplication().getVersion());
+        verify(changeListener).onSaved(result.get(0).getCreditCardApplication());
+        verify(changeListener).onAdded(result.get(1).getCreditCardApplication());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#updateCreditCardApplicationByPersonalId(CreditCardApplication, Long)}.
      * Verifies that the method works correctly and that the repository updates a credit card application by the personal ID.
      */
     @Test
     void testUpdateCreditCardApplicationByPersonalId() {
-        when(statementSpec.param(anyString(), anyString())).thenReturn(statementSpec);
-        when(statementSpec.update()).thenReturn(1);
+        stubUpdatedRow(writtenCreditCardApplication(7L));
 
-        CreditCardApplication result = creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication);
+        CreditCardApplication result = creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, null);
 
+        verify(jdbcClient).sql(contains("FROM FINAL TABLE (UPDATE credit_card_application"));
+        verify(jdbcClient).sql(contains("version = version + 1"));
+        verify(statementSpec, never()).param(eq("expectedVersion"), any());
         assertNotNull(result);
+        assertEquals(creditCardApplication.getCreditCardApplicantId(), result.getCreditCardApplicantId());
+        assertEquals(creditCardApplication.getCreditCardApplicationStatus(), result.getCreditCardApplicationStatus());
+        assertEquals(7L, result.getVersion());
+        assertNotNull(result.getUpdatedAt());
+        verify(changeListener).onSaved(result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#updateCreditCardApplicationByPersonalId(CreditCardApplication, Long)}.
+     * Verifies that the repository updates a credit card application only if it still has the expected version.
+     */
+    @Test
+    void testUpdateCreditCardApplicationByPersonalIdWithExpectedVersion() {
+        stubUpdatedRow(writtenCreditCardApplication(6L));
+
+        CreditCardApplication result = creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, 5L);
+
+        verify(jdbcClient).sql(contains("AND version = :expectedVersion"));
+        verify(statementSpec).param("expectedVersion", 5L);
+        assertNotNull(result);
+        assertEquals(6L, result.getVersion());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#updateCreditCardApplicationByPersonalId(CreditCardApplication, Long)}.
+     * Verifies that the repository fails when the credit card application exists with a different version than the expected one.
+     */
+    @Test
+    void testUpdateCreditCardApplicationByPersonalIdWithChangedVersion() {
+        stubUpdatedRow(null);
+        when(statementSpec.query(String.class)).thenReturn(idQuerySpec);
+        when(idQuerySpec.list()).thenReturn(List.of(creditCardApplication.getCreditCardApplicantId()));
+
+        assertThrows(
+                OptimisticLockingFailureException.class,
+                () -> creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, 5L)
+        );
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#updateCreditCardApplicationByPersonalId(CreditCardApplication, Long)}.
+     * Verifies that the repository returns null when the credit card application with the expected version does not exist.
+     */
+    @Test
+    void testUpdateCreditCardApplicationByPersonalIdWithExpectedVersionWhenNotFound() {
+        stubUpdatedRow(null);
+        when(statementSpec.query(String.class)).thenReturn(idQuerySpec);
+        when(idQuerySpec.list()).thenReturn(List.of());
+
+        assertNull(creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, 5L));
+        verifyNoInteractions(changeListener);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#patchCreditCardApplicationByPersonalId(String, CreditCardApplicationPatch, Long)}.
+     * Verifies that the repository updates only the status and reuses the same statement for the same columns.
+     */
+    @Test
+    void testPatchCreditCardApplicationByPersonalId() {
+        CreditCardApplicationPatch patch = CreditCardApplicationPatch.builder()
+                .creditCardApplicationStatus(Status.APPROVED)
+                .build();
+        stubUpdatedRow(creditCardApplication);
+
+        CreditCardApplication result =
+                creditCardApplicationRepository.patchCreditCardApplicationByPersonalId("12345678901", patch, null);
+        creditCardApplicationRepository.patchCreditCardApplicationByPersonalId("12345678901", patch, null);
+
+        ArgumentCaptor<String> queryCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcClient, atLeastOnce()).sql(queryCaptor.capture());
+        List<String> patchQueries = queryCaptor.getAllValues().stream()
+                .filter(query -> query.contains("UPDATE credit_card_application SET credit_card_application_status"))
+                .toList();
+        assertEquals(2, patchQueries.size());
+        assertSame(patchQueries.get(0), patchQueries.get(1));
+        assertEquals("SELECT credit_card_applicant_name, credit_card_applicant_surname, credit_card_applicant_id,"
+                + " credit_card_application_status, version, updated_at FROM FINAL TABLE (UPDATE credit_card_application"
+                + " SET credit_card_application_status = :status, version = version + 1, updated_at = :updatedAt"
+                + " WHERE credit_card_applicant_id = :id ) ", patchQueries.get(0));
+        verify(statementSpec, times(2)).param("status", Status.APPROVED.getCode());
+        verify(statementSpec, never()).param(eq("name"), any());
+        verify(statementSpec, never()).param(eq("surname"), any());
+        verify(changeListener, times(2)).onSaved(creditCardApplication);
         assertEquals(creditCardApplication, result);
     }
 
+    /**
+     * Test for {@link CreditCardApplicationRepository#patchCreditCardApplicationByPersonalId(String, CreditCardApplicationPatch, Long)}.
+     * Verifies that the repository fails when the credit card application exists with a different version than the expected one.
+     */
+    @Test
+    void testPatchCreditCardApplicationByPersonalIdWithChangedVersion() {
+        CreditCardApplicationPatch patch = CreditCardApplicationPatch.builder()
+                .creditCardApplicantName("Jane")
+                .build();
+        stubUpdatedRow(null);
+        when(statementSpec.query(String.class)).thenReturn(idQuerySpec);
+        when(idQuerySpec.list()).thenReturn(List.of("12345678901"));
+
+        assertThrows(
+                OptimisticLockingFailureException.class,
+                () -> creditCardApplicationRepository.patchCreditCardApplicationByPersonalId("12345678901", patch, 5L)
+        );
+
+        verify(jdbcClient).sql(contains("(UPDATE credit_card_application SET credit_card_applicant_name = :name,"
+                + " version = version + 1, updated_at = :updatedAt WHERE credit_card_applicant_id = :id"
+                + " AND version = :expectedVersion ) "));
+        verify(statementSpec).param("expectedVersion", 5L);
+        verifyNoInteractions(changeListener);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#updateStatusByPersonalIds(java.util.Collection, Status)}.
+     * Verifies that the method works correctly and that the repository notifies the listeners only about the applications it updated.
+     */
+    @Test
+    void testUpdateStatusByPersonalIds() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(String.class)).thenReturn(idQuerySpec);
+        when(idQuerySpec.list()).thenReturn(List.of("12345678901"));
+
+        List<String> result = creditCardApplicationRepository.updateStatusByPersonalIds(
+                List.of("12345678901", "12345678902"), Status.APPROVED);
+
+        verify(statementSpec).param("status", Status.APPROVED.getCode());
+        verify(statementSpec).param("ids", List.of("12345678901", "12345678902"));
+        verify(jdbcClient).sql(contains("FROM FINAL TABLE (UPDATE credit_card_application"));
+        verify(jdbcClient).sql(contains("version = version + 1"));
+        verify(changeListener).onStatusChanged(List.of("12345678901"), Status.APPROVED);
+        assertEquals(List.of("12345678901"), result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#updateStatusByPersonalIds(java.util.Collection, Status)}.
+     * Verifies that the method works correctly and that the repository does not notify the listeners when nothing was updated.
+     */
+    @Test
+    void testUpdateStatusByPersonalIdsWhenNothingIsUpdated() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(String.class)).thenReturn(idQuerySpec);
+        when(idQuerySpec.list()).thenReturn(List.of());
+
+        List<String> result = creditCardApplicationRepository.updateStatusByPersonalIds(List.of("12345678901"), Status.APPROVED);
+
+        verifyNoInteractions(changeListener);
+        assertEquals(List.of(), result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#updateStatusByStatuses(java.util.Collection, Status)}.
+     * Verifies that the method works correctly and that the repository updates the status of all matching applications.
+     */
+    @Test
+    void testUpdateStatusByStatuses() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.update()).thenReturn(5);
+
+        int result = creditCardApplicationRepository.updateStatusByStatuses(
+                List.of(Status.PENDING, Status.UNDER_REVIEW), Status.APPROVED);
+
+        verify(statementSpec).param("currentStatuses", List.of(Status.PENDING.getCode(), Status.UNDER_REVIEW.getCode()));
+        assertEquals(5, result);
+    }
+
     /**
      * Test for {@link CreditCardApplicationRepository#deleteCreditCardApplicationByPersonalId(String)}.
      * Verifies that the method works correctly and that the repository deletes a credit card application by the personal ID.
@@ -137,6 +559,101 @@ class CreditCardApplicationRepositoryTest extends AbstractUnitTest {
 
         int result = creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678901");
 
+        verify(jdbcClient, times(1)).sql(anyString());
+        verify(changeListener).onDeleted("12345678901");
         assertEquals(1, result);
     }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#deleteCreditCardApplicationByPersonalId(String)}.
+     * Verifies that the change listeners are not notified when no credit card application was deleted.
+     */
+    @Test
+    void testDeleteCreditCardApplicationByPersonalIdWhenNothingIsDeleted() {
+        when(statementSpec.param(anyString(), anyString())).thenReturn(statementSpec);
+        when(statementSpec.update()).thenReturn(0);
+
+        int result = creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678901");
+
+        verify(changeListener, never()).onDeleted(anyString());
+        assertEquals(0, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#getArchivableIds(String, Status, LocalDateTime, int)}.
+     * Verifies that the repository returns the next chunk of applicant IDs in a single status after the given one.
+     */
+    @Test
+    void testGetArchivableIds() {
+        LocalDateTime updatedBefore = LocalDateTime.now();
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(String.class)).thenReturn(idQuerySpec);
+        when(idQuerySpec.list()).thenReturn(List.of("12345678911"));
+
+        List<String> result = creditCardApplicationRepository.getArchivableIds(
+                "12345678903", Status.REJECTED, updatedBefore, 100);
+
+        verify(jdbcClient).sql(contains("WHERE credit_card_application_status = :status AND updated_at < :updatedBefore"));
+        verify(statementSpec).param("status", Status.REJECTED.getCode());
+        verify(statementSpec).param("afterId", "12345678903");
+        verify(statementSpec).param("updatedBefore", updatedBefore);
+        assertEquals(List.of("12345678911"), result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationRepository#archiveCreditCardApplications(java.util.Collection, Status,
+     * LocalDateTime, LocalDateTime, ArchiveCheckpoint)}.
+     * Verifies that the repository copies the deleted rows to the archive and records the checkpoint.
+     */
+    @Test
+    void testArchiveCreditCardApplications() {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.list()).thenReturn(creditCardApplications);
+        when(statementSpec.update()).thenReturn(1);
+
+        ArchiveCheckpoint checkpoint = ArchiveCheckpoint.builder()
+                .status(Status.APPROVED)
+                .creditCardApplicantId("12345678902")
+                .build();
+
+        List<String> result = creditCardApplicationRepository.archiveCreditCardApplications(List.of("12345678901", "12345678902"),
+                Status.APPROVED, LocalDateTime.now(), LocalDateTime.now(), checkpoint);
+
+        verify(jdbcClient).sql(contains("FROM OLD TABLE (DELETE FROM credit_card_application"));
+        verify(namedParameterJdbcTemplate).batchUpdate(contains("INSERT INTO credit_card_application_archive"),
+                any(SqlParameterSource[].class));
+        verify(statementSpec, times(2)).param("status", Status.APPROVED.getCode());
+        verify(statementSpec).param("checkpoint", "12345678902");
+        verify(changeListener).onDeleted("12345678901");
+        assertEquals(List.of("12345678901"), result);
+    }
+
+    /**
+     * Builds the credit card application of the test as it is written with the given version.
+     *
+     * @param version version
+     * @return credit card application
+     */
+    private CreditCardApplication writtenCreditCardApplication(long version) {
+        return CreditCardApplication.builder()
+                .creditCardApplicantId(creditCardApplication.getCreditCardApplicantId())
+                .creditCardApplicantName(creditCardApplication.getCreditCardApplicantName())
+                .creditCardApplicantSurname(creditCardApplication.getCreditCardApplicantSurname())
+                .creditCardApplicationStatus(creditCardApplication.getCreditCardApplicationStatus())
+                .version(version)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Stubs the row selected from an update, which is missing when no row was updated.
+     *
+     * @param updatedCreditCardApplication credit card application as it was written, {@code null} if none was updated
+     */
+    private void stubUpdatedRow(CreditCardApplication updatedCreditCardApplication) {
+        when(statementSpec.param(anyString(), any())).thenReturn(statementSpec);
+        when(statementSpec.query(any(RowMapper.class))).thenReturn(mappedQuerySpec);
+        when(mappedQuerySpec.optional()).thenReturn(Optional.ofNullable(updatedCreditCardApplication));
+    }
 }
\ No newline at end of file
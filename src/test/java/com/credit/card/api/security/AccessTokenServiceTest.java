@@ -0,0 +1,130 @@
+package com.credit.card.api.security;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.AccessToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the class {@link AccessTokenService}.
+ */
+class AccessTokenServiceTest extends AbstractUnitTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private CreditCardApiProperties creditCardApiProperties;
+    private AccessTokenService accessTokenService;
+    private Authentication authentication;
+
+    /**
+     * Initializes the test data.
+     */
+    @BeforeEach
+    void init() {
+        creditCardApiProperties = new CreditCardApiProperties();
+        creditCardApiProperties.getToken().setSecret(SECRET);
+        accessTokenService = new AccessTokenService(creditCardApiProperties);
+
+        authentication = new UsernamePasswordAuthenticationToken(
+                "user", "password", AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    /**
+     * Test for {@link AccessTokenService#createAccessToken(Authentication)} and {@link AccessTokenService#verifyAccessToken(String)}.
+     * Methods issue a token which restores the username and authorities of the user.
+     */
+    @Test
+    void testCreateAndVerifyAccessTokenWorkCorrectly() {
+        AccessToken accessToken = accessTokenService.createAccessToken(authentication);
+
+        Optional<Authentication> result = accessTokenService.verifyAccessToken(accessToken.getAccessToken());
+
+        assertEquals("Bearer", accessToken.getTokenType());
+        assertEquals(900, accessToken.getExpiresIn());
+        assertTrue(result.isPresent());
+        assertTrue(result.get().isAuthenticated());
+        assertEquals("user", result.get().getName());
+        assertEquals(authentication.getAuthorities(), result.get().getAuthorities());
+    }
+
+    /**
+     * Test for {@link AccessTokenService#verifyAccessToken(String)}.
+     * Method works correctly when the payload of the token was changed.
+     */
+    @Test
+    void testVerifyAccessTokenWorksCorrectlyWhenTokenIsTampered() {
+        String accessToken = accessTokenService.createAccessToken(authentication).getAccessToken();
+        String admin = Base64.getUrlEncoder().withoutPadding().encodeToString("admin\n9999999999\nROLE_ADMIN".getBytes());
+
+        Optional<Authentication> result = accessTokenService.verifyAccessToken(
+                admin + accessToken.substring(accessToken.indexOf('.')));
+
+        assertTrue(result.isEmpty());
+    }
+
+    /**
+     * Test for {@link AccessTokenService#verifyAccessToken(String)}.
+     * Method works correctly when the token was signed with another key.
+     */
+    @Test
+    void testVerifyAccessTokenWorksCorrectlyWhenKeyIsDifferent() {
+        String accessToken = new AccessTokenService(new CreditCardApiProperties()).createAccessToken(authentication).getAccessToken();
+
+        assertTrue(accessTokenService.verifyAccessToken(accessToken).isEmpty());
+    }
+
+    /**
+     * Test for {@link AccessTokenService#verifyAccessToken(String)}.
+     * Method works correctly when the token expired.
+     */
+    @Test
+    void testVerifyAccessTokenWorksCorrectlyWhenTokenExpired() {
+        creditCardApiProperties.getToken().setTimeToLive(Duration.ZERO);
+        AccessTokenService expiringAccessTokenService = new AccessTokenService(creditCardApiProperties);
+        String accessToken = expiringAccessTokenService.createAccessToken(authentication).getAccessToken();
+
+        assertTrue(expiringAccessTokenService.verifyAccessToken(accessToken).isEmpty());
+    }
+
+    /**
+     * Test for {@link AccessTokenService#verifyAccessToken(String)}.
+     * Method works correctly when the token is malformed.
+     */
+    @Test
+    void testVerifyAccessTokenWorksCorrectlyWhenTokenIsMalformed() {
+        assertTrue(accessTokenService.verifyAccessToken("").isEmpty());
+        assertTrue(accessTokenService.verifyAccessToken("token").isEmpty());
+        assertTrue(accessTokenService.verifyAccessToken(".signature").isEmpty());
+        assertTrue(accessTokenService.verifyAccessToken("a.b.c").isEmpty());
+        assertTrue(accessTokenService.verifyAccessToken("dXNlcg.%%%").isEmpty());
+    }
+
+    /**
+     * Test for {@link AccessTokenService#AccessTokenService(CreditCardApiProperties)}.
+     * Constructor works correctly when the configured secret is too short.
+     */
+    @Test
+    void testConstructorWorksCorrectlyWhenSecretIsTooShort() {
+        creditCardApiProperties.getToken().setSecret(Base64.getEncoder().encodeToString(new byte[16]));
+
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> new AccessTokenService(creditCardApiProperties)
+        );
+
+        assertEquals("Token secret must be at least 256 bits long.", illegalArgumentException.getMessage());
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.AbstractUnitTest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the class {@link Backoff}.
+ */
+class BackoffTest extends AbstractUnitTest {
+
+    /**
+     * Test for {@link Backoff#exponential(int, Duration, Duration)}.
+     * Method doubles the backoff with every attempt up to the maximum.
+     */
+    @Test
+    void testExponentialWorksCorrectly() {
+        assertEquals(Duration.ofSeconds(1), Backoff.exponential(1, Duration.ofSeconds(1), Duration.ofSeconds(10)));
+        assertEquals(Duration.ofSeconds(4), Backoff.exponential(3, Duration.ofSeconds(1), Duration.ofSeconds(10)));
+        assertEquals(Duration.ofSeconds(10), Backoff.exponential(5, Duration.ofSeconds(1), Duration.ofSeconds(10)));
+        assertEquals(Duration.ofSeconds(10), Backoff.exponential(Integer.MAX_VALUE, Duration.ofSeconds(1), Duration.ofSeconds(10)));
+    }
+
+    /**
+     * Test for {@link Backoff#withFullJitter(int, Duration, Duration)}.
+     * Method picks a backoff between zero and the exponential backoff.
+     */
+    @Test
+    void testWithFullJitterWorksCorrectly() {
+        for (int i = 0; i < 1000; i++) {
+            Duration backoff = Backoff.withFullJitter(3, Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+            assertTrue(!backoff.isNegative() && backoff.compareTo(Duration.ofSeconds(4)) <= 0, backoff.toString());
+        }
+    }
+
+}
@@ -0,0 +1,331 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CardRequest;
+import com.credit.card.api.entity.CardRequestStatus;
+import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.exception.CardRequestNotSentException;
+import com.credit.card.api.repository.CardRequestOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the class {@link CardRequestDispatcher}.
+ */
+class CardRequestDispatcherTest extends AbstractUnitTest {
+
+    @InjectMocks
+    private CardRequestDispatcher cardRequestDispatcher;
+
+    @Mock
+    private CardRequestOutboxRepository cardRequestOutboxRepository;
+
+    @Mock
+    private CardRequestService cardRequestService;
+
+    @Spy
+    private CreditCardApiProperties creditCardApiProperties = new CreditCardApiProperties();
+
+    private CardRequest cardRequest;
+
+    /**
+     * Initializes the test data.
+     */
+    @BeforeEach
+    void init() {
+        cardRequest = CardRequest.builder()
+                .cardRequestId(1L)
+                .creditCardApplicantId("12345678903")
+                .newCardRequest(NewCardRequest.builder()
+                        .oib("12345678903")
+                        .firstName("John")
+                        .lastName("Doe")
+                        .status(Status.APPROVED)
+                        .build())
+                .status(CardRequestStatus.IN_PROGRESS)
+                .attempts(1)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#dispatchCardRequests()}.
+     * Method sends the claimed card requests and records that they were sent.
+     */
+    @Test
+    void testDispatchCardRequestsWorksCorrectly() {
+        when(cardRequestOutboxRepository.getDueCardRequests(any(), eq(50))).thenReturn(List.of(cardRequest));
+        when(cardRequestOutboxRepository.claimCardRequests(eq(List.of(cardRequest)), any(), any())).thenReturn(List.of(cardRequest));
+        when(cardRequestService.sendCardRequestAsync(cardRequest.getNewCardRequest()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok("Test")));
+
+        cardRequestDispatcher.dispatchCardRequests();
+
+        ArgumentCaptor<CardRequest> captor = ArgumentCaptor.forClass(CardRequest.class);
+        verify(cardRequestOutboxRepository).updateCardRequestOutcome(captor.capture());
+        assertEquals(CardRequestStatus.SENT, captor.getValue().getStatus());
+        assertEquals(200, captor.getValue().getLastResponseStatus());
+        assertEquals("Test", captor.getValue().getCardIssuerResponse());
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#dispatchCardRequests()}.
+     * Method keeps claiming batches until fewer card requests than the batch size are due.
+     */
+    @Test
+    void testDispatchCardRequestsWorksCorrectlyWhenOutboxHasSeveralBatches() {
+        creditCardApiProperties.getOutbox().setBatchSize(1);
+        when(cardRequestOutboxRepository.getDueCardRequests(any(), eq(1)))
+                .thenReturn(List.of(cardRequest), List.of(cardRequest), Collections.emptyList());
+        when(cardRequestOutboxRepository.claimCardRequests(anyList(), any(), any())).thenReturn(List.of(cardRequest));
+        when(cardRequestService.sendCardRequestAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok("Test")));
+
+        cardRequestDispatcher.dispatchCardRequests();
+
+        verify(cardRequestOutboxRepository, times(3)).getDueCardRequests(any(), eq(1));
+        verify(cardRequestService, times(2)).sendCardRequestAsync(any());
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#dispatchCardRequests()}.
+     * Method does nothing when dispatching is disabled.
+     */
+    @Test
+    void testDispatchCardRequestsWorksCorrectlyWhenDispatchIsDisabled() {
+        creditCardApiProperties.getOutbox().setDispatchEnabled(false);
+
+        cardRequestDispatcher.dispatchCardRequests();
+
+        verifyNoInteractions(cardRequestOutboxRepository, cardRequestService);
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#dispatchCardRequests()}.
+     * Method puts a card request which was not sent back into the outbox without counting the attempt.
+     */
+    @Test
+    void testDispatchCardRequestsWorksCorrectlyWhenCardRequestIsNotSent() {
+        when(cardRequestOutboxRepository.getDueCardRequests(any(), eq(50))).thenReturn(List.of(cardRequest));
+        when(cardRequestOutboxRepository.claimCardRequests(eq(List.of(cardRequest)), any(), any())).thenReturn(List.of(cardRequest));
+        when(cardRequestService.sendCardRequestAsync(cardRequest.getNewCardRequest()))
+                .thenReturn(CompletableFuture.failedFuture(new CardRequestNotSentException(
+                        "Card issuer is unavailable, please try again later.", Duration.ofSeconds(30))));
+        LocalDateTime before = LocalDateTime.now();
+
+        cardRequestDispatcher.dispatchCardRequests();
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(cardRequestOutboxRepository).releaseCardRequest(eq(cardRequest), captor.capture(), any());
+        verify(cardRequestOutboxRepository, never()).updateCardRequestOutcome(any());
+        assertTrue(!captor.getValue().isBefore(before.plusSeconds(30)));
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#recordOutcome(CardRequest, ResponseEntity, Throwable)}.
+     * Method releases a card request which was not sent for at least the initial backoff.
+     */
+    @Test
+    void testRecordOutcomeWorksCorrectlyWhenCardRequestIsNotSent() {
+        LocalDateTime before = LocalDateTime.now();
+
+        cardRequestDispatcher.recordOutcome(cardRequest, null, new CompletionException(new CardRequestNotSentException(
+                "Too many card requests are in progress, please try again later.", Duration.ZERO)));
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(cardRequestOutboxRepository).releaseCardRequest(eq(cardRequest), captor.capture(), any());
+        assertTrue(!captor.getValue().isBefore(before.plus(creditCardApiProperties.getOutbox().getInitialBackoff())));
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#recordOutcome(CardRequest, ResponseEntity, Throwable)}.
+     * Method releases a card request which was not sent at most until it reaches its maximum age.
+     */
+    @Test
+    void testRecordOutcomeWorksCorrectlyWhenCardRequestIsNotSentCloseToMaxAge() {
+        CardRequest oldCardRequest = cardRequest.toBuilder().createdAt(LocalDateTime.now().minusMinutes(59)).build();
+
+        cardRequestDispatcher.recordOutcome(oldCardRequest, null, new CardRequestNotSentException(
+                "Card issuer is unavailable, please try again later.", Duration.ofMinutes(5)));
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(cardRequestOutboxRepository).releaseCardRequest(eq(oldCardRequest), captor.capture(), any());
+        assertTrue(!captor.getValue().isAfter(oldCardRequest.getCreatedAt().plusHours(1)));
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#recordOutcome(CardRequest, ResponseEntity, Throwable)}.
+     * Method fails a card request which was not sent once it is past its maximum age, instead of releasing it again.
+     */
+    @Test
+    void testRecordOutcomeWorksCorrectlyWhenCardRequestIsNotSentPastMaxAge() {
+        CardRequest oldCardRequest = cardRequest.toBuilder().createdAt(LocalDateTime.now().minusHours(2)).build();
+
+        cardRequestDispatcher.recordOutcome(oldCardRequest, null, new CardRequestNotSentException(
+                "Card issuer is unavailable, please try again later.", Duration.ofSeconds(30)));
+
+        ArgumentCaptor<CardRequest> captor = ArgumentCaptor.forClass(CardRequest.class);
+        verify(cardRequestOutboxRepository).updateCardRequestOutcome(captor.capture());
+        verify(cardRequestOutboxRepository, never()).releaseCardRequest(any(), any(), any());
+        assertEquals(CardRequestStatus.FAILED, captor.getValue().getStatus());
+        assertEquals(1, captor.getValue().getAttempts());
+        assertEquals("Card issuer is unavailable, please try again later.", captor.getValue().getLastError());
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#recordOutcome(CardRequest, ResponseEntity, Throwable)}.
+     * Method counts an attempt which failed with an unexpected error like a server error.
+     */
+    @Test
+    void testRecordOutcomeWorksCorrectlyWhenUnexpectedErrorOccurs() {
+        cardRequestDispatcher.recordOutcome(cardRequest, null, new CompletionException(new IllegalStateException("Test")));
+
+        ArgumentCaptor<CardRequest> captor = ArgumentCaptor.forClass(CardRequest.class);
+        verify(cardRequestOutboxRepository).updateCardRequestOutcome(captor.capture());
+        verify(cardRequestOutboxRepository, never()).releaseCardRequest(any(), any(), any());
+        assertEquals(CardRequestStatus.PENDING, captor.getValue().getStatus());
+        assertEquals(500, captor.getValue().getLastResponseStatus());
+        assertEquals("An error occurred: Test", captor.getValue().getLastError());
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#outcome(CardRequest, ResponseEntity)}.
+     * Method schedules a retry at a random time within the exponential backoff when the card issuer fails.
+     */
+    @Test
+    void testOutcomeWorksCorrectlyWhenCardIssuerFails() {
+        CardRequest thirdAttempt = cardRequest.toBuilder().attempts(3).build();
+        LocalDateTime before = LocalDateTime.now();
+
+        CardRequest result = cardRequestDispatcher.outcome(thirdAttempt, ResponseEntity.status(502).body("Bad gateway"));
+
+        assertEquals(CardRequestStatus.PENDING, result.getStatus());
+        assertEquals(502, result.getLastResponseStatus());
+        assertEquals("Bad gateway", result.getLastError());
+        assertTrue(!result.getNextAttemptAt().isBefore(before));
+        assertTrue(!result.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(4)));
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#outcome(CardRequest, ResponseEntity)}.
+     * Method waits at least as long as the card issuer asked for.
+     */
+    @Test
+    void testOutcomeWorksCorrectlyWhenCardIssuerAsksToRetryLater() {
+        LocalDateTime before = LocalDateTime.now();
+
+        CardRequest result = cardRequestDispatcher.outcome(cardRequest, ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body("Card issuer is unavailable, please try again later."));
+
+        assertEquals(CardRequestStatus.PENDING, result.getStatus());
+        assertTrue(!result.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#outcome(CardRequest, ResponseEntity)}.
+     * Method waits no longer than the maximum backoff and the time left until the maximum age,
+     * however long the card issuer asked to wait.
+     */
+    @Test
+    void testOutcomeWorksCorrectlyWhenCardIssuerAsksToRetryTooLate() {
+        ResponseEntity<String> response = ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "86400")
+                .body("Card issuer is unavailable, please try again later.");
+        CardRequest oldCardRequest = cardRequest.toBuilder().createdAt(LocalDateTime.now().minusMinutes(58)).build();
+        LocalDateTime before = LocalDateTime.now();
+
+        CardRequest result = cardRequestDispatcher.outcome(cardRequest, response);
+        CardRequest oldResult = cardRequestDispatcher.outcome(oldCardRequest, response);
+
+        assertEquals(CardRequestStatus.PENDING, result.getStatus());
+        assertTrue(!result.getNextAttemptAt().isBefore(before.plusMinutes(5)));
+        assertTrue(!result.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(5)));
+        assertEquals(CardRequestStatus.PENDING, oldResult.getStatus());
+        assertEquals(oldCardRequest.getCreatedAt().plusHours(1), oldResult.getNextAttemptAt());
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#outcome(CardRequest, ResponseEntity)}.
+     * Method stops retrying a card request once it is past its maximum age, even with attempts left.
+     */
+    @Test
+    void testOutcomeWorksCorrectlyWhenMaxAgeIsReached() {
+        CardRequest oldCardRequest = cardRequest.toBuilder().createdAt(LocalDateTime.now().minusHours(1)).build();
+
+        CardRequest result = cardRequestDispatcher.outcome(oldCardRequest, ResponseEntity.status(503).body("Unavailable"));
+
+        assertEquals(CardRequestStatus.FAILED, result.getStatus());
+        assertEquals("Unavailable", result.getLastError());
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#outcome(CardRequest, ResponseEntity)}.
+     * Method does not retry a card request the card issuer rejected.
+     */
+    @Test
+    void testOutcomeWorksCorrectlyWhenCardIssuerRejectsCardRequest() {
+        CardRequest result = cardRequestDispatcher.outcome(cardRequest, ResponseEntity.badRequest().body("Invalid OIB"));
+
+        assertEquals(CardRequestStatus.FAILED, result.getStatus());
+        assertEquals("Invalid OIB", result.getLastError());
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#outcome(CardRequest, ResponseEntity)}.
+     * Method stops retrying a card request after the maximum number of attempts.
+     */
+    @Test
+    void testOutcomeWorksCorrectlyWhenMaxAttemptsAreReached() {
+        CardRequest lastAttempt = cardRequest.toBuilder().attempts(10).build();
+
+        CardRequest result = cardRequestDispatcher.outcome(lastAttempt, ResponseEntity.internalServerError().body("Error"));
+
+        assertEquals(CardRequestStatus.FAILED, result.getStatus());
+    }
+
+    /**
+     * Test for {@link CardRequestDispatcher#outcome(CardRequest, ResponseEntity)}.
+     * Method never waits longer than the maximum backoff.
+     */
+    @Test
+    void testOutcomeWorksCorrectlyWhenBackoffExceedsMaximum() {
+        creditCardApiProperties.getOutbox().setMaxAttempts(100);
+        creditCardApiProperties.getOutbox().setMaxBackoff(Duration.ofMinutes(1));
+        CardRequest laterAttempt = cardRequest.toBuilder().attempts(60).build();
+        LocalDateTime before = LocalDateTime.now();
+
+        CardRequest result = cardRequestDispatcher.outcome(laterAttempt, ResponseEntity.internalServerError().body("Error"));
+
+        assertTrue(result.getNextAttemptAt().isBefore(before.plusSeconds(61)));
+        assertNull(cardRequest.getLastError());
+    }
+
+}
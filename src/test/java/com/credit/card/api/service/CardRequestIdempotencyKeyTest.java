@@ -0,0 +1,29 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.entity.Status;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Unit tests for the class {@link CardRequestIdempotencyKey}.
+ */
+class CardRequestIdempotencyKeyTest extends AbstractUnitTest {
+
+    /**
+     * Test for {@link CardRequestIdempotencyKey#of(String, Status)}.
+     * Method derives the same key for the same applicant and status, and a different key when the status changes.
+     */
+    @Test
+    void testOfWorksCorrectly() {
+        String key = CardRequestIdempotencyKey.of("12345678903", Status.APPROVED);
+
+        assertEquals(64, key.length());
+        assertEquals(key, CardRequestIdempotencyKey.of("12345678903", Status.APPROVED));
+        assertNotEquals(key, CardRequestIdempotencyKey.of("12345678903", Status.REJECTED));
+        assertNotEquals(key, CardRequestIdempotencyKey.of("12345678911", Status.APPROVED));
+    }
+
+}
@@ -0,0 +1,250 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CardRequest;
+import com.credit.card.api.entity.CardRequestStatus;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.exception.EntityNotFoundException;
+import com.credit.card.api.mapper.CreditCardApplicationMapper;
+import com.credit.card.api.repository.CardRequestOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the class {@link CardRequestOutboxService}.
+ */
+class CardRequestOutboxServiceTest extends AbstractUnitTest {
+
+    @InjectMocks
+    private CardRequestOutboxService cardRequestOutboxService;
+
+    @Mock
+    private CardRequestOutboxRepository cardRequestOutboxRepository;
+
+    @Mock
+    private CreditCardApplicationService creditCardApplicationService;
+
+    @Mock
+    private CreditCardApplicationMapper creditCardApplicationMapper;
+
+    @Spy
+    private CreditCardApiProperties creditCardApiProperties = new CreditCardApiProperties();
+
+    private CreditCardApplication creditCardApplication;
+    private NewCardRequest newCardRequest;
+    private String idempotencyKey;
+
+    /**
+     * Initializes the test data.
+     */
+    @BeforeEach
+    void init() {
+        creditCardApplication = CreditCardApplication.builder()
+                .creditCardApplicantId("12345678903")
+                .creditCardApplicantName("John")
+                .creditCardApplicantSurname("Doe")
+                .creditCardApplicationStatus(Status.APPROVED)
+                .build();
+
+        newCardRequest = NewCardRequest.builder()
+                .oib("12345678903")
+                .firstName("John")
+                .lastName("Doe")
+                .status(Status.APPROVED)
+                .build();
+
+        idempotencyKey = CardRequestIdempotencyKey.of("12345678903", Status.APPROVED);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#addCardRequest(String)}.
+     * Method records a pending card request which is due immediately.
+     */
+    @Test
+    void testAddCardRequestWorksCorrectly() {
+        when(creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903")).thenReturn(creditCardApplication);
+        when(creditCardApplicationMapper.toNewCardRequest(creditCardApplication)).thenReturn(newCardRequest);
+        when(cardRequestOutboxRepository.getCardRequestByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
+        when(cardRequestOutboxRepository.addCardRequest(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CardRequest result = cardRequestOutboxService.addCardRequest("12345678903");
+
+        ArgumentCaptor<CardRequest> captor = ArgumentCaptor.forClass(CardRequest.class);
+        verify(cardRequestOutboxRepository).addCardRequest(captor.capture());
+        assertEquals(idempotencyKey, captor.getValue().getIdempotencyKey());
+        assertEquals(CardRequestStatus.PENDING, captor.getValue().getStatus());
+        assertEquals(0, captor.getValue().getAttempts());
+        assertEquals(newCardRequest, captor.getValue().getNewCardRequest());
+        assertEquals(captor.getValue().getCreatedAt(), captor.getValue().getNextAttemptAt());
+        assertEquals(captor.getValue(), result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#addCardRequest(String)}.
+     * Method does not record another card request while the card request with the same idempotency key was not sent yet.
+     */
+    @Test
+    void testAddCardRequestWorksCorrectlyWhenCardRequestIsOutstanding() {
+        CardRequest outstanding = CardRequest.builder()
+                .cardRequestId(1L)
+                .creditCardApplicantId("12345678903")
+                .status(CardRequestStatus.IN_PROGRESS)
+                .build();
+        when(creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903")).thenReturn(creditCardApplication);
+        when(cardRequestOutboxRepository.getCardRequestByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(outstanding));
+
+        CardRequest result = cardRequestOutboxService.addCardRequest("12345678903");
+
+        verify(cardRequestOutboxRepository, never()).addCardRequest(any());
+        assertEquals(outstanding, result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#addCardRequest(String)}.
+     * Method returns the stored response of the card issuer when the card request with the same idempotency key was sent.
+     */
+    @Test
+    void testAddCardRequestWorksCorrectlyWhenCardRequestWasSent() {
+        CardRequest sent = CardRequest.builder()
+                .cardRequestId(1L)
+                .creditCardApplicantId("12345678903")
+                .idempotencyKey(idempotencyKey)
+                .status(CardRequestStatus.SENT)
+                .cardIssuerResponse("{\"cardRequestId\":\"42\"}")
+                .build();
+        when(creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903")).thenReturn(creditCardApplication);
+        when(cardRequestOutboxRepository.getCardRequestByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(sent));
+
+        CardRequest result = cardRequestOutboxService.addCardRequest("12345678903");
+
+        verify(cardRequestOutboxRepository, never()).addCardRequest(any());
+        assertEquals(sent, result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#addCardRequest(String)}.
+     * Method queues the card request with the same idempotency key again when it failed.
+     */
+    @Test
+    void testAddCardRequestWorksCorrectlyWhenCardRequestFailed() {
+        CardRequest failed = CardRequest.builder()
+                .cardRequestId(1L)
+                .creditCardApplicantId("12345678903")
+                .idempotencyKey(idempotencyKey)
+                .status(CardRequestStatus.FAILED)
+                .attempts(10)
+                .lastResponseStatus(500)
+                .lastError("Error")
+                .build();
+        when(creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903")).thenReturn(creditCardApplication);
+        when(cardRequestOutboxRepository.getCardRequestByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(failed));
+        when(cardRequestOutboxRepository.retryFailedCardRequest(eq(failed), any())).thenReturn(1);
+
+        CardRequest result = cardRequestOutboxService.addCardRequest("12345678903");
+
+        verify(cardRequestOutboxRepository, never()).addCardRequest(any());
+        assertEquals(1L, result.getCardRequestId());
+        assertEquals(CardRequestStatus.PENDING, result.getStatus());
+        assertEquals(0, result.getAttempts());
+        assertNull(result.getLastError());
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#addCardRequest(String)}.
+     * Method returns the card request recorded by a concurrent call with the same idempotency key.
+     */
+    @Test
+    void testAddCardRequestWorksCorrectlyWhenCardRequestIsRecordedConcurrently() {
+        CardRequest concurrent = CardRequest.builder()
+                .cardRequestId(2L)
+                .idempotencyKey(idempotencyKey)
+                .status(CardRequestStatus.PENDING)
+                .build();
+        when(creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903")).thenReturn(creditCardApplication);
+        when(creditCardApplicationMapper.toNewCardRequest(creditCardApplication)).thenReturn(newCardRequest);
+        when(cardRequestOutboxRepository.getCardRequestByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.empty(), Optional.of(concurrent));
+        when(cardRequestOutboxRepository.addCardRequest(any())).thenThrow(new DuplicateKeyException("Duplicate"));
+
+        CardRequest result = cardRequestOutboxService.addCardRequest("12345678903");
+
+        assertEquals(concurrent, result);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#addCardRequest(String)}.
+     * Method does not record a card request when the credit card application does not exist.
+     */
+    @Test
+    void testAddCardRequestWorksCorrectlyWhenApplicationDoesNotExist() {
+        when(creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903"))
+                .thenThrow(new EntityNotFoundException("No credit card application with given personal id was found."));
+
+        assertThrows(EntityNotFoundException.class, () -> cardRequestOutboxService.addCardRequest("12345678903"));
+
+        verifyNoInteractions(cardRequestOutboxRepository);
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#getCardRequestByPersonalId(String)}.
+     * Method returns the most recent card request.
+     */
+    @Test
+    void testGetCardRequestByPersonalIdWorksCorrectly() {
+        CardRequest cardRequest = CardRequest.builder()
+                .cardRequestId(1L)
+                .status(CardRequestStatus.SENT)
+                .build();
+        when(cardRequestOutboxRepository.getLatestCardRequestByPersonalId("12345678903")).thenReturn(Optional.of(cardRequest));
+
+        assertEquals(cardRequest, cardRequestOutboxService.getCardRequestByPersonalId("12345678903"));
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#getCardRequestByPersonalId(String)}.
+     * Method works correctly when the applicant has no card requests.
+     */
+    @Test
+    void testGetCardRequestByPersonalIdWorksCorrectlyWhenNoCardRequestIsFound() {
+        when(cardRequestOutboxRepository.getLatestCardRequestByPersonalId("12345678903")).thenReturn(Optional.empty());
+
+        EntityNotFoundException entityNotFoundException = assertThrows(
+                EntityNotFoundException.class,
+                () -> cardRequestOutboxService.getCardRequestByPersonalId("12345678903")
+        );
+
+        assertEquals("No card request with given personal id was found.", entityNotFoundException.getMessage());
+    }
+
+    /**
+     * Test for {@link CardRequestOutboxService#getCardRequestByPersonalId(String)}.
+     * Method works correctly when the ID is invalid.
+     */
+    @Test
+    void testGetCardRequestByPersonalIdWorksCorrectlyWhenIdIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> cardRequestOutboxService.getCardRequestByPersonalId("123"));
+
+        verifyNoInteractions(cardRequestOutboxRepository);
+    }
+
+}
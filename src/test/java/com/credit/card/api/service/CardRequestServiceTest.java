@@ -1,22 +1,43 @@
 package com.credit.card.api.service;
 
 import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CardIssuerCircuitBreakerConfig;
+import com.credit.card.api.config.CreditCardApiProperties;
 import com.credit.card.api.entity.NewCardRequest;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.exception.CardRequestNotSentException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,6 +53,13 @@ class CardRequestServiceTest extends AbstractUnitTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private CreditCardApiProperties creditCardApiProperties = new CreditCardApiProperties();
+
+    @Spy
+    private CircuitBreaker circuitBreaker = CircuitBreaker.of(CardIssuerCircuitBreakerConfig.CARD_ISSUER,
+            CardIssuerCircuitBreakerConfig.createCircuitBreakerConfig(new CreditCardApiProperties.CardRequest().getCircuitBreaker()));
+
     private NewCardRequest newCardRequest;
 
     /**
@@ -43,9 +71,18 @@ class CardRequestServiceTest extends AbstractUnitTest {
                 .oib("12345678901")
                 .firstName("John")
                 .lastName("Doe")
+                .status(Status.APPROVED)
                 .build();
     }
 
+    /**
+     * Stops the thread pool of the service.
+     */
+    @AfterEach
+    void shutdown() {
+        cardRequestService.shutdown();
+    }
+
     /**
      * Test for {@link CardRequestService#sendCardRequest(NewCardRequest)}.
      * Method should send a card request and return a response entity.
@@ -96,4 +133,201 @@ class CardRequestServiceTest extends AbstractUnitTest {
         assertEquals(ResponseEntity.internalServerError().body("An error occurred: " + exception.getMessage()), response);
     }
 
+    /**
+     * Test for {@link CardRequestService#sendCardRequestAsync(NewCardRequest)}.
+     * Method should send a card request from another thread and complete the future with the response entity.
+     */
+    @Test
+    void testSendCardRequestAsyncWorksCorrectly() {
+        Thread caller = Thread.currentThread();
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(invocation -> ResponseEntity.ok(Thread.currentThread() == caller ? "caller" : "pool"));
+
+        ResponseEntity<String> response = cardRequestService.sendCardRequestAsync(newCardRequest).join();
+
+        assertEquals(ResponseEntity.ok("pool"), response);
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequestAsync(NewCardRequest)}.
+     * Method should map errors in the same way as {@link CardRequestService#sendCardRequest(NewCardRequest)}.
+     */
+    @Test
+    void testSendCardRequestAsyncWorksCorrectlyWhenClientErrorOccurs() {
+        HttpClientErrorException httpClientErrorException = new HttpClientErrorException(HttpStatusCode.valueOf(404));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(httpClientErrorException);
+
+        ResponseEntity<String> response = cardRequestService.sendCardRequestAsync(newCardRequest).join();
+
+        assertEquals(ResponseEntity.status(404).body(httpClientErrorException.getResponseBodyAsString()), response);
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequestAsync(NewCardRequest)}.
+     * Method should not send a card request when too many card requests are in flight and fail the future
+     * with a {@link CardRequestNotSentException}.
+     */
+    @Test
+    void testSendCardRequestAsyncWorksCorrectlyWhenTooManyCardRequestsAreInFlight() throws InterruptedException {
+        creditCardApiProperties.getCardRequest().setMaxInFlight(1);
+        CardRequestService limitedCardRequestService = new CardRequestService(restTemplate, creditCardApiProperties, circuitBreaker);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    return ResponseEntity.ok("Test");
+                });
+
+        try {
+            CompletableFuture<ResponseEntity<String>> first = limitedCardRequestService.sendCardRequestAsync(newCardRequest);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<ResponseEntity<String>> rejected = limitedCardRequestService.sendCardRequestAsync(newCardRequest);
+            release.countDown();
+
+            CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(CardRequestNotSentException.class, exception.getCause());
+            assertEquals(ResponseEntity.ok("Test"), first.join());
+            assertEquals(ResponseEntity.ok("Test"), limitedCardRequestService.sendCardRequestAsync(newCardRequest).join());
+        } finally {
+            release.countDown();
+            limitedCardRequestService.shutdown();
+        }
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequestAsync(NewCardRequest)}.
+     * Method should complete the future with an error when the HTTP client aborts a card request the card issuer
+     * does not answer in time, and free its place among the card requests in flight.
+     */
+    @Test
+    void testSendCardRequestAsyncWorksCorrectlyWhenCardIssuerTimesOut() {
+        creditCardApiProperties.getCardRequest().setMaxInFlight(1);
+        CardRequestService limitedCardRequestService = new CardRequestService(restTemplate, creditCardApiProperties, circuitBreaker);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenReturn(ResponseEntity.ok("Test"));
+
+        try {
+            ResponseEntity<String> response = limitedCardRequestService.sendCardRequestAsync(newCardRequest).join();
+
+            assertEquals(ResponseEntity.internalServerError().body("An error occurred: Read timed out"), response);
+            assertEquals(ResponseEntity.ok("Test"), limitedCardRequestService.sendCardRequestAsync(newCardRequest).join());
+        } finally {
+            limitedCardRequestService.shutdown();
+        }
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequestAsync(NewCardRequest)}.
+     * Method should send the card request on the calling thread when asynchronous sending is disabled.
+     */
+    @Test
+    void testSendCardRequestAsyncWorksCorrectlyWhenAsyncIsDisabled() {
+        creditCardApiProperties.getCardRequest().setAsync(false);
+        CardRequestService syncCardRequestService = new CardRequestService(restTemplate, creditCardApiProperties, circuitBreaker);
+        Thread caller = Thread.currentThread();
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(invocation -> ResponseEntity.ok(Thread.currentThread() == caller ? "caller" : "pool"));
+
+        CompletableFuture<ResponseEntity<String>> response = syncCardRequestService.sendCardRequestAsync(newCardRequest);
+
+        assertTrue(response.isDone());
+        assertEquals(ResponseEntity.ok("caller"), response.join());
+        syncCardRequestService.shutdown();
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequest(NewCardRequest)}.
+     * Method should not send a card request while the circuit breaker is open and ask to retry it later.
+     */
+    @Test
+    void testSendCardRequestWorksCorrectlyWhenCircuitIsOpen() {
+        circuitBreaker.transitionToOpenState();
+
+        CardRequestNotSentException exception = assertThrows(
+                CardRequestNotSentException.class,
+                () -> cardRequestService.sendCardRequest(newCardRequest)
+        );
+
+        verify(restTemplate, never())
+                .exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class));
+        assertEquals("Card issuer is unavailable, please try again later.", exception.getMessage());
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequest(NewCardRequest)}.
+     * Method should open the circuit breaker when too many card requests fail because of server errors.
+     */
+    @Test
+    void testSendCardRequestWorksCorrectlyWhenServerErrorsOpenTheCircuit() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatusCode.valueOf(502)));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, cardRequestService.sendCardRequest(newCardRequest).getStatusCode());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(cardRequestService.sendCardRequestAsync(newCardRequest).isCompletedExceptionally());
+        verify(restTemplate, times(20))
+                .exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class));
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequest(NewCardRequest)}.
+     * Method should not open the circuit breaker when card requests fail because of client errors.
+     */
+    @Test
+    void testSendCardRequestWorksCorrectlyWhenClientErrorsDoNotOpenTheCircuit() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatusCode.valueOf(400)));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(HttpStatus.BAD_REQUEST, cardRequestService.sendCardRequest(newCardRequest).getStatusCode());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequest(NewCardRequest)}.
+     * Method should send the idempotency key derived from the applicant's ID and status.
+     */
+    @Test
+    void testSendCardRequestWorksCorrectlyWithIdempotencyKey() {
+        ArgumentCaptor<HttpEntity> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), captor.capture(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("Test"));
+
+        cardRequestService.sendCardRequest(newCardRequest);
+
+        assertEquals(CardRequestIdempotencyKey.of("12345678901", Status.APPROVED),
+                captor.getValue().getHeaders().getFirst(CardRequestIdempotencyKey.HEADER));
+    }
+
+    /**
+     * Test for {@link CardRequestService#sendCardRequest(NewCardRequest)}.
+     * Method should send a card request which failed because of a server error or an I/O error only once,
+     * leaving the retries to the outbox.
+     */
+    @Test
+    void testSendCardRequestWorksCorrectlyWhenTransientErrorsOccur() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatusCode.valueOf(503)))
+                .thenThrow(new ResourceAccessException("Connection reset"));
+
+        ResponseEntity<String> serverError = cardRequestService.sendCardRequest(newCardRequest);
+        ResponseEntity<String> ioError = cardRequestService.sendCardRequest(newCardRequest);
+
+        verify(restTemplate, times(2))
+                .exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), any(Class.class));
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, serverError.getStatusCode());
+        assertEquals(ResponseEntity.internalServerError().body("An error occurred: Connection reset"), ioError);
+    }
+
 }
@@ -0,0 +1,125 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.ArchiveCheckpoint;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.repository.CreditCardApplicationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the class {@link CreditCardApplicationArchiver}.
+ */
+class CreditCardApplicationArchiverTest extends AbstractUnitTest {
+
+    @Mock
+    private CreditCardApplicationRepository creditCardApplicationRepository;
+
+    @Mock
+    private CreditCardApplicationService creditCardApplicationService;
+
+    private CreditCardApiProperties creditCardApiProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private CreditCardApplicationArchiver creditCardApplicationArchiver;
+
+    /**
+     * Initializes the archiver with chunks of two credit card applications and no pause between them.
+     */
+    @BeforeEach
+    void init() {
+        creditCardApiProperties = new CreditCardApiProperties();
+        creditCardApiProperties.getArchive().setChunkSize(2);
+        creditCardApiProperties.getArchive().setPause(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        creditCardApplicationArchiver = new CreditCardApplicationArchiver(
+                creditCardApplicationRepository, creditCardApplicationService, creditCardApiProperties, meterRegistry);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationArchiver#archiveCreditCardApplications()}.
+     * Method archives one status after the other, chunk by chunk, each chunk after the last applicant's ID of the previous one,
+     * and completes the run.
+     */
+    @Test
+    void testArchiveCreditCardApplicationsWorksCorrectly() {
+        when(creditCardApplicationRepository.getArchivableIds(any(), any(), any(), eq(2))).thenReturn(List.of());
+        when(creditCardApplicationRepository.getArchivableIds(isNull(), eq(Status.REJECTED), any(), eq(2)))
+                .thenReturn(List.of("12345678903", "12345678911"));
+        when(creditCardApplicationRepository.getArchivableIds(eq("12345678911"), eq(Status.REJECTED), any(), eq(2)))
+                .thenReturn(List.of("12345678920"));
+        when(creditCardApplicationService.archiveCreditCardApplications(
+                eq(List.of("12345678903", "12345678911")), eq(Status.REJECTED), any(), any()))
+                .thenReturn(List.of("12345678903", "12345678911"));
+        when(creditCardApplicationService.archiveCreditCardApplications(
+                eq(List.of("12345678920")), eq(Status.REJECTED), any(), any()))
+                .thenReturn(List.of());
+
+        creditCardApplicationArchiver.archiveCreditCardApplications();
+
+        ArgumentCaptor<ArchiveCheckpoint> checkpointCaptor = ArgumentCaptor.forClass(ArchiveCheckpoint.class);
+        verify(creditCardApplicationService, times(2)).archiveCreditCardApplications(
+                any(), eq(Status.REJECTED), any(), checkpointCaptor.capture());
+        assertEquals(List.of("12345678911", "12345678920"), checkpointCaptor.getAllValues().stream()
+                .map(ArchiveCheckpoint::getCreditCardApplicantId)
+                .toList());
+        verify(creditCardApplicationRepository).getArchivableIds(isNull(), eq(Status.CANCELLED), any(), eq(2));
+        verify(creditCardApplicationRepository).getArchivableIds(isNull(), eq(Status.EXPIRED), any(), eq(2));
+        verify(creditCardApplicationRepository).saveArchiveCheckpoint(null);
+        assertEquals(2, meterRegistry.get("credit.card.archive.archived").counter().count());
+        assertEquals(2, meterRegistry.get("credit.card.archive.chunks").timer().count());
+        assertTrue(meterRegistry.get("credit.card.archive.last.completed").gauge().value() > 0);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationArchiver#archiveCreditCardApplications()}.
+     * Method continues in the status and after the applicant's ID of the checkpoint left by an interrupted run.
+     */
+    @Test
+    void testArchiveCreditCardApplicationsWorksCorrectlyAfterInterruptedRun() {
+        when(creditCardApplicationRepository.getArchiveCheckpoint()).thenReturn(ArchiveCheckpoint.builder()
+                .status(Status.CANCELLED)
+                .creditCardApplicantId("12345678911")
+                .build());
+        when(creditCardApplicationRepository.getArchivableIds(any(), any(), any(), eq(2))).thenReturn(List.of());
+
+        creditCardApplicationArchiver.archiveCreditCardApplications();
+
+        verify(creditCardApplicationRepository).getArchivableIds(eq("12345678911"), eq(Status.CANCELLED), any(), eq(2));
+        verify(creditCardApplicationRepository).getArchivableIds(isNull(), eq(Status.EXPIRED), any(), eq(2));
+        verify(creditCardApplicationRepository, never()).getArchivableIds(any(), eq(Status.REJECTED), any(), eq(2));
+        verifyNoInteractions(creditCardApplicationService);
+        verify(creditCardApplicationRepository).saveArchiveCheckpoint(null);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationArchiver#archiveCreditCardApplications()}.
+     * Method does nothing when the archival is disabled.
+     */
+    @Test
+    void testArchiveCreditCardApplicationsWorksCorrectlyWhenDisabled() {
+        creditCardApiProperties.getArchive().setEnabled(false);
+
+        creditCardApplicationArchiver.archiveCreditCardApplications();
+
+        verifyNoInteractions(creditCardApplicationRepository, creditCardApplicationService);
+    }
+
+}
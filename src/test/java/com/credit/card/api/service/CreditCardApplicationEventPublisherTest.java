@@ -0,0 +1,300 @@
+package com.credit.card.api.service;
+
+import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.CreditCardApplicationEvent;
+import com.credit.card.api.entity.CreditCardApplicationEventType;
+import com.credit.card.api.entity.Status;
+import com.credit.card.api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the class {@link CreditCardApplicationEventPublisher}.
+ */
+class CreditCardApplicationEventPublisherTest extends AbstractUnitTest {
+
+    private CreditCardApiProperties creditCardApiProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private CreditCardApplicationEventPublisher eventPublisher;
+    // sending to the subscribers waits for this latch, which lets a test make them slow
+    private volatile CountDownLatch sendLatch = new CountDownLatch(0);
+
+    /**
+     * Initializes the publisher with emitters which record the events sent to them.
+     */
+    @BeforeEach
+    void init() {
+        creditCardApiProperties = new CreditCardApiProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        eventPublisher = new CreditCardApplicationEventPublisher(creditCardApiProperties, meterRegistry) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    /**
+     * Closes the subscriptions and releases any slow subscriber.
+     */
+    @AfterEach
+    void tearDown() {
+        sendLatch.countDown();
+        eventPublisher.shutdown();
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationEventPublisher#subscribe(Set, String)}.
+     * Method works correctly and sends the events of the credit card applications with the given statuses, and all deletions.
+     */
+    @Test
+    void testSubscribeWorksCorrectlyWithStatuses() throws InterruptedException {
+        RecordingEmitter emitter = (RecordingEmitter) eventPublisher.subscribe(EnumSet.of(Status.PENDING), null);
+
+        eventPublisher.onAdded(creditCardApplication("12345678903", Status.PENDING));
+        eventPublisher.onAdded(creditCardApplication("12345678911", Status.APPROVED));
+        eventPublisher.onStatusChanged(List.of("12345678911"), Status.PENDING);
+        eventPublisher.onStatusReplaced(List.of(Status.APPROVED), Status.REJECTED);
+        eventPublisher.onDeleted("12345678920");
+
+        SentEvent created = emitter.take();
+        assertEquals(CreditCardApplicationEventType.CREATED, created.event().getType());
+        assertEquals("12345678903", created.event().getCreditCardApplicantId());
+        assertEquals(1L, created.event().getVersion());
+        assertTrue(created.id().endsWith("-1"), created.id());
+        assertEquals("UPDATED 12345678911 " + created.stream() + "-3", emitter.take().toString());
+        assertEquals("DELETED 12345678920 " + created.stream() + "-5", emitter.take().toString());
+        assertNull(emitter.sent.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, meterRegistry.get("credit.card.events.subscribers").gauge().value());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationEventPublisher#subscribe(Set, String)}.
+     * Method works correctly and sends the missed events to a subscriber which reconnects with the ID of the last event it received.
+     */
+    @Test
+    void testSubscribeWorksCorrectlyWithLastEventId() throws InterruptedException {
+        RecordingEmitter emitter = (RecordingEmitter) eventPublisher.subscribe(Set.of(), null);
+        eventPublisher.onAdded(creditCardApplication("12345678903", Status.PENDING));
+        eventPublisher.onSaved(creditCardApplication("12345678911", Status.APPROVED));
+        eventPublisher.onStatusReplaced(List.of(Status.PENDING), Status.EXPIRED);
+        String lastEventId = emitter.take().id();
+
+        RecordingEmitter resumed = (RecordingEmitter) eventPublisher.subscribe(EnumSet.of(Status.PENDING), lastEventId);
+        eventPublisher.onDeleted("12345678903");
+
+        SentEvent replaced = resumed.take();
+        assertEquals(CreditCardApplicationEventType.STATUS_REPLACED, replaced.event().getType());
+        assertEquals(List.of(Status.PENDING), replaced.event().getPreviousStatuses());
+        assertEquals(Status.EXPIRED, replaced.event().getCreditCardApplicationStatus());
+        assertEquals("DELETED 12345678903 " + replaced.stream() + "-4", resumed.take().toString());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationEventPublisher#subscribe(Set, String)}.
+     * Method works correctly and resets a subscriber which reconnects with an unknown ID or after the events it missed were discarded.
+     */
+    @Test
+    void testSubscribeWorksCorrectlyWhenLastEventIdIsNotKept() throws InterruptedException {
+        creditCardApiProperties.getEvents().setReplaySize(2);
+        RecordingEmitter emitter = (RecordingEmitter) eventPublisher.subscribe(Set.of(), null);
+        for (String id : List.of("12345678903", "12345678911", "12345678920", "12345678938")) {
+            eventPublisher.onDeleted(id);
+        }
+        SentEvent first = emitter.take();
+
+        RecordingEmitter discarded = (RecordingEmitter) eventPublisher.subscribe(Set.of(), first.id());
+        RecordingEmitter unknown = (RecordingEmitter) eventPublisher.subscribe(Set.of(), "other-1");
+        RecordingEmitter future = (RecordingEmitter) eventPublisher.subscribe(Set.of(), first.stream() + "-9");
+
+        assertEquals("RESET null " + first.stream() + "-4", discarded.take().toString());
+        assertEquals("RESET null " + first.stream() + "-4", unknown.take().toString());
+        assertEquals("RESET null " + first.stream() + "-4", future.take().toString());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationEventPublisher#subscribe(Set, String)}.
+     * Method works correctly and disconnects a subscriber whose buffer is full.
+     */
+    @Test
+    void testSubscribeWorksCorrectlyWhenSubscriberIsSlow() {
+        creditCardApiProperties.getEvents().setBufferSize(2);
+        sendLatch = new CountDownLatch(1);
+        RecordingEmitter emitter = (RecordingEmitter) eventPublisher.subscribe(Set.of(), null);
+
+        for (String id : List.of("12345678903", "12345678911", "12345678920")) {
+            eventPublisher.onDeleted(id);
+        }
+
+        assertTrue(emitter.completed);
+        assertEquals(0, eventPublisher.getNumberOfSubscribers());
+        assertEquals(1, meterRegistry.get("credit.card.events.disconnected").counter().count());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationEventPublisher#subscribe(Set, String)}.
+     * Method works correctly and drops the oldest events of a subscriber whose buffer is full, telling it to reset.
+     */
+    @Test
+    void testSubscribeWorksCorrectlyWhenSubscriberIsSlowAndOldestEventsAreDropped() throws InterruptedException {
+        creditCardApiProperties.getEvents().setBufferSize(2);
+        creditCardApiProperties.getEvents().setOverflowPolicy(CreditCardApiProperties.OverflowPolicy.DROP_OLDEST);
+        sendLatch = new CountDownLatch(1);
+        RecordingEmitter emitter = (RecordingEmitter) eventPublisher.subscribe(Set.of(), null);
+
+        for (String id : List.of("12345678903", "12345678911", "12345678920", "12345678938")) {
+            eventPublisher.onDeleted(id);
+        }
+        sendLatch.countDown();
+
+        SentEvent reset = emitter.take();
+        assertEquals(CreditCardApplicationEventType.RESET, reset.event().getType());
+        assertTrue(reset.id().endsWith("-2"), reset.id());
+        assertEquals("DELETED 12345678920 " + reset.stream() + "-3", emitter.take().toString());
+        assertEquals("DELETED 12345678938 " + reset.stream() + "-4", emitter.take().toString());
+        assertEquals(2, meterRegistry.get("credit.card.events.dropped").counter().count());
+        assertEquals(1, eventPublisher.getNumberOfSubscribers());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationEventPublisher#subscribe(Set, String)}.
+     * Method works correctly when the largest number of subscribers is already connected.
+     */
+    @Test
+    void testSubscribeWorksCorrectlyWhenTooManySubscribersAreConnected() {
+        creditCardApiProperties.getEvents().setMaxSubscribers(1);
+        eventPublisher.subscribe(Set.of(), null);
+
+        ServiceUnavailableException exception = assertThrows(
+                ServiceUnavailableException.class,
+                () -> eventPublisher.subscribe(Set.of(), null)
+        );
+
+        assertEquals("Too many subscribers are connected, try again later.", exception.getMessage());
+        assertEquals(1, eventPublisher.getNumberOfSubscribers());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationEventPublisher#startHeartbeats()}.
+     * Method works correctly and keeps sending heartbeats to an idle subscriber from the thread of the publisher.
+     */
+    @Test
+    void testStartHeartbeatsWorksCorrectly() throws InterruptedException {
+        creditCardApiProperties.getEvents().setHeartbeat(Duration.ofMillis(20));
+        RecordingEmitter emitter = (RecordingEmitter) eventPublisher.subscribe(Set.of(), null);
+
+        eventPublisher.startHeartbeats();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.heartbeats.get() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(emitter.heartbeats.get() >= 3, emitter.heartbeats.get() + " heartbeats");
+        assertNull(emitter.sent.poll());
+    }
+
+    /**
+     * Builds a credit card application with the given personal ID and status.
+     *
+     * @param id     personal ID
+     * @param status status
+     * @return credit card application
+     */
+    private static CreditCardApplication creditCardApplication(String id, Status status) {
+        return CreditCardApplication.builder()
+                .creditCardApplicantId(id)
+                .creditCardApplicationStatus(status)
+                .version(1L)
+                .build();
+    }
+
+    /**
+     * Event sent to a subscriber with its ID.
+     *
+     * @param id    ID of the event
+     * @param event event
+     */
+    private record SentEvent(String id, CreditCardApplicationEvent event) {
+
+        String stream() {
+            return id.substring(0, id.lastIndexOf('-'));
+        }
+
+        @Override
+        public String toString() {
+            return event.getType() + " " + event.getCreditCardApplicantId() + " " + id;
+        }
+
+    }
+
+    /**
+     * Emitter which records the events sent to it and counts the heartbeats.
+     */
+    private class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<SentEvent> sent = new LinkedBlockingQueue<>();
+        private final AtomicInteger heartbeats = new AtomicInteger();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                sendLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+
+            String id = null;
+            CreditCardApplicationEvent event = null;
+            for (var data : builder.build()) {
+                if (data.getData() instanceof CreditCardApplicationEvent sentEvent) {
+                    event = sentEvent;
+                } else if (data.getData().toString().startsWith("id:")) {
+                    id = data.getData().toString().substring(3, data.getData().toString().indexOf('\n'));
+                }
+            }
+            if (event != null) {
+                sent.add(new SentEvent(id, event));
+            } else {
+                heartbeats.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        private SentEvent take() throws InterruptedException {
+            SentEvent sentEvent = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(sentEvent, "No event was sent.");
+            return sentEvent;
+        }
+
+    }
+
+}
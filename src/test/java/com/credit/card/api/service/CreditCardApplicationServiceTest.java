@@ -1,23 +1,58 @@
 package com.credit.card.api.service;
 
 import com.credit.card.api.AbstractUnitTest;
+import com.credit.card.api.config.CreditCardApiProperties;
+import com.credit.card.api.entity.ArchiveCheckpoint;
+import com.credit.card.api.entity.BulkItemResult;
+import com.credit.card.api.entity.BulkItemStatus;
+import com.credit.card.api.entity.BulkStatusUpdateRequest;
+import com.credit.card.api.entity.BulkStatusUpdateResult;
+import com.credit.card.api.entity.CacheStatistics;
 import com.credit.card.api.entity.CreditCardApplication;
+import com.credit.card.api.entity.CreditCardApplicationPage;
+import com.credit.card.api.entity.CreditCardApplicationPatch;
 import com.credit.card.api.entity.Status;
+import com.credit.card.api.entity.UpsertResult;
 import com.credit.card.api.exception.DuplicateEntryException;
 import com.credit.card.api.exception.EntityNotFoundException;
+import com.credit.card.api.exception.PreconditionFailedException;
+import com.credit.card.api.index.ApplicantIdIndex;
+import com.credit.card.api.index.ApplicantNameIndex;
 import com.credit.card.api.repository.CreditCardApplicationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -34,6 +69,24 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
     @Mock
     private CreditCardApplicationRepository creditCardApplicationRepository;
 
+    @Spy
+    private CreditCardApiProperties creditCardApiProperties = new CreditCardApiProperties();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicantIdIndex applicantIdIndex;
+
+    @Mock
+    private ApplicantNameIndex applicantNameIndex;
+
+    @Mock
+    private CreditCardApplicationEventPublisher eventPublisher;
+
     private CreditCardApplication creditCardApplication;
     private List<CreditCardApplication> creditCardApplications;
 
@@ -43,7 +96,7 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
     @BeforeEach
     void init() {
         creditCardApplication = CreditCardApplication.builder()
-                .creditCardApplicantId("12345678901")
+                .creditCardApplicantId("12345678903")
                 .creditCardApplicantName("John")
                 .creditCardApplicantSurname("Doe")
                 .creditCardApplicationStatus(Status.APPROVED)
@@ -53,17 +106,252 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
     }
 
     /**
-     * Test for {@link CreditCardApplicationService#getCreditCardApplications()}.
-     * Method works correctly when the repository returns a list of credit card applications.
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationsRevision()}.
+     * Method works correctly and returns the revision of the credit card applications.
+     */
+    @Test
+    void testGetCreditCardApplicationsRevisionWorksCorrectly() {
+        when(creditCardApplicationRepository.getRevision()).thenReturn("lx3k2-42");
+
+        assertEquals("lx3k2-42", creditCardApplicationService.getCreditCardApplicationsRevision());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplications(Integer, String, java.util.Collection, boolean)}.
+     * Method works correctly when all credit card applications fit on the first page.
      */
     @Test
     void testGetCreditCardApplicationsWorksCorrectly() {
-        when(creditCardApplicationRepository.getCreditCardApplications()).thenReturn(creditCardApplications);
+        when(creditCardApplicationRepository.getCreditCardApplications(null, Set.of(), 51)).thenReturn(creditCardApplications);
+
+        CreditCardApplicationPage result = creditCardApplicationService.getCreditCardApplications(null, null, null, false);
+
+        verify(creditCardApplicationRepository, times(1)).getCreditCardApplications(null, Set.of(), 51);
+        verify(creditCardApplicationRepository, never()).countCreditCardApplications(any());
+        assertEquals(creditCardApplications, result.getContent());
+        assertNull(result.getNextCursor());
+        assertNull(result.getTotalCount());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplications(Integer, String, java.util.Collection, boolean)}.
+     * Method works correctly when there is a next page and the total count is requested.
+     */
+    @Test
+    void testGetCreditCardApplicationsWorksCorrectlyWhenThereIsNextPage() {
+        CreditCardApplication nextCreditCardApplication = CreditCardApplication.builder()
+                .creditCardApplicantId("12345678911")
+                .creditCardApplicantName("Jane")
+                .creditCardApplicantSurname("Doe")
+                .creditCardApplicationStatus(Status.PENDING)
+                .build();
+        when(creditCardApplicationRepository.getCreditCardApplications(null, Set.of(), 2))
+                .thenReturn(List.of(creditCardApplication, nextCreditCardApplication));
+        when(creditCardApplicationRepository.countCreditCardApplications(Set.of())).thenReturn(2L);
 
-        List<CreditCardApplication> result = creditCardApplicationService.getCreditCardApplications();
+        CreditCardApplicationPage firstPage = creditCardApplicationService.getCreditCardApplications(1, null, null, true);
+
+        assertEquals(creditCardApplications, firstPage.getContent());
+        assertEquals(2L, firstPage.getTotalCount());
+
+        when(creditCardApplicationRepository.getCreditCardApplications("12345678903", Set.of(), 2))
+                .thenReturn(List.of(nextCreditCardApplication));
+
+        CreditCardApplicationPage secondPage =
+                creditCardApplicationService.getCreditCardApplications(1, firstPage.getNextCursor(), null, false);
+
+        verify(creditCardApplicationRepository, times(1)).getCreditCardApplications("12345678903", Set.of(), 2);
+        assertEquals(List.of(nextCreditCardApplication), secondPage.getContent());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplications(Integer, String, java.util.Collection, boolean)}.
+     * Method works correctly when the page size is out of range.
+     */
+    @Test
+    void testGetCreditCardApplicationsWorksCorrectlyWhenLimitIsOutOfRange() {
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.getCreditCardApplications(501, null, null, false)
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals("Page size must be between 1 and 500.", illegalArgumentException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplications(Integer, String, java.util.Collection, boolean)}.
+     * Method works correctly when the cursor is invalid.
+     */
+    @Test
+    void testGetCreditCardApplicationsWorksCorrectlyWhenCursorIsInvalid() {
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.getCreditCardApplications(10, "not a cursor!", null, false)
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals("Cursor is invalid.", illegalArgumentException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplications(Integer, String, java.util.Collection, boolean)}.
+     * Method works correctly when the credit card applications are filtered by status.
+     */
+    @Test
+    void testGetCreditCardApplicationsWorksCorrectlyWhenFilteredByStatus() {
+        Set<Status> statuses = Set.of(Status.PENDING, Status.UNDER_REVIEW);
+        when(creditCardApplicationRepository.getCreditCardApplications(null, statuses, 11)).thenReturn(creditCardApplications);
+        when(creditCardApplicationRepository.countCreditCardApplications(statuses)).thenReturn(1L);
+
+        CreditCardApplicationPage result = creditCardApplicationService.getCreditCardApplications(
+                10, null, List.of("Pending", " under review ", "PENDING", ""), true);
+
+        assertEquals(creditCardApplications, result.getContent());
+        assertEquals(1L, result.getTotalCount());
+        assertNull(result.getNextCursor());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplications(Integer, String, java.util.Collection, boolean)}.
+     * Method works correctly when a status is invalid.
+     */
+    @Test
+    void testGetCreditCardApplicationsWorksCorrectlyWhenStatusIsInvalid() {
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.getCreditCardApplications(10, null, List.of("Pending", "Unknown"), false)
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals("Status Unknown is invalid.", illegalArgumentException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#searchCreditCardApplications(String, Integer)}.
+     * Method works correctly and returns the credit card applications in the order ranked by the name index.
+     */
+    @Test
+    void testSearchCreditCardApplicationsWorksCorrectly() {
+        CreditCardApplication otherCreditCardApplication = CreditCardApplication.builder()
+                .creditCardApplicantId("12345678911")
+                .creditCardApplicantName("Johnny")
+                .creditCardApplicantSurname("Doe")
+                .creditCardApplicationStatus(Status.PENDING)
+                .build();
+        when(applicantNameIndex.isLoaded()).thenReturn(true);
+        when(applicantNameIndex.search("john", 20)).thenReturn(List.of("12345678903", "12345678920", "12345678911"));
+        when(creditCardApplicationRepository.getCreditCardApplicationsByPersonalIds(
+                List.of("12345678903", "12345678920", "12345678911")))
+                .thenReturn(List.of(otherCreditCardApplication, creditCardApplication));
+
+        List<CreditCardApplication> result = creditCardApplicationService.searchCreditCardApplications("john", null);
+
+        assertEquals(List.of(creditCardApplication, otherCreditCardApplication), result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#searchCreditCardApplications(String, Integer)}.
+     * Method works correctly and searches the database when the name index is not loaded.
+     */
+    @Test
+    void testSearchCreditCardApplicationsWorksCorrectlyWhenIndexIsNotLoaded() {
+        when(applicantNameIndex.isLoaded()).thenReturn(false);
+        when(creditCardApplicationRepository.searchCreditCardApplicationsByName("Jo", 5)).thenReturn(creditCardApplications);
+
+        List<CreditCardApplication> result = creditCardApplicationService.searchCreditCardApplications(" Jo ", 5);
 
-        verify(creditCardApplicationRepository, times(1)).getCreditCardApplications();
         assertEquals(creditCardApplications, result);
+        verify(applicantNameIndex, never()).search(any(), eq(5));
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#searchCreditCardApplications(String, Integer)}.
+     * Method works correctly when the query is blank or the limit is out of range.
+     */
+    @Test
+    void testSearchCreditCardApplicationsWorksCorrectlyWhenArgumentsAreInvalid() {
+        IllegalArgumentException blankQueryException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.searchCreditCardApplications(" ", null)
+        );
+        IllegalArgumentException limitException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.searchCreditCardApplications("john", 101)
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository, applicantNameIndex);
+        assertEquals("Search query must not be blank and must have at most 64 characters.", blankQueryException.getMessage());
+        assertEquals("Search limit must be between 1 and 100.", limitException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#subscribeToCreditCardApplicationEvents(Collection, String)}.
+     * Method works correctly and subscribes with the resolved statuses, ignoring blank values.
+     */
+    @Test
+    void testSubscribeToCreditCardApplicationEventsWorksCorrectly() {
+        SseEmitter emitter = new SseEmitter();
+        when(eventPublisher.subscribe(EnumSet.of(Status.PENDING, Status.APPROVED), "abc-7")).thenReturn(emitter);
+
+        assertEquals(emitter, creditCardApplicationService.subscribeToCreditCardApplicationEvents(
+                List.of("Pending", " ", "Approved"), "abc-7"));
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#subscribeToCreditCardApplicationEvents(Collection, String)}.
+     * Method works correctly when a status is invalid.
+     */
+    @Test
+    void testSubscribeToCreditCardApplicationEventsWorksCorrectlyWhenStatusIsInvalid() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.subscribeToCreditCardApplicationEvents(List.of("Unknown"), null)
+        );
+
+        verifyNoInteractions(eventPublisher);
+        assertEquals("Status Unknown is invalid.", exception.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#exportCreditCardApplications(OutputStream)}.
+     * Method writes each credit card application as a separate JSON line and closes the database stream.
+     */
+    @Test
+    void testExportCreditCardApplicationsWorksCorrectly() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(creditCardApplicationRepository.streamCreditCardApplications())
+                .thenReturn(Stream.of(creditCardApplication, creditCardApplication).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        creditCardApplicationService.exportCreditCardApplications(outputStream);
+
+        String line = "{\"creditCardApplicantName\":\"John\",\"creditCardApplicantSurname\":\"Doe\","
+                + "\"creditCardApplicantId\":\"12345678903\",\"creditCardApplicationStatus\":\"Approved\"}\n";
+        assertEquals(line + line, outputStream.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#exportCreditCardApplications(OutputStream)}.
+     * Method stops reading and closes the database stream when the client disconnects.
+     */
+    @Test
+    void testExportCreditCardApplicationsWorksCorrectlyWhenClientDisconnects() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(creditCardApplicationRepository.streamCreditCardApplications())
+                .thenReturn(Stream.generate(() -> creditCardApplication).onClose(() -> closed.set(true)));
+        OutputStream outputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> creditCardApplicationService.exportCreditCardApplications(outputStream));
+
+        assertTrue(closed.get());
     }
 
     /**
@@ -72,13 +360,13 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
      */
     @Test
     void testGetCreditCardApplicationsByPersonalIdWorksCorrectlyWhenIdIsValidAndApplicationsExist() {
-        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678901"))
+        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678903"))
                 .thenReturn(creditCardApplication);
 
-        CreditCardApplication result = creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678901");
+        CreditCardApplication result = creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
 
         verify(creditCardApplicationRepository, times(1))
-                .getCreditCardApplicationByPersonalId("12345678901");
+                .getCreditCardApplicationByPersonalId("12345678903");
         assertEquals(creditCardApplication, result);
     }
 
@@ -88,16 +376,82 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
      */
     @Test
     void testGetCreditCardApplicationsByPersonalIdWorksCorrectlyWhenIdIsValidAndApplicationsDoNotExist() {
-        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678901"))
+        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678903"))
                 .thenThrow(new EmptyResultDataAccessException(1));
 
         assertThrows(
                 EntityNotFoundException.class,
-                () -> creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678901")
+                () -> creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903")
         );
 
         verify(creditCardApplicationRepository, times(1))
-                .getCreditCardApplicationByPersonalId("12345678901");
+                .getCreditCardApplicationByPersonalId("12345678903");
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationByPersonalId(String)}.
+     * Method reads the credit card application from the database only once when it is looked up repeatedly.
+     */
+    @Test
+    void testGetCreditCardApplicationsByPersonalIdWorksCorrectlyWhenApplicationIsCached() {
+        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678903"))
+                .thenReturn(creditCardApplication);
+
+        creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+        CreditCardApplication result = creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+
+        verify(creditCardApplicationRepository, times(1))
+                .getCreditCardApplicationByPersonalId("12345678903");
+        assertEquals(creditCardApplication, result);
+
+        CacheStatistics cacheStatistics = creditCardApplicationService.getCacheStatistics();
+        assertTrue(cacheStatistics.isEnabled());
+        assertEquals(1, cacheStatistics.getHitCount());
+        assertEquals(1, cacheStatistics.getMissCount());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationByPersonalId(String)}.
+     * Method reads the credit card application from the database again after it was updated or deleted.
+     */
+    @Test
+    void testGetCreditCardApplicationsByPersonalIdWorksCorrectlyAfterUpdateAndDelete() {
+        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678903"))
+                .thenReturn(creditCardApplication);
+        when(creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, null))
+                .thenReturn(creditCardApplication);
+        when(creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678903"))
+                .thenReturn(1);
+
+        creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+        creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678903", creditCardApplication, null);
+        creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+        creditCardApplicationService.deleteCreditCardApplicationByPersonalId("12345678903");
+        creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+
+        verify(creditCardApplicationRepository, times(3))
+                .getCreditCardApplicationByPersonalId("12345678903");
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationByPersonalId(String)}.
+     * Method reads the credit card application from the database every time when the cache is disabled.
+     */
+    @Test
+    void testGetCreditCardApplicationsByPersonalIdWorksCorrectlyWhenCacheIsDisabled() {
+        creditCardApiProperties.getCache().setEnabled(false);
+        CreditCardApplicationService uncachedCreditCardApplicationService = new CreditCardApplicationService(
+                creditCardApplicationRepository, creditCardApiProperties, objectMapper, validator, applicantIdIndex,
+                applicantNameIndex, eventPublisher);
+        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678903"))
+                .thenReturn(creditCardApplication);
+
+        uncachedCreditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+        uncachedCreditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+
+        verify(creditCardApplicationRepository, times(2))
+                .getCreditCardApplicationByPersonalId("12345678903");
+        assertFalse(uncachedCreditCardApplicationService.getCacheStatistics().isEnabled());
     }
 
     /**
@@ -145,6 +499,21 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
         assertEquals("Personal ID contains non-numeric characters.", illegalArgumentException.getMessage());
     }
 
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationByPersonalId(String)}.
+     * Method works correctly when the ID has an invalid check digit.
+     */
+    @Test
+    void testGetCreditCardApplicationsByPersonalIdWorksCorrectlyWhenIdHasInvalidCheckDigit() {
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678901")
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals("Personal ID has an invalid check digit.", illegalArgumentException.getMessage());
+    }
+
     /**
      * Test for {@link CreditCardApplicationService#addCreditCardApplication(CreditCardApplication)}.
      * Method works correctly when the repository returns the added credit card application.
@@ -181,31 +550,157 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
     }
 
     /**
-     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationByPersonalId(String, CreditCardApplication)}.
+     * Test for {@link CreditCardApplicationService#addCreditCardApplications(List)}.
+     * Method reports the outcome of every item instead of failing the whole request.
+     */
+    @Test
+    void testAddCreditCardApplicationsWorksCorrectly() {
+        CreditCardApplication existingCreditCardApplication = creditCardApplication("12345678911");
+        CreditCardApplication invalidCreditCardApplication = creditCardApplication("1234");
+        List<CreditCardApplication> request = List.of(creditCardApplication, existingCreditCardApplication,
+                invalidCreditCardApplication, creditCardApplication);
+        when(creditCardApplicationRepository.findExistingPersonalIds(List.of("12345678903", "12345678911")))
+                .thenReturn(Set.of("12345678911"));
+
+        List<BulkItemResult> results = creditCardApplicationService.addCreditCardApplications(request);
+
+        verify(creditCardApplicationRepository, times(1)).addCreditCardApplications(List.of(creditCardApplication));
+        assertEquals(BulkItemStatus.CREATED, results.get(0).getStatus());
+        assertEquals(BulkItemStatus.DUPLICATE, results.get(1).getStatus());
+        assertEquals(BulkItemStatus.INVALID, results.get(2).getStatus());
+        assertEquals("Personal ID is not 11 characters long.", results.get(2).getMessage());
+        assertEquals(BulkItemStatus.DUPLICATE, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#upsertCreditCardApplication(CreditCardApplication)}.
+     * Method works correctly when the repository writes the credit card application.
+     */
+    @Test
+    void testUpsertCreditCardApplicationWorksCorrectly() {
+        UpsertResult upsertResult = UpsertResult.builder().creditCardApplication(creditCardApplication).created(true).build();
+        when(creditCardApplicationRepository.upsertCreditCardApplications(List.of(creditCardApplication)))
+                .thenReturn(List.of(upsertResult));
+
+        UpsertResult result = creditCardApplicationService.upsertCreditCardApplication(creditCardApplication);
+
+        assertEquals(upsertResult, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#upsertCreditCardApplications(List)}.
+     * Method writes the valid items in chunks of the configured size and reports which of them were created or updated.
+     */
+    @Test
+    void testUpsertCreditCardApplicationsWorksCorrectly() {
+        creditCardApiProperties.getBulk().setChunkSize(2);
+        CreditCardApplication existingCreditCardApplication = creditCardApplication("12345678911");
+        CreditCardApplication newCreditCardApplication = creditCardApplication("12345678920");
+        List<CreditCardApplication> request = List.of(creditCardApplication, existingCreditCardApplication,
+                creditCardApplication("1234"), creditCardApplication, newCreditCardApplication);
+        when(creditCardApplicationRepository.upsertCreditCardApplications(
+                List.of(creditCardApplication, existingCreditCardApplication)))
+                .thenReturn(List.of(
+                        UpsertResult.builder().creditCardApplication(creditCardApplication).created(true).build(),
+                        UpsertResult.builder().creditCardApplication(existingCreditCardApplication).created(false).build()));
+        when(creditCardApplicationRepository.upsertCreditCardApplications(List.of(newCreditCardApplication)))
+                .thenReturn(List.of(UpsertResult.builder().creditCardApplication(newCreditCardApplication).created(true).build()));
+
+        List<BulkItemResult> results = creditCardApplicationService.upsertCreditCardApplications(request);
+
+        assertEquals(BulkItemStatus.CREATED, results.get(0).getStatus());
+        assertEquals(BulkItemStatus.UPDATED, results.get(1).getStatus());
+        assertEquals(BulkItemStatus.INVALID, results.get(2).getStatus());
+        assertEquals(BulkItemStatus.DUPLICATE, results.get(3).getStatus());
+        assertEquals(BulkItemStatus.CREATED, results.get(4).getStatus());
+        assertEquals(4, results.get(4).getIndex());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#addCreditCardApplications(List)}.
+     * Method inserts the valid items in chunks of the configured size.
+     */
+    @Test
+    void testAddCreditCardApplicationsWorksCorrectlyWithMultipleChunks() {
+        creditCardApiProperties.getBulk().setChunkSize(2);
+        List<CreditCardApplication> request = List.of(creditCardApplication("12345678903"),
+                creditCardApplication("12345678911"), creditCardApplication("12345678920"));
+
+        List<BulkItemResult> results = creditCardApplicationService.addCreditCardApplications(request);
+
+        verify(creditCardApplicationRepository, times(2)).findExistingPersonalIds(anyList());
+        verify(creditCardApplicationRepository, times(1)).addCreditCardApplications(request.subList(0, 2));
+        verify(creditCardApplicationRepository, times(1)).addCreditCardApplications(request.subList(2, 3));
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BulkItemStatus.CREATED));
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#addCreditCardApplications(List)}.
+     * Method falls back to adding items one by one when the batch hits a concurrently added entry.
+     */
+    @Test
+    void testAddCreditCardApplicationsWorksCorrectlyWhenBatchHitsDuplicate() {
+        CreditCardApplication concurrentlyAddedCreditCardApplication = creditCardApplication("12345678911");
+        when(creditCardApplicationRepository.addCreditCardApplications(anyList()))
+                .thenThrow(new DuplicateKeyException("Duplicate key"));
+        when(creditCardApplicationRepository.addCreditCardApplication(creditCardApplication))
+                .thenReturn(creditCardApplication);
+        when(creditCardApplicationRepository.addCreditCardApplication(concurrentlyAddedCreditCardApplication))
+                .thenThrow(new DuplicateKeyException("Duplicate key"));
+
+        List<BulkItemResult> results = creditCardApplicationService.addCreditCardApplications(
+                List.of(creditCardApplication, concurrentlyAddedCreditCardApplication));
+
+        verify(creditCardApplicationRepository, times(1)).addCreditCardApplication(creditCardApplication);
+        assertEquals(BulkItemStatus.CREATED, results.get(0).getStatus());
+        assertEquals(BulkItemStatus.DUPLICATE, results.get(1).getStatus());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#addCreditCardApplications(List)}.
+     * Method works correctly when the request contains too many items.
+     */
+    @Test
+    void testAddCreditCardApplicationsWorksCorrectlyWhenRequestIsTooLarge() {
+        creditCardApiProperties.getBulk().setMaxItems(1);
+
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.addCreditCardApplications(
+                        List.of(creditCardApplication, creditCardApplication))
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals("Bulk request must not contain more than 1 items.", illegalArgumentException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, Long)}.
      * Method works correctly when the repository returns the updated credit card application.
      */
     @Test
     void testUpdateCreditCardApplicationByPersonalIdWorksCorrectly() {
-        when(creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication))
+        when(creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, null))
                 .thenReturn(creditCardApplication);
 
         CreditCardApplication result =
-                creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication);
+                creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678903", creditCardApplication, null);
 
         verify(creditCardApplicationRepository, times(1))
-                .updateCreditCardApplicationByPersonalId(creditCardApplication);
+                .updateCreditCardApplicationByPersonalId(creditCardApplication, null);
         assertEquals(creditCardApplication, result);
     }
 
     /**
-     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationByPersonalId(String, CreditCardApplication)}.
+     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, Long)}.
      * Method works correctly when the ID in the path and in the request body do not match.
      */
     @Test
     void testUpdateCreditCardApplicationByPersonalIdWorksCorrectlyWithTheWrongId() {
         IllegalArgumentException illegalArgumentException = assertThrows(
                 IllegalArgumentException.class,
-                () -> creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678902", creditCardApplication)
+                () -> creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678911", creditCardApplication, null)
         );
 
         verifyNoInteractions(creditCardApplicationRepository);
@@ -213,37 +708,221 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
     }
 
     /**
-     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationByPersonalId(String, CreditCardApplication)}.
+     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, Long)}.
      * Method works correctly when no credit card application is found.
      */
     @Test
     void testUpdateCreditCardApplicationByPersonalIdWhenNoCreditCardApplicationIsFound() {
-        when(creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication))
+        when(creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, null))
                 .thenReturn(null);
 
         EntityNotFoundException entityNotFoundException = assertThrows(
                 EntityNotFoundException.class,
-                () -> creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678901", creditCardApplication)
+                () -> creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678903", creditCardApplication, null)
         );
 
         verify(creditCardApplicationRepository, times(1))
-                .updateCreditCardApplicationByPersonalId(creditCardApplication);
+                .updateCreditCardApplicationByPersonalId(creditCardApplication, null);
         assertEquals("No credit card application with given personal id was found.", entityNotFoundException.getMessage());
     }
 
+    /**
+     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationByPersonalId(String, CreditCardApplication, Long)}.
+     * Method works correctly when the credit card application was changed since the expected version.
+     */
+    @Test
+    void testUpdateCreditCardApplicationByPersonalIdWhenVersionHasChanged() {
+        when(creditCardApplicationRepository.updateCreditCardApplicationByPersonalId(creditCardApplication, 4L))
+                .thenThrow(new OptimisticLockingFailureException("Version has changed."));
+
+        PreconditionFailedException preconditionFailedException = assertThrows(
+                PreconditionFailedException.class,
+                () -> creditCardApplicationService.updateCreditCardApplicationByPersonalId("12345678903", creditCardApplication, 4L)
+        );
+
+        assertEquals("The credit card application was changed since the given version.", preconditionFailedException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#patchCreditCardApplicationByPersonalId(String, CreditCardApplicationPatch, Long)}.
+     * Method works correctly when the repository returns the patched credit card application.
+     */
+    @Test
+    void testPatchCreditCardApplicationByPersonalIdWorksCorrectly() {
+        CreditCardApplicationPatch patch = CreditCardApplicationPatch.builder()
+                .creditCardApplicationStatus(Status.APPROVED)
+                .build();
+        when(creditCardApplicationRepository.patchCreditCardApplicationByPersonalId("12345678903", patch, 3L))
+                .thenReturn(creditCardApplication);
+
+        CreditCardApplication result =
+                creditCardApplicationService.patchCreditCardApplicationByPersonalId("12345678903", patch, 3L);
+
+        assertEquals(creditCardApplication, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#patchCreditCardApplicationByPersonalId(String, CreditCardApplicationPatch, Long)}.
+     * Method works correctly when the patch contains no fields.
+     */
+    @Test
+    void testPatchCreditCardApplicationByPersonalIdWorksCorrectlyWithEmptyPatch() {
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.patchCreditCardApplicationByPersonalId(
+                        "12345678903", CreditCardApplicationPatch.builder().build(), null)
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals("Patch must contain at least one field to change.", illegalArgumentException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#patchCreditCardApplicationByPersonalId(String, CreditCardApplicationPatch, Long)}.
+     * Method works correctly when no credit card application is found or it was changed since the expected version.
+     */
+    @Test
+    void testPatchCreditCardApplicationByPersonalIdWhenNotFoundOrChanged() {
+        CreditCardApplicationPatch patch = CreditCardApplicationPatch.builder()
+                .creditCardApplicantName("Jane")
+                .build();
+        when(creditCardApplicationRepository.patchCreditCardApplicationByPersonalId("12345678903", patch, null))
+                .thenReturn(null);
+        when(creditCardApplicationRepository.patchCreditCardApplicationByPersonalId("12345678903", patch, 4L))
+                .thenThrow(new OptimisticLockingFailureException("Version has changed."));
+
+        assertThrows(
+                EntityNotFoundException.class,
+                () -> creditCardApplicationService.patchCreditCardApplicationByPersonalId("12345678903", patch, null)
+        );
+        assertThrows(
+                PreconditionFailedException.class,
+                () -> creditCardApplicationService.patchCreditCardApplicationByPersonalId("12345678903", patch, 4L)
+        );
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationStatuses(BulkStatusUpdateRequest)}.
+     * Method works correctly when the applications are selected by their personal IDs
+     * and counts only the applications whose status was changed.
+     */
+    @Test
+    void testUpdateCreditCardApplicationStatusesWorksCorrectlyWithPersonalIds() {
+        creditCardApiProperties.getBulk().setChunkSize(2);
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(Status.APPROVED)
+                .creditCardApplicantIds(List.of("12345678903", "12345678911", "12345678903", "12345678920"))
+                .build();
+        when(creditCardApplicationRepository.updateStatusByPersonalIds(List.of("12345678903", "12345678911"), Status.APPROVED))
+                .thenReturn(List.of("12345678903", "12345678911"));
+        when(creditCardApplicationRepository.updateStatusByPersonalIds(List.of("12345678920"), Status.APPROVED))
+                .thenReturn(List.of());
+
+        BulkStatusUpdateResult result = creditCardApplicationService.updateCreditCardApplicationStatuses(request);
+
+        assertEquals(2, result.getUpdatedCount());
+        assertEquals(Status.APPROVED, result.getStatus());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationStatuses(BulkStatusUpdateRequest)}.
+     * Method works correctly when the applications are selected by their current status.
+     */
+    @Test
+    void testUpdateCreditCardApplicationStatusesWorksCorrectlyWithCurrentStatuses() {
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(Status.EXPIRED)
+                .currentStatuses(List.of(Status.PENDING, Status.ON_HOLD))
+                .build();
+        when(creditCardApplicationRepository.updateStatusByStatuses(Set.of(Status.PENDING, Status.ON_HOLD), Status.EXPIRED))
+                .thenReturn(7);
+
+        BulkStatusUpdateResult result = creditCardApplicationService.updateCreditCardApplicationStatuses(request);
+
+        verify(creditCardApplicationRepository, never()).updateStatusByPersonalIds(anyList(), any());
+        assertEquals(7, result.getUpdatedCount());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationStatuses(BulkStatusUpdateRequest)}.
+     * Method works correctly when both personal IDs and current statuses are given.
+     */
+    @Test
+    void testUpdateCreditCardApplicationStatusesWorksCorrectlyWithBothCriteria() {
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(Status.EXPIRED)
+                .creditCardApplicantIds(List.of("12345678903"))
+                .currentStatuses(List.of(Status.PENDING))
+                .build();
+
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.updateCreditCardApplicationStatuses(request)
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals("Either personal IDs or current statuses must be given, but not both.",
+                illegalArgumentException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#updateCreditCardApplicationStatuses(BulkStatusUpdateRequest)}.
+     * Method works correctly when one of the personal IDs is invalid.
+     */
+    @Test
+    void testUpdateCreditCardApplicationStatusesWorksCorrectlyWhenIdIsInvalid() {
+        BulkStatusUpdateRequest request = BulkStatusUpdateRequest.builder()
+                .status(Status.EXPIRED)
+                .creditCardApplicantIds(List.of("12345678903", "1234"))
+                .build();
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> creditCardApplicationService.updateCreditCardApplicationStatuses(request)
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#archiveCreditCardApplications(List, Status, LocalDateTime, ArchiveCheckpoint)}.
+     * Method reads an archived credit card application from the database again instead of the cache.
+     */
+    @Test
+    void testArchiveCreditCardApplicationsWorksCorrectly() {
+        LocalDateTime updatedBefore = LocalDateTime.now();
+        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678903"))
+                .thenReturn(creditCardApplication);
+        ArchiveCheckpoint checkpoint = ArchiveCheckpoint.builder()
+                .status(Status.REJECTED)
+                .creditCardApplicantId("12345678903")
+                .build();
+        when(creditCardApplicationRepository.archiveCreditCardApplications(
+                eq(List.of("12345678903")), eq(Status.REJECTED), eq(updatedBefore), any(), eq(checkpoint)))
+                .thenReturn(List.of("12345678903"));
+
+        creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+        List<String> result = creditCardApplicationService.archiveCreditCardApplications(
+                List.of("12345678903"), Status.REJECTED, updatedBefore, checkpoint);
+        creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903");
+
+        assertEquals(List.of("12345678903"), result);
+        verify(creditCardApplicationRepository, times(2)).getCreditCardApplicationByPersonalId("12345678903");
+    }
+
     /**
      * Test for {@link CreditCardApplicationService#deleteCreditCardApplicationByPersonalId(String)}.
      * Method works correctly when the repository returns 1.
      */
     @Test
     void testDeleteCreditCardApplicationByPersonalIdWorksCorrectly() {
-        when(creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678901"))
+        when(creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678903"))
                 .thenReturn(1);
 
-        creditCardApplicationService.deleteCreditCardApplicationByPersonalId("12345678901");
+        creditCardApplicationService.deleteCreditCardApplicationByPersonalId("12345678903");
 
         verify(creditCardApplicationRepository, times(1))
-                .deleteCreditCardApplicationByPersonalId("12345678901");
+                .deleteCreditCardApplicationByPersonalId("12345678903");
     }
 
     /**
@@ -252,17 +931,179 @@ class CreditCardApplicationServiceTest extends AbstractUnitTest {
      */
     @Test
     void testDeleteCreditCardApplicationByPersonalIdWorksCorrectlyWhenNoCreditCardApplicationIsFound() {
-        when(creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678901"))
+        when(creditCardApplicationRepository.deleteCreditCardApplicationByPersonalId("12345678903"))
                 .thenReturn(0);
 
         EntityNotFoundException entityNotFoundException = assertThrows(
                 EntityNotFoundException.class,
-                () -> creditCardApplicationService.deleteCreditCardApplicationByPersonalId("12345678901")
+                () -> creditCardApplicationService.deleteCreditCardApplicationByPersonalId("12345678903")
         );
 
         verify(creditCardApplicationRepository, times(1))
-                .deleteCreditCardApplicationByPersonalId("12345678901");
+                .deleteCreditCardApplicationByPersonalId("12345678903");
         assertEquals("No credit card application with given personal id was found.", entityNotFoundException.getMessage());
     }
 
-}
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationByPersonalId(String)}.
+     * Method does not query the database when the loaded index does not contain the ID.
+     */
+    @Test
+    void testGetCreditCardApplicationsByPersonalIdWorksCorrectlyWhenIndexDoesNotContainId() {
+        when(applicantIdIndex.isLoaded()).thenReturn(true);
+        when(applicantIdIndex.contains("12345678903")).thenReturn(false);
+
+        EntityNotFoundException entityNotFoundException = assertThrows(
+                EntityNotFoundException.class,
+                () -> creditCardApplicationService.getCreditCardApplicationByPersonalId("12345678903")
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals("No credit card application with given personal id was found.", entityNotFoundException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationStatusByPersonalId(String)}.
+     * Method reads the status from the index when the index is loaded.
+     */
+    @Test
+    void testGetCreditCardApplicationStatusByPersonalIdWorksCorrectlyWhenIndexIsLoaded() {
+        when(applicantIdIndex.isLoaded()).thenReturn(true);
+        when(applicantIdIndex.getStatus("12345678903")).thenReturn(Status.APPROVED);
+
+        Status result = creditCardApplicationService.getCreditCardApplicationStatusByPersonalId("12345678903");
+
+        verifyNoInteractions(creditCardApplicationRepository);
+        assertEquals(Status.APPROVED, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationStatusByPersonalId(String)}.
+     * Method works correctly when the index is loaded and does not contain the ID.
+     */
+    @Test
+    void testGetCreditCardApplicationStatusByPersonalIdWorksCorrectlyWhenIndexDoesNotContainId() {
+        when(applicantIdIndex.isLoaded()).thenReturn(true);
+        when(applicantIdIndex.getStatus("12345678903")).thenReturn(null);
+
+        assertThrows(
+                EntityNotFoundException.class,
+                () -> creditCardApplicationService.getCreditCardApplicationStatusByPersonalId("12345678903")
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#getCreditCardApplicationStatusByPersonalId(String)}.
+     * Method reads the status from the database when the index is not loaded.
+     */
+    @Test
+    void testGetCreditCardApplicationStatusByPersonalIdWorksCorrectlyWhenIndexIsNotLoaded() {
+        when(creditCardApplicationRepository.getCreditCardApplicationByPersonalId("12345678903"))
+                .thenReturn(creditCardApplication);
+
+        Status result = creditCardApplicationService.getCreditCardApplicationStatusByPersonalId("12345678903");
+
+        assertEquals(creditCardApplication.getCreditCardApplicationStatus(), result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#addCreditCardApplication(CreditCardApplication)}.
+     * Method does not try to insert the entry when the loaded index contains the ID and the database confirms it.
+     */
+    @Test
+    void testAddCreditCardApplicationWorksCorrectlyWhenIndexContainsId() {
+        when(applicantIdIndex.isLoaded()).thenReturn(true);
+        when(applicantIdIndex.contains("12345678903")).thenReturn(true);
+        when(creditCardApplicationRepository.findExistingPersonalIds(List.of("12345678903"))).thenReturn(Set.of("12345678903"));
+
+        DuplicateEntryException duplicateEntryException = assertThrows(
+                DuplicateEntryException.class,
+                () -> creditCardApplicationService.addCreditCardApplication(creditCardApplication)
+        );
+
+        verify(creditCardApplicationRepository, never()).addCreditCardApplication(any());
+        assertEquals("An entry with the given personal id already exists.", duplicateEntryException.getMessage());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#addCreditCardApplication(CreditCardApplication)}.
+     * Method adds the entry when a late notification about an update, which arrived after the notification about the delete,
+     * put the ID of the deleted entry back into the index.
+     */
+    @Test
+    void testAddCreditCardApplicationWorksCorrectlyWhenIndexIsNotifiedOutOfOrder() {
+        ApplicantIdIndex realApplicantIdIndex = new ApplicantIdIndex(creditCardApplicationRepository, creditCardApiProperties);
+        realApplicantIdIndex.afterSingletonsInstantiated();
+        CreditCardApplicationService indexedCreditCardApplicationService = new CreditCardApplicationService(
+                creditCardApplicationRepository, creditCardApiProperties, objectMapper, validator, realApplicantIdIndex,
+                applicantNameIndex, eventPublisher);
+        realApplicantIdIndex.onAdded(creditCardApplication);
+        // the delete commits after the update, but its notification arrives first
+        realApplicantIdIndex.onDeleted("12345678903");
+        realApplicantIdIndex.onSaved(creditCardApplication);
+        when(creditCardApplicationRepository.findExistingPersonalIds(List.of("12345678903"))).thenReturn(Set.of());
+        when(creditCardApplicationRepository.addCreditCardApplication(creditCardApplication)).thenReturn(creditCardApplication);
+
+        CreditCardApplication result = indexedCreditCardApplicationService.addCreditCardApplication(creditCardApplication);
+
+        assertTrue(realApplicantIdIndex.contains("12345678903"));
+        verify(creditCardApplicationRepository).addCreditCardApplication(creditCardApplication);
+        assertEquals(creditCardApplication, result);
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#addCreditCardApplications(List)}.
+     * Method checks in the database only the entries the index contains when the index is loaded.
+     */
+    @Test
+    void testAddCreditCardApplicationsWorksCorrectlyWhenIndexIsLoaded() {
+        CreditCardApplication existing = creditCardApplication("12345678911");
+        CreditCardApplication created = creditCardApplication("12345678920");
+        when(applicantIdIndex.isLoaded()).thenReturn(true);
+        when(applicantIdIndex.contains("12345678911")).thenReturn(true);
+        when(applicantIdIndex.contains("12345678920")).thenReturn(false);
+        when(creditCardApplicationRepository.findExistingPersonalIds(List.of("12345678911"))).thenReturn(Set.of("12345678911"));
+        when(creditCardApplicationRepository.addCreditCardApplications(List.of(created))).thenReturn(new int[]{1});
+
+        List<BulkItemResult> result = creditCardApplicationService.addCreditCardApplications(List.of(existing, created));
+
+        verify(creditCardApplicationRepository).findExistingPersonalIds(List.of("12345678911"));
+        assertEquals(BulkItemStatus.DUPLICATE, result.get(0).getStatus());
+        assertEquals(BulkItemStatus.CREATED, result.get(1).getStatus());
+    }
+
+    /**
+     * Test for {@link CreditCardApplicationService#deleteCreditCardApplicationByPersonalId(String)}.
+     * Method does not query the database when the loaded index does not contain the ID.
+     */
+    @Test
+    void testDeleteCreditCardApplicationByPersonalIdWorksCorrectlyWhenIndexDoesNotContainId() {
+        when(applicantIdIndex.isLoaded()).thenReturn(true);
+        when(applicantIdIndex.contains("12345678903")).thenReturn(false);
+
+        assertThrows(
+                EntityNotFoundException.class,
+                () -> creditCardApplicationService.deleteCreditCardApplicationByPersonalId("12345678903")
+        );
+
+        verifyNoInteractions(creditCardApplicationRepository);
+    }
+
+    /**
+     * Builds a credit card application with the given personal ID.
+     *
+     * @param id personal ID
+     * @return credit card application
+     */
+    private CreditCardApplication creditCardApplication(String id) {
+        return CreditCardApplication.builder()
+                .creditCardApplicantId(id)
+                .creditCardApplicantName("Jane")
+                .creditCardApplicantSurname("Doe")
+                .creditCardApplicationStatus(Status.PENDING)
+                .build();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.credit.card.api.validation;
+
+import com.credit.card.api.AbstractUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the class {@link PersonalIdValidator}.
+ */
+class PersonalIdValidatorTest extends AbstractUnitTest {
+
+    /**
+     * Test for {@link PersonalIdValidator#validate(CharSequence)}.
+     * Method accepts personal IDs with a correct check digit.
+     */
+    @Test
+    void testValidateWorksCorrectlyWhenIdIsValid() {
+        assertEquals(PersonalIdValidator.Result.VALID, PersonalIdValidator.validate("12345678903"));
+        assertEquals(PersonalIdValidator.Result.VALID, PersonalIdValidator.validate("00000000001"));
+        assertEquals(PersonalIdValidator.Result.VALID, PersonalIdValidator.validate("99999999994"));
+        assertTrue(PersonalIdValidator.isValid("12345678920"));
+    }
+
+    /**
+     * Test for {@link PersonalIdValidator#validate(CharSequence)}.
+     * Method ignores leading and trailing whitespace.
+     */
+    @Test
+    void testValidateWorksCorrectlyWhenIdHasSurroundingWhitespace() {
+        assertEquals(PersonalIdValidator.Result.VALID, PersonalIdValidator.validate(" 12345678903\t"));
+    }
+
+    /**
+     * Test for {@link PersonalIdValidator#validate(CharSequence)}.
+     * Method works correctly when the ID is null or empty.
+     */
+    @Test
+    void testValidateWorksCorrectlyWhenIdIsEmpty() {
+        assertEquals(PersonalIdValidator.Result.EMPTY, PersonalIdValidator.validate(null));
+        assertEquals(PersonalIdValidator.Result.EMPTY, PersonalIdValidator.validate(""));
+        assertEquals(PersonalIdValidator.Result.WRONG_LENGTH, PersonalIdValidator.validate("   "));
+    }
+
+    /**
+     * Test for {@link PersonalIdValidator#validate(CharSequence)}.
+     * Method works correctly when the ID has the wrong length.
+     */
+    @Test
+    void testValidateWorksCorrectlyWhenIdHasWrongLength() {
+        assertEquals(PersonalIdValidator.Result.WRONG_LENGTH, PersonalIdValidator.validate("1234"));
+        assertEquals(PersonalIdValidator.Result.WRONG_LENGTH, PersonalIdValidator.validate("123456789031"));
+    }
+
+    /**
+     * Test for {@link PersonalIdValidator#validate(CharSequence)}.
+     * Method works correctly when the ID has characters that are not digits.
+     */
+    @Test
+    void testValidateWorksCorrectlyWhenIdHasNonDigitChars() {
+        assertEquals(PersonalIdValidator.Result.NON_NUMERIC, PersonalIdValidator.validate("1234567890a"));
+        assertEquals(PersonalIdValidator.Result.NON_NUMERIC, PersonalIdValidator.validate("12345/78903"));
+        assertEquals(PersonalIdValidator.Result.NON_NUMERIC, PersonalIdValidator.validate("1234567890٣"));
+    }
+
+    /**
+     * Test for {@link PersonalIdValidator#validate(CharSequence, boolean)}.
+     * Method rejects a wrong check digit only when the check digit is verified.
+     */
+    @Test
+    void testValidateWorksCorrectlyWhenCheckDigitIsWrong() {
+        assertEquals(PersonalIdValidator.Result.INVALID_CHECK_DIGIT, PersonalIdValidator.validate("12345678901"));
+        assertEquals(PersonalIdValidator.Result.VALID, PersonalIdValidator.validate("12345678901", false));
+        assertFalse(PersonalIdValidator.isValid("12345678901"));
+    }
+
+}